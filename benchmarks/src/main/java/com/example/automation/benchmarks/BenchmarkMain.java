@@ -0,0 +1,51 @@
+package com.example.automation.benchmarks;
+
+import com.example.automation.utils.FrameworkConfig;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Entry point of benchmarks.jar: the usual JMH command line, except that results are
+ * written as JSON by default so runs can be compared across commits.
+ *
+ *   java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark regex]
+ *
+ * Settings (system property or env var):
+ *   bench.resultFile – where the JSON goes unless -rff is given (default target/jmh/jmh-result.json)
+ */
+public class BenchmarkMain {
+
+    private BenchmarkMain() { /* utility class — no instances */ }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp()) {
+            cli.showHelp();
+            return;
+        }
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(cli);
+        if (!cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cli.getResult().hasValue()) {
+            Path resultFile = Paths.get(FrameworkConfig.getString("bench.resultFile", "target/jmh/jmh-result.json"));
+            if (resultFile.getParent() != null) Files.createDirectories(resultFile.getParent());
+            options.result(resultFile.toString());
+        }
+
+        Runner runner = new Runner(options.build());
+        if (cli.shouldList()) {
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+}
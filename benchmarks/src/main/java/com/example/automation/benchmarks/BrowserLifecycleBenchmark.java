@@ -0,0 +1,175 @@
+package com.example.automation.benchmarks;
+
+import com.example.automation.browser.BrowserActivity;
+import com.example.automation.browser.FailureTracing;
+import com.example.automation.browser.LaunchProfile;
+import com.example.automation.browser.NetworkProfile;
+import com.example.automation.metrics.PagePerformance;
+import com.example.automation.metrics.StepMetrics;
+import com.example.automation.pages.HomePage;
+import com.example.automation.utils.TestConstants;
+import com.example.automation.utils.urlHelper;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a test pays before its first step: starting the Playwright driver, launching the
+ * browser, and opening a context — bare, and the way BaseTest does it (launch profile's
+ * context options, network profile routes, activity listeners, first page).
+ *
+ * The browser comes from the same settings as the suite (-Dbrowser, -Dheadless, -Dviewport).
+ *
+ * tracedHomeSearch runs a short test (test-style context, home page load and search on the
+ * stand-in) under each trace setting and discards the trace as a passing test does, so the
+ * difference to trace=off is what that setting costs every test.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dperf.failOnBudget=false")
+public class BrowserLifecycleBenchmark {
+
+    @State(Scope.Thread)
+    public static class Driver {
+        LaunchProfile profile;
+        Playwright playwright;
+
+        @Setup(Level.Trial)
+        public void start() {
+            profile = LaunchProfile.resolve(Collections.<String, String>emptyMap());
+            playwright = Playwright.create();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            playwright.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LaunchedBrowser {
+        LaunchProfile profile;
+        NetworkProfile network;
+        Browser browser;
+
+        @Setup(Level.Trial)
+        public void launch(Driver driver) {
+            profile = driver.profile;
+            network = NetworkProfile.fromConfig();
+            browser = profile.launch(driver.playwright);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            browser.close();
+        }
+    }
+
+    /** The trace settings compared by tracedHomeSearch: off, then snapshots × screenshots. */
+    @State(Scope.Thread)
+    public static class TraceSetting {
+        @Param({"off", "none", "snapshots", "screenshots", "snapshots+screenshots"})
+        String trace;
+
+        boolean enabled() {
+            return !"off".equals(trace);
+        }
+
+        boolean snapshots() {
+            return trace.contains("snapshots");
+        }
+
+        boolean screenshots() {
+            return trace.contains("screenshots");
+        }
+
+        @TearDown(Level.Iteration)
+        public void drainMetrics() {
+            StepMetrics.drain();
+            PagePerformance.drain();
+        }
+    }
+
+    @Benchmark
+    public String playwrightCreate() {
+        try (Playwright playwright = Playwright.create()) {
+            return playwright.chromium().name();
+        }
+    }
+
+    @Benchmark
+    public String browserLaunch(Driver driver) {
+        Browser browser = driver.profile.launch(driver.playwright);
+        try {
+            return browser.version();
+        } finally {
+            browser.close();
+        }
+    }
+
+    @Benchmark
+    public int contextCreate(LaunchedBrowser launched) {
+        BrowserContext context = launched.browser.newContext(launched.profile.toContextOptions());
+        try {
+            return context.pages().size();
+        } finally {
+            context.close();
+        }
+    }
+
+    /** A context as BaseTest sets one up for each test. */
+    @Benchmark
+    public Page testContextCreate(LaunchedBrowser launched) {
+        BrowserContext context = launched.browser.newContext(launched.profile.toContextOptions());
+        try {
+            launched.network.install(context);
+            BrowserActivity.attach(context);
+            return context.newPage();
+        } finally {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public HomePage tracedHomeSearch(LaunchedBrowser launched, TraceSetting setting, StandInFixture standIn) {
+        BrowserContext context = launched.browser.newContext(launched.profile.toContextOptions());
+        try {
+            launched.network.install(context);
+            FailureTracing tracing = setting.enabled()
+                    ? FailureTracing.start(context, "tracedHomeSearch", setting.snapshots(), setting.screenshots(), false)
+                    : null;
+            LocalDate stay = LocalDate.now().plusDays(30);
+            DateTimeFormatter format = DateTimeFormatter.ofPattern(TestConstants.DATE_FORMAT);
+            HomePage homePage = new HomePage(context.newPage())
+                    .navigate(urlHelper.homePageUrl())
+                    .enterCheckInDate(stay.format(format))
+                    .enterCheckOutDate(stay.plusDays(3).format(format))
+                    .clickCheckAvailability();
+            if (tracing != null) tracing.finish(false);
+            return homePage;
+        } finally {
+            context.close();
+        }
+    }
+}
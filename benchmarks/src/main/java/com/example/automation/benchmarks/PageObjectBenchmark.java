@@ -0,0 +1,185 @@
+package com.example.automation.benchmarks;
+
+import com.example.automation.browser.LaunchProfile;
+import com.example.automation.browser.NetworkProfile;
+import com.example.automation.metrics.PagePerformance;
+import com.example.automation.metrics.StepMetrics;
+import com.example.automation.pages.GuestDetails;
+import com.example.automation.pages.HomePage;
+import com.example.automation.pages.ReservationPage;
+import com.example.automation.utils.TestConstants;
+import com.example.automation.utils.urlHelper;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The page-object steps the suite repeats most, against the stand-in: home page load +
+ * search, the calendar jump over N months, the bulk guest-form fill and reading the
+ * validation alerts.
+ *
+ * Each state opens one context and brings its page to where the step starts, once per fork;
+ * the step itself is then repeated on that page, so only the step is measured. Per-thread
+ * step timings and performance samples are drained after every iteration, as BaseTest does
+ * after every test.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dperf.failOnBudget=false")
+public class PageObjectBenchmark {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern(TestConstants.DATE_FORMAT);
+
+    /** One browser, context and page on the stand-in. */
+    public abstract static class OpenPage {
+        Playwright playwright;
+        Browser browser;
+        BrowserContext context;
+        Page page;
+
+        void open() {
+            LaunchProfile profile = LaunchProfile.resolve(Collections.<String, String>emptyMap());
+            playwright = Playwright.create();
+            browser = profile.launch(playwright);
+            context = browser.newContext(profile.toContextOptions());
+            NetworkProfile.fromConfig().install(context);
+            page = context.newPage();
+        }
+
+        ReservationPage openGuestForm() {
+            LocalDate checkIn = LocalDate.now().plusDays(30);
+            return new ReservationPage(page)
+                    .openDirect(TestConstants.ROOM_SINGLE, checkIn, checkIn.plusDays(2))
+                    .clickReserveButton();
+        }
+
+        @TearDown(Level.Iteration)
+        public void drainMetrics() {
+            StepMetrics.drain();
+            PagePerformance.drain();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            context.close();
+            browser.close();
+            playwright.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Home extends OpenPage {
+        HomePage homePage;
+        String checkIn;
+        String checkOut;
+
+        @Setup(Level.Trial)
+        public void setUp(StandInFixture standIn) {
+            open();
+            homePage = new HomePage(page);
+            LocalDate stay = LocalDate.now().plusDays(30);
+            checkIn = stay.format(DATE_FORMAT);
+            checkOut = stay.plusDays(3).format(DATE_FORMAT);
+        }
+    }
+
+    /** Reservation page whose calendar alternates between two months N apart. */
+    @State(Scope.Thread)
+    public static class Calendar extends OpenPage {
+        @Param({"1", "3", "12"})
+        int months;
+
+        ReservationPage reservationPage;
+        LocalDate near;
+        LocalDate far;
+        boolean atNear;
+
+        @Setup(Level.Trial)
+        public void setUp(StandInFixture standIn) {
+            open();
+            // Start one month ahead so neither direction is the single "Today" click
+            near = LocalDate.now().plusMonths(1).withDayOfMonth(1);
+            far = near.plusMonths(months);
+            reservationPage = new ReservationPage(page)
+                    .openDirect(TestConstants.ROOM_DOUBLE, near, near.plusDays(2))
+                    .navigateCalendarToMonth(near);
+            atNear = true;
+        }
+
+        LocalDate nextTarget() {
+            atNear = !atNear;
+            return atNear ? near : far;
+        }
+    }
+
+    /** Reservation page with the guest form shown. */
+    @State(Scope.Thread)
+    public static class GuestForm extends OpenPage {
+        ReservationPage reservationPage;
+        GuestDetails guest = GuestDetails.defaultGuest();
+
+        @Setup(Level.Trial)
+        public void setUp(StandInFixture standIn) {
+            open();
+            reservationPage = openGuestForm();
+        }
+    }
+
+    /** Reservation page after an empty submission, with every validation alert shown. */
+    @State(Scope.Thread)
+    public static class Alerts extends OpenPage {
+        ReservationPage reservationPage;
+
+        @Setup(Level.Trial)
+        public void setUp(StandInFixture standIn) {
+            open();
+            reservationPage = openGuestForm().submitGuestDetails(new GuestDetails("", "", "", ""));
+        }
+    }
+
+    @Benchmark
+    public HomePage homeNavigateAndSearch(Home state) {
+        return state.homePage
+                .navigate(urlHelper.homePageUrl())
+                .enterCheckInDate(state.checkIn)
+                .enterCheckOutDate(state.checkOut)
+                .clickCheckAvailability();
+    }
+
+    @Benchmark
+    public ReservationPage calendarToMonth(Calendar state) {
+        return state.reservationPage.navigateCalendarToMonth(state.nextTarget());
+    }
+
+    @Benchmark
+    public ReservationPage guestFormFill(GuestForm state) {
+        return state.reservationPage.fillGuestDetails(state.guest);
+    }
+
+    @Benchmark
+    public List<String> alertMessages(Alerts state) {
+        return state.reservationPage.getAllAlertMessages();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.automation.benchmarks;
+
+import com.example.automation.standin.StandInServer;
+import com.example.automation.utils.urlHelper;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+
+/**
+ * The embedded stand-in app, started once per benchmark fork on a random port, with
+ * urlHelper pointed at it. No latency or errors are injected, so what the page-object
+ * benchmarks measure is the framework plus the browser, not the network.
+ */
+@State(Scope.Benchmark)
+public class StandInFixture {
+
+    private StandInServer server;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        server = new StandInServer(0).start();
+        urlHelper.useBaseUrl(server.baseUrl());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        urlHelper.useBaseUrl(null);
+        server.stop();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.automation.api;
+
+import com.example.automation.pages.GuestDetails;
+import com.example.automation.utils.StayWindow;
+import org.json.JSONObject;
+
+import java.time.LocalDate;
+
+/**
+ * A booking as sent to and returned by /api/booking. The id is 0 until the server has assigned one.
+ */
+public class Booking {
+
+    private final int bookingId;
+    private final int roomId;
+    private final GuestDetails guest;
+    private final StayWindow stay;
+
+    public Booking(int bookingId, int roomId, GuestDetails guest, StayWindow stay) {
+        this.bookingId = bookingId;
+        this.roomId = roomId;
+        this.guest = guest;
+        this.stay = stay;
+    }
+
+    /** A booking to create — the server assigns the id. */
+    public static Booking of(int roomId, GuestDetails guest, StayWindow stay) {
+        return new Booking(0, roomId, guest, stay);
+    }
+
+    static Booking fromJson(JSONObject json) {
+        JSONObject dates = json.getJSONObject("bookingdates");
+        return new Booking(json.optInt("bookingid"), json.getInt("roomid"),
+                new GuestDetails(json.optString("firstname"), json.optString("lastname"),
+                        json.optString("email"), json.optString("phone")),
+                new StayWindow(LocalDate.parse(dates.getString("checkin")), LocalDate.parse(dates.getString("checkout"))));
+    }
+
+    JSONObject toJson() {
+        return new JSONObject()
+                .put("roomid", roomId)
+                .put("firstname", guest.getFirstName())
+                .put("lastname", guest.getLastName())
+                .put("email", guest.getEmail())
+                .put("phone", guest.getPhone())
+                .put("depositpaid", false)
+                .put("bookingdates", new JSONObject()
+                        .put("checkin", stay.getCheckIn().toString())
+                        .put("checkout", stay.getCheckOut().toString()));
+    }
+
+    public int getBookingId() {
+        return bookingId;
+    }
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    public GuestDetails getGuest() {
+        return guest;
+    }
+
+    public StayWindow getStay() {
+        return stay;
+    }
+
+    @Override
+    public String toString() {
+        return "Booking{" + bookingId + ", room " + roomId + ", " + stay + "}";
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.automation.api;
+
+import com.example.automation.pages.GuestDetails;
+import com.example.automation.utils.FrameworkConfig;
+import com.example.automation.utils.StayWindow;
+import com.example.automation.utils.urlHelper;
+import com.microsoft.playwright.APIRequest;
+import com.microsoft.playwright.APIRequestContext;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.options.RequestOptions;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Typed client for the app's room and booking API, on Playwright's APIRequestContext —
+ * sets up and checks state in milliseconds instead of going through the UI.
+ *
+ * Must be used on the thread that owns the Playwright it was created from.
+ * Admin calls (listing and deleting bookings) log in on first use with
+ * api.username / api.password (default admin / password, the app's demo account);
+ * the session is kept as the "token" cookie in the request context.
+ *
+ * Every booking created here is added to {@link BookingRegistry} so it is deleted after the suite.
+ */
+public class BookingApiClient implements AutoCloseable {
+
+    private final APIRequestContext request;
+    private boolean loggedIn;
+    private List<Room> rooms;
+
+    public BookingApiClient(Playwright playwright) {
+        this(playwright, urlHelper.baseUrl());
+    }
+
+    public BookingApiClient(Playwright playwright, String baseUrl) {
+        this.request = playwright.request().newContext(new APIRequest.NewContextOptions().setBaseURL(baseUrl));
+    }
+
+    // ---------- rooms ----------
+
+    /** All rooms; fetched once per client. */
+    public List<Room> listRooms() {
+        if (rooms == null) {
+            JSONArray json = ok(request.get("api/room"), "list rooms").getJSONArray("rooms");
+            List<Room> result = new ArrayList<>();
+            for (int i = 0; i < json.length(); i++) {
+                result.add(Room.fromJson(json.getJSONObject(i)));
+            }
+            rooms = Collections.unmodifiableList(result);
+        }
+        return rooms;
+    }
+
+    /** The room of the given type (TestConstants.ROOM_SINGLE / ROOM_DOUBLE / ROOM_SUITE). */
+    public Room room(String roomType) {
+        for (Room room : listRooms()) {
+            if (room.getType().equalsIgnoreCase(roomType)) return room;
+        }
+        throw new IllegalArgumentException("The app has no room of type '" + roomType + "'");
+    }
+
+    /** Expected totals based on the server's current nightly prices. */
+    public PriceOracle prices() {
+        return new PriceOracle(listRooms());
+    }
+
+    // ---------- bookings ----------
+
+    public Booking createBooking(int roomId, GuestDetails guest, StayWindow stay) {
+        return createBooking(Booking.of(roomId, guest, stay));
+    }
+
+    public Booking createBooking(Booking booking) {
+        JSONObject json = ok(request.post("api/booking", RequestOptions.create()
+                .setHeader("Content-Type", "application/json")
+                .setData(booking.toJson().toString())), "create booking " + booking);
+        // The app answers {bookingid, booking:{...}}; accept a bare booking object too
+        Booking created = Booking.fromJson(json.has("booking")
+                ? json.getJSONObject("booking").put("bookingid", json.optInt("bookingid"))
+                : json);
+        BookingRegistry.register(created.getBookingId());
+        return created;
+    }
+
+    /** Bookings for one room (admin). */
+    public List<Booking> listBookings(int roomId) {
+        login();
+        JSONArray json = ok(request.get("api/booking", RequestOptions.create().setQueryParam("roomid", roomId)),
+                "list bookings").getJSONArray("bookings");
+        List<Booking> result = new ArrayList<>();
+        for (int i = 0; i < json.length(); i++) {
+            result.add(Booking.fromJson(json.getJSONObject(i)));
+        }
+        return result;
+    }
+
+    /** Deletes a booking (admin). Returns false if it no longer exists. */
+    public boolean deleteBooking(int bookingId) {
+        login();
+        APIResponse response = request.delete("api/booking/" + bookingId);
+        if (response.status() == 404) return false;
+        ok(response, "delete booking " + bookingId);
+        return true;
+    }
+
+    public BookingApiClient login() {
+        if (loggedIn) return this;
+        JSONObject credentials = new JSONObject()
+                .put("username", FrameworkConfig.getString("api.username", "admin"))
+                .put("password", FrameworkConfig.getString("api.password", "password"));
+        ok(request.post("api/auth/login", RequestOptions.create()
+                .setHeader("Content-Type", "application/json")
+                .setData(credentials.toString())), "log in");
+        loggedIn = true;
+        return this;
+    }
+
+    @Override
+    public void close() {
+        request.dispose();
+    }
+
+    private static JSONObject ok(APIResponse response, String action) {
+        String body = response.text();
+        if (!response.ok()) {
+            throw new IllegalStateException("Could not " + action + ": HTTP " + response.status() + " " + body);
+        }
+        return body == null || body.trim().isEmpty() ? new JSONObject() : new JSONObject(body);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.automation.api;
+
+import com.example.automation.pages.GuestDetails;
+import com.example.automation.utils.StayWindow;
+
+import java.util.LinkedHashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Bookings made during the run, so they can be deleted in bulk after the suite and no longer
+ * shrink availability for later runs.
+ *
+ * API-created bookings are registered by id. Bookings made through the UI have no id on the
+ * client side; they are registered by room, guest and stay once the app has confirmed them,
+ * and looked up when cleaning up. Only a booking matching all three is deleted, so cleanup
+ * never removes someone else's booking for the same room and dates.
+ */
+public class BookingRegistry {
+
+    private BookingRegistry() { /* utility class — no instances */ }
+
+    private static final Queue<Integer> bookingIds = new ConcurrentLinkedQueue<>();
+    private static final Queue<UiBooking> uiBookings = new ConcurrentLinkedQueue<>();
+
+    private static class UiBooking {
+        final int roomId;
+        final GuestDetails guest;
+        final StayWindow stay;
+
+        UiBooking(int roomId, GuestDetails guest, StayWindow stay) {
+            this.roomId = roomId;
+            this.guest = guest;
+            this.stay = stay;
+        }
+
+        boolean matches(Booking booking) {
+            return booking.getStay().getCheckIn().equals(stay.getCheckIn())
+                    && booking.getStay().getCheckOut().equals(stay.getCheckOut())
+                    && booking.getGuest().getFirstName().equals(guest.getFirstName())
+                    && booking.getGuest().getLastName().equals(guest.getLastName());
+        }
+    }
+
+    public static void register(int bookingId) {
+        if (bookingId > 0) bookingIds.add(bookingId);
+    }
+
+    /**
+     * Records a booking made through the UI, identified by room, guest name and exact dates.
+     * Call only after the confirmation was checked — a rejected booking must not be registered.
+     */
+    public static void registerUiBooking(int roomId, GuestDetails guest, StayWindow stay) {
+        uiBookings.add(new UiBooking(roomId, guest, stay));
+    }
+
+    public static boolean isEmpty() {
+        return bookingIds.isEmpty() && uiBookings.isEmpty();
+    }
+
+    /**
+     * Deletes everything registered so far and empties the registry.
+     * Failures are logged, not thrown — cleanup must never fail the run.
+     *
+     * @return number of bookings deleted
+     */
+    public static int cleanUp(BookingApiClient client) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (Integer id; (id = bookingIds.poll()) != null; ) ids.add(id);
+
+        for (UiBooking ui; (ui = uiBookings.poll()) != null; ) {
+            try {
+                for (Booking booking : client.listBookings(ui.roomId)) {
+                    if (ui.matches(booking)) ids.add(booking.getBookingId());
+                }
+            } catch (RuntimeException e) {
+                System.err.println("[Cleanup] Could not look up room " + ui.roomId + " " + ui.stay + ": " + e.getMessage());
+            }
+        }
+
+        int deleted = 0;
+        for (int id : ids) {
+            try {
+                if (client.deleteBooking(id)) deleted++;
+            } catch (RuntimeException e) {
+                System.err.println("[Cleanup] Could not delete booking " + id + ": " + e.getMessage());
+            }
+        }
+        System.out.println("[Cleanup] Deleted " + deleted + " of " + ids.size() + " booking(s) created by this run");
+        return deleted;
+    }
+}
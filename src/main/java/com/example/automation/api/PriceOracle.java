@@ -0,0 +1,46 @@
+package com.example.automation.api;
+
+import com.example.automation.utils.TestConstants;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expected reservation totals, from the nightly prices the server actually charges.
+ *
+ * The app does not expose its cleaning and service fees through the API (the front end
+ * adds them), so those still come from TestConstants.
+ */
+public class PriceOracle {
+
+    private final Map<String, Integer> nightlyPrices = new HashMap<>();
+
+    PriceOracle(List<Room> rooms) {
+        for (Room room : rooms) {
+            nightlyPrices.put(room.getType(), room.getPricePerNight());
+        }
+    }
+
+    /** Oracle built from TestConstants only — for runs that must not call the API (HAR replay). */
+    public static PriceOracle fromConstants() {
+        return new PriceOracle(Arrays.asList(
+                new Room(TestConstants.ROOM_SINGLE_ID, "", TestConstants.ROOM_SINGLE, true, TestConstants.SINGLE_ROOM_PRICE_PER_NIGHT, ""),
+                new Room(TestConstants.ROOM_DOUBLE_ID, "", TestConstants.ROOM_DOUBLE, true, TestConstants.DOUBLE_ROOM_PRICE_PER_NIGHT, ""),
+                new Room(TestConstants.ROOM_SUITE_ID, "", TestConstants.ROOM_SUITE, true, TestConstants.SUITE_ROOM_PRICE_PER_NIGHT, "")));
+    }
+
+    public int pricePerNight(String roomType) {
+        Integer price = nightlyPrices.get(roomType);
+        if (price == null) {
+            throw new IllegalArgumentException("No room of type '" + roomType + "' — known types: " + nightlyPrices.keySet());
+        }
+        return price;
+    }
+
+    /** Nights × nightly price + cleaning fee + service fee, as shown in the reservation summary. */
+    public int expectedTotal(String roomType, int nights) {
+        return pricePerNight(roomType) * nights + TestConstants.CLEANING_FEE + TestConstants.SERVICE_FEE;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.automation.api;
+
+import org.json.JSONObject;
+
+/**
+ * A room as returned by GET /api/room.
+ */
+public class Room {
+
+    private final int roomId;
+    private final String roomName;
+    private final String type;
+    private final boolean accessible;
+    private final int pricePerNight;
+    private final String description;
+
+    public Room(int roomId, String roomName, String type, boolean accessible, int pricePerNight, String description) {
+        this.roomId = roomId;
+        this.roomName = roomName;
+        this.type = type;
+        this.accessible = accessible;
+        this.pricePerNight = pricePerNight;
+        this.description = description;
+    }
+
+    static Room fromJson(JSONObject json) {
+        return new Room(json.getInt("roomid"), json.optString("roomName"), json.optString("type"),
+                json.optBoolean("accessible"), json.optInt("roomPrice"), json.optString("description"));
+    }
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    public String getRoomName() {
+        return roomName;
+    }
+
+    /** TestConstants.ROOM_SINGLE / ROOM_DOUBLE / ROOM_SUITE on the seeded app. */
+    public String getType() {
+        return type;
+    }
+
+    public boolean isAccessible() {
+        return accessible;
+    }
+
+    public int getPricePerNight() {
+        return pricePerNight;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return "Room{" + roomId + ", " + type + ", " + pricePerNight + "/night}";
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.automation.browser;
+
+import com.example.automation.utils.FrameworkConfig;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.options.Timing;
+
+import java.util.Locale;
+
+/**
+ * What the browser was doing during a test: console messages, page errors, requests,
+ * responses and failed requests of one BrowserContext, in a fixed-size ring buffer.
+ *
+ * Events are stored as parallel primitive / reference arrays — a timestamp, a kind, a number
+ * (status, duration) and the strings Playwright already created — so recording allocates
+ * nothing per event and the oldest events are overwritten once the buffer is full. The buffer
+ * is only turned into text when a test fails ({@link #dump()}).
+ *
+ * Requests slower than activity.slowRequestMs are also kept in a small slowest-first table,
+ * summarized on every test ({@link #slowRequestSummary()}).
+ *
+ * Settings (system property or env var):
+ *   activity.capture       – attach the listeners (default true)
+ *   activity.bufferSize    – events kept per context (default 500)
+ *   activity.slowRequestMs – what counts as a slow request (default 1000)
+ */
+public class BrowserActivity {
+
+    private static final boolean ENABLED = FrameworkConfig.getBoolean("activity.capture", true);
+    private static final int CAPACITY = FrameworkConfig.getInt("activity.bufferSize", 500);
+    private static final long SLOW_MS = FrameworkConfig.getLong("activity.slowRequestMs", 1000);
+    private static final int SLOWEST_KEPT = 5;
+    private static final int MAX_TEXT = 300;   // per event, applied when dumping
+
+    private static final byte CONSOLE = 0;
+    private static final byte PAGE_ERROR = 1;
+    private static final byte REQUEST = 2;
+    private static final byte RESPONSE = 3;
+    private static final byte REQUEST_FAILED = 4;
+    private static final String[] KIND_NAMES = {"console", "pageerror", "request", "response", "requestfailed"};
+
+    // ---------- ring buffer ----------
+    private final long[] at = new long[CAPACITY];
+    private final byte[] kind = new byte[CAPACITY];
+    private final int[] number = new int[CAPACITY];
+    private final String[] label = new String[CAPACITY];   // console type, HTTP method, failure text
+    private final String[] text = new String[CAPACITY];    // message or URL
+    private long written;
+
+    // ---------- slow requests, slowest first ----------
+    private final long[] slowMillis = new long[SLOWEST_KEPT];
+    private final String[] slowMethod = new String[SLOWEST_KEPT];
+    private final String[] slowUrl = new String[SLOWEST_KEPT];
+    private int slowCount;
+
+    private final long startedAt = System.currentTimeMillis();
+
+    private BrowserActivity() {
+    }
+
+    /** Starts recording the context's events, or returns null when activity.capture is off. */
+    public static BrowserActivity attach(BrowserContext context) {
+        if (!ENABLED || CAPACITY <= 0) return null;
+        BrowserActivity activity = new BrowserActivity();
+        context.onConsoleMessage(m -> activity.add(CONSOLE, 0, m.type(), m.text()));
+        context.onWebError(e -> activity.add(PAGE_ERROR, 0, null, e.error()));
+        context.onRequest(r -> activity.add(REQUEST, 0, r.method(), r.url()));
+        context.onResponse(r -> activity.add(RESPONSE, r.status(), r.request().method(), r.url()));
+        context.onRequestFailed(r -> {
+            String failure = r.failure();
+            // Requests aborted by the network profile are already counted in NetworkStats
+            if (failure == null || !failure.contains("BLOCKED_BY_CLIENT")) {
+                activity.add(REQUEST_FAILED, 0, failure, r.url());
+            }
+        });
+        context.onRequestFinished(activity::finished);
+        return activity;
+    }
+
+    private synchronized void add(byte eventKind, int eventNumber, String eventLabel, String eventText) {
+        int slot = (int) (written++ % CAPACITY);
+        at[slot] = System.currentTimeMillis();
+        kind[slot] = eventKind;
+        number[slot] = eventNumber;
+        label[slot] = eventLabel;
+        text[slot] = eventText;
+    }
+
+    private synchronized void finished(Request request) {
+        Timing timing = request.timing();
+        if (timing == null || timing.responseEnd < 0) return;
+        long millis = (long) timing.responseEnd;
+        if (millis < SLOW_MS) return;
+        int kept = Math.min(slowCount++, SLOWEST_KEPT);
+        if (kept == SLOWEST_KEPT && millis <= slowMillis[kept - 1]) return;
+        // Insertion into the fixed slowest-first table; a full table drops its fastest entry
+        int i = Math.min(kept, SLOWEST_KEPT - 1);
+        while (i > 0 && slowMillis[i - 1] < millis) {
+            slowMillis[i] = slowMillis[i - 1];
+            slowMethod[i] = slowMethod[i - 1];
+            slowUrl[i] = slowUrl[i - 1];
+            i--;
+        }
+        slowMillis[i] = millis;
+        slowMethod[i] = request.method();
+        slowUrl[i] = request.url();
+    }
+
+    public synchronized long eventCount() {
+        return written;
+    }
+
+    /** Null when no request was slower than activity.slowRequestMs. */
+    public synchronized String slowRequestSummary() {
+        if (slowCount == 0) return null;
+        StringBuilder summary = new StringBuilder(String.format(Locale.ROOT, "%d request(s) over %d ms; slowest:",
+                slowCount, SLOW_MS));
+        for (int i = 0; i < Math.min(slowCount, SLOWEST_KEPT); i++) {
+            summary.append(String.format(Locale.ROOT, "%n  %6d ms  %s %s", slowMillis[i], slowMethod[i], slowUrl[i]));
+        }
+        return summary.toString();
+    }
+
+    /** The buffered events, oldest first, one line each; times are relative to the context's start. */
+    public synchronized String dump() {
+        StringBuilder out = new StringBuilder();
+        long first = Math.max(0, written - CAPACITY);
+        if (first > 0) {
+            out.append(String.format("(%d earlier events dropped)%n", first));
+        }
+        for (long n = first; n < written; n++) {
+            int slot = (int) (n % CAPACITY);
+            out.append(String.format(Locale.ROOT, "+%6d ms  %-13s ", at[slot] - startedAt, KIND_NAMES[kind[slot]]));
+            if (kind[slot] == RESPONSE) out.append(number[slot]).append(' ');
+            if (label[slot] != null) out.append(label[slot]).append(' ');
+            String message = text[slot] == null ? "" : text[slot];
+            out.append(message.length() > MAX_TEXT ? message.substring(0, MAX_TEXT) + "..." : message)
+               .append(System.lineSeparator());
+        }
+        return out.toString();
+    }
+}
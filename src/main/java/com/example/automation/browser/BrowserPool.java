@@ -0,0 +1,184 @@
+package com.example.automation.browser;
+
+import com.example.automation.utils.FrameworkConfig;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps one Playwright driver and one Browser per worker thread for the whole suite.
+ *
+ * Playwright Java objects must only be used from the thread that created them, so
+ * entries are bound to the acquiring thread and never handed to another one. Threads do
+ * not always last the whole suite: TestNG runs each parallel data provider on a pool of
+ * its own and shuts it down afterwards. A browser whose thread has ended is closed, and its
+ * slot freed, before anyone waits for a slot.
+ * Each test only pays for a new BrowserContext; the browser itself is relaunched
+ * when it has crashed or has served {@code pool.maxContextsPerBrowser} contexts.
+ *
+ * Settings (system property or env var):
+ *   pool.maxBrowsers            – upper bound on live browsers across all threads (default: the suite's
+ *                                 worker threads times its browsers, see {@link #sizeFor}; CPU count
+ *                                 when no suite sized the pool)
+ *   pool.maxContextsPerBrowser  – recycle a browser after this many contexts (default: 50)
+ *   pool.acquireTimeoutSeconds  – how long to wait for a free slot before failing (default: 60)
+ */
+public class BrowserPool {
+
+    private BrowserPool() { /* utility class — no instances */ }
+
+    /** Launches a browser for a freshly created Playwright driver. */
+    public interface BrowserLauncher {
+        Browser launch(Playwright playwright);
+    }
+
+    private static final int CONFIGURED_MAX_BROWSERS = FrameworkConfig.getInt("pool.maxBrowsers", 0);
+    private static final int MAX_CONTEXTS_PER_BROWSER =
+            FrameworkConfig.getInt("pool.maxContextsPerBrowser", 50);
+    private static final int ACQUIRE_TIMEOUT_SECONDS =
+            FrameworkConfig.getInt("pool.acquireTimeoutSeconds", 60);
+
+    private static volatile int maxBrowsers = CONFIGURED_MAX_BROWSERS > 0
+            ? CONFIGURED_MAX_BROWSERS : Runtime.getRuntime().availableProcessors();
+    private static final Slots slots = new Slots(maxBrowsers);
+    private static final Set<PooledBrowser> live = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<Map<String, PooledBrowser>> owned =
+            ThreadLocal.withInitial(HashMap::new);
+    private static final PoolStats stats = new PoolStats();
+
+    /**
+     * Returns this thread's browser for the given key, launching or recycling it if needed.
+     *
+     * @param key      identifies the launch configuration (e.g. "chrome"), so one thread
+     *                 can hold browsers for different configurations side by side
+     * @param launcher used only when a new browser has to be started
+     */
+    public static PooledBrowser acquire(String key, BrowserLauncher launcher) {
+        Map<String, PooledBrowser> mine = owned.get();
+        PooledBrowser entry = mine.get(key);
+
+        if (entry != null && (!entry.isHealthy() || entry.contextsServed() >= MAX_CONTEXTS_PER_BROWSER)) {
+            System.out.println("[BrowserPool] Recycling " + key + " on " + Thread.currentThread().getName()
+                    + (entry.isCrashed() ? " (crashed)" : " after " + entry.contextsServed() + " contexts"));
+            stats.recordRecycle(entry.isCrashed());
+            retire(entry);
+            mine.remove(key);
+            entry = null;
+        }
+
+        if (entry == null) {
+            entry = launch(key, launcher);
+            mine.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Sets the bound to the number of browsers the suite can keep live at once: every thread
+     * that runs tests holds its browser while it lives, once per launch configuration it runs.
+     * Data-provider threads count once, not once per data-driven method: their browsers are
+     * retired when their pool ends. Called before the first test; an explicit pool.maxBrowsers wins.
+     */
+    public static synchronized void sizeFor(int workerThreads, int launchConfigurations) {
+        if (CONFIGURED_MAX_BROWSERS > 0) return;
+        int size = Math.max(1, workerThreads) * Math.max(1, launchConfigurations);
+        if (size > maxBrowsers) slots.release(size - maxBrowsers);
+        else if (size < maxBrowsers) slots.shrink(maxBrowsers - size);
+        maxBrowsers = size;
+        System.out.println("[BrowserPool] Up to " + size + " browsers (" + workerThreads + " worker threads x "
+                + launchConfigurations + " launch configurations)");
+    }
+
+    /**
+     * Closes every pooled browser. Called once when the suite ends.
+     */
+    public static void shutdown() {
+        for (PooledBrowser entry : live) {
+            retire(entry);
+        }
+        owned.remove();
+        System.out.println("[BrowserPool] " + stats.summary());
+    }
+
+    public static PoolStats stats() {
+        return stats;
+    }
+
+    private static PooledBrowser launch(String key, BrowserLauncher launcher) {
+        try {
+            // A finished data-provider pool's threads die shortly after it shuts down, so keep
+            // retiring their browsers while waiting rather than only once up front
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(ACQUIRE_TIMEOUT_SECONDS);
+            retireOrphans();
+            while (!slots.tryAcquire(1, TimeUnit.SECONDS)) {
+                if (retireOrphans() == 0 && System.nanoTime() >= deadline) {
+                    throw new IllegalStateException("Browser pool exhausted: " + maxBrowsers
+                            + " browsers already live. Raise pool.maxBrowsers or lower the thread count.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser pool slot", e);
+        }
+
+        long start = System.nanoTime();
+        Playwright playwright = null;
+        try {
+            playwright = Playwright.create();
+            Browser browser = launcher.launch(playwright);
+            long elapsed = System.nanoTime() - start;
+            stats.recordLaunch(elapsed);
+
+            PooledBrowser entry = new PooledBrowser(key, playwright, browser, elapsed);
+            live.add(entry);
+            System.out.println("[BrowserPool] Launched " + key + " on " + Thread.currentThread().getName()
+                    + " in " + elapsed / 1_000_000 + " ms");
+            return entry;
+        } catch (RuntimeException e) {
+            if (playwright != null) {
+                try { playwright.close(); } catch (Exception ignored) {}
+            }
+            slots.release();
+            throw e;
+        }
+    }
+
+    // Browsers of threads that have ended; nothing can use them any more
+    private static int retireOrphans() {
+        int retired = 0;
+        for (PooledBrowser entry : live) {
+            if (entry.isOwnerAlive()) continue;
+            System.out.println("[BrowserPool] Closing " + entry.key() + " left by ended thread " + entry.owner().getName());
+            stats.recordOrphan();
+            retire(entry);
+            retired++;
+        }
+        return retired;
+    }
+
+    private static void retire(PooledBrowser entry) {
+        if (live.remove(entry)) {
+            entry.close();
+            slots.release();
+        }
+    }
+
+    /** Semaphore whose permits can also be taken away, for {@link #sizeFor}. */
+    private static class Slots extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        Slots(int permits) {
+            super(permits);
+        }
+
+        void shrink(int permits) {
+            reducePermits(permits);
+        }
+    }
+}
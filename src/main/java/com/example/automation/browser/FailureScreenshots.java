@@ -0,0 +1,177 @@
+package com.example.automation.browser;
+
+import com.example.automation.utils.FrameworkConfig;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.ScreenshotType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * In-memory failure screenshots for the page bound to the current thread.
+ *
+ * The capture itself is the only work done on the test thread; base64 encoding for the
+ * report and the copy written to target/screenshots happen on one background writer thread.
+ *
+ * Settings (system property or env var):
+ *   screenshot.mode      – viewport | fullpage | element      (default viewport)
+ *   screenshot.selector  – element captured in element mode   (default body)
+ *   screenshot.format    – jpeg | png                          (default jpeg)
+ *   screenshot.quality   – JPEG quality 0–100                  (default 80)
+ *   screenshot.timeoutMs – capture timeout                     (default 5000)
+ *   screenshot.save      – also write the file to disk          (default true)
+ */
+public class FailureScreenshots {
+
+    private FailureScreenshots() { /* utility class — no instances */ }
+
+    public enum Mode { VIEWPORT, FULLPAGE, ELEMENT }
+
+    /** ITestResult attribute holding the {@link Screenshot} of a failed test. */
+    public static final String RESULT_ATTRIBUTE = "failure.screenshot";
+
+    private static final Path DIR = Paths.get("target/screenshots");
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+
+    private static final Mode    MODE       = Mode.valueOf(FrameworkConfig.getString("screenshot.mode", "viewport").trim().toUpperCase());
+    private static final String  SELECTOR   = FrameworkConfig.getString("screenshot.selector", "body");
+    private static final String  FORMAT     = FrameworkConfig.getString("screenshot.format", "jpeg").trim().toLowerCase();
+    private static final boolean JPEG       = FORMAT.equals("jpeg") || FORMAT.equals("jpg");
+    private static final int     QUALITY    = FrameworkConfig.getInt("screenshot.quality", 80);
+    private static final double  TIMEOUT_MS = FrameworkConfig.getLong("screenshot.timeoutMs", 5000);
+    private static final boolean SAVE       = FrameworkConfig.getBoolean("screenshot.save", true);
+
+    private static final ThreadLocal<Page> boundPage = new ThreadLocal<>();
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "screenshot-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** A captured screenshot; the report's data URI is produced in the background. */
+    public static class Screenshot {
+        private final byte[] bytes;
+        private final String fileName;
+        private final String mimeType;
+        private final long captureNanos;
+        private final Future<String> dataUri;
+
+        private Screenshot(byte[] bytes, String fileName, String mimeType, long captureNanos) {
+            this.bytes = bytes;
+            this.fileName = fileName;
+            this.mimeType = mimeType;
+            this.captureNanos = captureNanos;
+            this.dataUri = writer.submit(() -> {
+                if (SAVE) write();
+                return "data:" + mimeType + ";base64," + Base64.getEncoder().encodeToString(bytes);
+            });
+        }
+
+        private void write() {
+            try {
+                Files.createDirectories(DIR);
+                Path dest = DIR.resolve(fileName);
+                Files.write(dest, bytes);
+                System.out.println("[Screenshot saved] " + dest.toAbsolutePath());
+            } catch (IOException e) {
+                System.err.println("[Screenshot failed] " + e.getMessage());
+            }
+        }
+
+        public byte[] bytes() {
+            return bytes;
+        }
+
+        public String fileName() {
+            return fileName;
+        }
+
+        public String mimeType() {
+            return mimeType;
+        }
+
+        public double captureMillis() {
+            return captureNanos / 1_000_000.0;
+        }
+
+        /** "data:image/...;base64,..." for embedding; waits for the writer thread if needed. */
+        public String dataUri() throws InterruptedException, ExecutionException {
+            return dataUri.get();
+        }
+    }
+
+    public static void bind(Page page) {
+        boundPage.set(page);
+    }
+
+    public static void unbind() {
+        boundPage.remove();
+    }
+
+    /**
+     * Captures the page bound to this thread. Returns null when no page is bound,
+     * it is already closed, or the capture fails.
+     *
+     * @param name used in the file name, e.g. "VerifyHomePageTest.verifyUser..."
+     */
+    public static Screenshot capture(String name) {
+        Page page = boundPage.get();
+        if (page == null || page.isClosed()) return null;
+
+        long start = System.nanoTime();
+        try {
+            byte[] bytes = MODE == Mode.ELEMENT ? captureElement(page) : page.screenshot(pageOptions(MODE == Mode.FULLPAGE));
+            String fileName = LocalDateTime.now().format(STAMP) + "_" + name + "_" + Thread.currentThread().getId()
+                    + (JPEG ? ".jpg" : ".png");
+            return new Screenshot(bytes, fileName, JPEG ? "image/jpeg" : "image/png", System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            System.err.println("[Screenshot failed] " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] captureElement(Page page) {
+        try {
+            Locator.ScreenshotOptions options = new Locator.ScreenshotOptions()
+                    .setType(JPEG ? ScreenshotType.JPEG : ScreenshotType.PNG)
+                    .setTimeout(TIMEOUT_MS);
+            if (JPEG) options.setQuality(QUALITY);
+            return page.locator(SELECTOR).first().screenshot(options);
+        } catch (RuntimeException e) {
+            // Element missing or hidden at the moment of failure — the viewport still tells the story
+            return page.screenshot(pageOptions(false));
+        }
+    }
+
+    private static Page.ScreenshotOptions pageOptions(boolean fullPage) {
+        Page.ScreenshotOptions options = new Page.ScreenshotOptions()
+                .setFullPage(fullPage)
+                .setType(JPEG ? ScreenshotType.JPEG : ScreenshotType.PNG)
+                .setTimeout(TIMEOUT_MS);
+        if (JPEG) options.setQuality(QUALITY);
+        return options;
+    }
+
+    /** Waits for queued encodes and writes, e.g. before the report is flushed. */
+    public static void awaitPendingWrites(long timeoutSeconds) {
+        try {
+            writer.submit(() -> { }).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            System.err.println("[Screenshot] Writer did not drain: " + e.getMessage());
+        }
+    }
+}
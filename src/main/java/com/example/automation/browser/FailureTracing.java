@@ -0,0 +1,123 @@
+package com.example.automation.browser;
+
+import com.example.automation.utils.FrameworkConfig;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Tracing;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Playwright tracing that is only kept for failed (or retried) tests.
+ *
+ * Tracing starts with the context and stops with the test: the trace is either written to
+ * target/traces/&lt;Class&gt;.&lt;method&gt;_&lt;timestamp&gt;.zip or stopped without a path, which
+ * discards it without packaging anything. Every test gets a fresh context and tracing belongs
+ * to the context, so there is no session to reuse across tests; splitting it into chunks
+ * would only add a startChunk/stopChunk round trip per test. Time spent in the tracing calls
+ * is shown in the report; BrowserLifecycleBenchmark.tracedHomeSearch measures what each
+ * snapshots/screenshots setting adds to a test.
+ *
+ * Settings (system property or env var):
+ *   trace.mode        – off | on-failure   (default off)
+ *   trace.snapshots   – DOM snapshots       (default true)
+ *   trace.screenshots – screencast frames   (default true)
+ *   trace.sources     – test sources        (default false)
+ *   trace.dir         – where kept traces go (default target/traces)
+ */
+public class FailureTracing {
+
+    private static final boolean ENABLED     = "on-failure".equalsIgnoreCase(FrameworkConfig.getString("trace.mode", "off").trim());
+    private static final boolean SNAPSHOTS   = FrameworkConfig.getBoolean("trace.snapshots", true);
+    private static final boolean SCREENSHOTS = FrameworkConfig.getBoolean("trace.screenshots", true);
+    private static final boolean SOURCES     = FrameworkConfig.getBoolean("trace.sources", false);
+    private static final Path DIR = Paths.get(FrameworkConfig.getString("trace.dir", "target/traces"));
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+
+    private static final LongAdder startNanos   = new LongAdder();
+    private static final LongAdder starts       = new LongAdder();
+    private static final LongAdder discardNanos = new LongAdder();
+    private static final LongAdder discards     = new LongAdder();
+    private static final LongAdder saveNanos    = new LongAdder();
+    private static final LongAdder saves        = new LongAdder();
+
+    private final BrowserContext context;
+    private final String name;
+
+    private FailureTracing(BrowserContext context, String name) {
+        this.context = context;
+        this.name = name;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Starts tracing the context, or returns null when trace.mode is off.
+     *
+     * @param name used as trace title and file name, e.g. "VerifyHomePageTest.verifyUser..."
+     */
+    public static FailureTracing start(BrowserContext context, String name) {
+        if (!ENABLED) return null;
+        return start(context, name, SNAPSHOTS, SCREENSHOTS, SOURCES);
+    }
+
+    /** Starts tracing with the given settings whatever trace.mode says, e.g. for benchmarks. */
+    public static FailureTracing start(BrowserContext context, String name,
+                                       boolean snapshots, boolean screenshots, boolean sources) {
+        long begin = System.nanoTime();
+        context.tracing().start(new Tracing.StartOptions()
+                .setTitle(name)
+                .setSnapshots(snapshots)
+                .setScreenshots(screenshots)
+                .setSources(sources));
+        startNanos.add(System.nanoTime() - begin);
+        starts.increment();
+        return new FailureTracing(context, name);
+    }
+
+    /**
+     * Stops tracing; must run before the context is closed.
+     *
+     * @return the saved trace when keep is true, otherwise null
+     */
+    public Path finish(boolean keep) {
+        long begin = System.nanoTime();
+        try {
+            if (keep) {
+                Path dest = DIR.resolve(name + "_" + LocalDateTime.now().format(STAMP) + ".zip");
+                context.tracing().stop(new Tracing.StopOptions().setPath(dest));
+                saveNanos.add(System.nanoTime() - begin);
+                saves.increment();
+                return dest;
+            }
+            context.tracing().stop();
+            discardNanos.add(System.nanoTime() - begin);
+            discards.increment();
+            return null;
+        } catch (RuntimeException e) {
+            System.err.println("[Trace] Could not stop tracing for " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Settings and measured cost, for the report's system info. */
+    public static String summary() {
+        if (!ENABLED) return "off";
+        return String.format("on-failure (snapshots=%s, screenshots=%s, sources=%s): start %.0f ms avg over %d, "
+                        + "discard %.0f ms avg over %d, save %.0f ms avg over %d",
+                SNAPSHOTS, SCREENSHOTS, SOURCES,
+                avgMillis(startNanos, starts), starts.sum(),
+                avgMillis(discardNanos, discards), discards.sum(),
+                avgMillis(saveNanos, saves), saves.sum());
+    }
+
+    private static double avgMillis(LongAdder nanos, LongAdder count) {
+        long n = count.sum();
+        return n == 0 ? 0 : nanos.sum() / 1_000_000.0 / n;
+    }
+}
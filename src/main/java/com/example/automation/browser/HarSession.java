@@ -0,0 +1,193 @@
+package com.example.automation.browser;
+
+import com.example.automation.utils.DateUtils;
+import com.example.automation.utils.FrameworkConfig;
+import com.microsoft.playwright.APIRequestContext;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.options.HarMode;
+import com.microsoft.playwright.options.HarNotFound;
+import com.microsoft.playwright.options.RouteFromHarUpdateContentPolicy;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+
+/**
+ * Records each test's traffic to a HAR archive, or serves a test entirely from its archive.
+ *
+ *   -Dhar.mode=off      live network (default)
+ *   -Dhar.mode=record   (re-)record every test that runs
+ *   -Dhar.mode=replay   serve from HAR only; anything not in the archive is aborted, so no network is used
+ *   -Dhar.mode=refresh  re-record if the app's home page changed since the last recording, otherwise replay
+ *
+ * Archives live under {@code har.dir} (default src/test/resources/har) as
+ * {@code <TestClass>/<testMethod>.zip} ({@code <testMethod>-<row>.zip} for each data-provider
+ * row), with a {@code .json} sidecar holding the date and seed the test ran with. Replays pin
+ * DateUtils to those values so the page objects request exactly the recorded URLs. The sidecar
+ * is written only once the context has closed and the archive is complete, so an aborted
+ * recording never leaves a sidecar for an archive that does not exist.
+ */
+public class HarSession {
+
+    public enum Mode { OFF, RECORD, REPLAY, REFRESH }
+
+    private static final String FINGERPRINT_FILE = "app-fingerprint.txt";
+    private static Mode refreshDecision;
+
+    private final Mode mode;
+    private final Path archive;
+    private final Path sidecar;
+    private final JSONObject meta;   // written to the sidecar by finish(); null unless recording
+
+    private HarSession(Mode mode) {
+        this(mode, null, null, null);
+    }
+
+    private HarSession(Mode mode, Path archive, Path sidecar, JSONObject meta) {
+        this.mode = mode;
+        this.archive = archive;
+        this.sidecar = sidecar;
+        this.meta = meta;
+    }
+
+    public static Mode configuredMode() {
+        return Mode.valueOf(FrameworkConfig.getString("har.mode", "off").toUpperCase());
+    }
+
+    /** Whether this run's tests were served from HARs (replay, or refresh with an unchanged app). */
+    public static synchronized boolean isReplaying() {
+        Mode mode = configuredMode();
+        return mode == Mode.REPLAY || (mode == Mode.REFRESH && refreshDecision == Mode.REPLAY);
+    }
+
+    public static Path directory() {
+        return Paths.get(FrameworkConfig.getString("har.dir", "src/test/resources/har"));
+    }
+
+    /**
+     * Attaches record or replay routing to a fresh context. Call before the first navigation,
+     * and call {@link #finish(boolean)} after the context has been closed (the HAR is written on close).
+     *
+     * @param invocation the data-provider row of this invocation, or -1 for a plain test method;
+     *                   every row gets its own archive, since rows run side by side
+     */
+    public static HarSession start(BrowserContext context, Playwright playwright, String appUrl,
+                                   Class<?> testClass, String testName, int invocation) {
+        Mode mode = configuredMode();
+        if (mode == Mode.OFF) return new HarSession(Mode.OFF);
+        if (mode == Mode.REFRESH) mode = refreshDecision(playwright, appUrl);
+
+        String name = invocation < 0 ? testName : testName + "-" + invocation;
+        Path archive = directory().resolve(testClass.getSimpleName()).resolve(name + ".zip");
+        Path sidecar = directory().resolve(testClass.getSimpleName()).resolve(name + ".json");
+        long seed = (testClass.getName() + "#" + name).hashCode();
+
+        JSONObject recording = null;
+        try {
+            if (mode == Mode.RECORD) {
+                Files.createDirectories(archive.getParent());
+                LocalDate today = LocalDate.now();
+                recording = new JSONObject().put("today", today.toString()).put("seed", seed);
+
+                context.routeFromHAR(archive, new BrowserContext.RouteFromHAROptions()
+                        .setUpdate(true)
+                        .setUpdateContent(RouteFromHarUpdateContentPolicy.ATTACH)
+                        .setUpdateMode(HarMode.MINIMAL));
+                DateUtils.beginScenario(seed, today);
+            } else {
+                if (!Files.exists(archive) || !Files.exists(sidecar)) {
+                    throw new IllegalStateException("No HAR recorded for " + testClass.getSimpleName() + "#" + name
+                            + " under " + directory().toAbsolutePath() + ". Run once with -Dhar.mode=record.");
+                }
+                JSONObject meta = new JSONObject(new String(Files.readAllBytes(sidecar), StandardCharsets.UTF_8));
+                context.routeFromHAR(archive, new BrowserContext.RouteFromHAROptions()
+                        .setNotFound(HarNotFound.ABORT));
+                DateUtils.beginScenario(meta.getLong("seed"), LocalDate.parse(meta.getString("today")));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not prepare HAR " + archive + ": " + e.getMessage(), e);
+        }
+
+        System.out.println("[HAR] " + mode + " " + archive);
+        return new HarSession(mode, archive, sidecar, recording);
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Ends the test's date scenario and, for a recording, writes the sidecar next to the archive.
+     *
+     * @param contextClosed whether the context closed cleanly; only then has the HAR been written
+     */
+    public void finish(boolean contextClosed) {
+        if (mode == Mode.OFF) return;
+        DateUtils.endScenario();
+        if (meta == null) return;
+        if (!contextClosed || !Files.exists(archive)) {
+            System.out.println("[HAR] Recording of " + archive + " did not complete — sidecar not written");
+            return;
+        }
+        try {
+            Path tmp = sidecar.resolveSibling(sidecar.getFileName() + ".tmp");
+            Files.write(tmp, meta.toString(2).getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp, sidecar, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.out.println("[HAR] Could not write " + sidecar + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * In refresh mode, decides once per run whether to record (the app's home page changed)
+     * or replay (unchanged, or the app is unreachable).
+     */
+    private static synchronized Mode refreshDecision(Playwright playwright, String appUrl) {
+        if (refreshDecision != null) return refreshDecision;
+
+        Path fingerprintFile = directory().resolve(FINGERPRINT_FILE);
+        APIRequestContext request = playwright.request().newContext();
+        try {
+            APIResponse response = request.get(appUrl);
+            if (!response.ok()) {
+                throw new IllegalStateException("HTTP " + response.status());
+            }
+            String fingerprint = sha256(response.body());
+            String previous = Files.exists(fingerprintFile)
+                    ? new String(Files.readAllBytes(fingerprintFile), StandardCharsets.UTF_8).trim()
+                    : "";
+
+            if (fingerprint.equals(previous)) {
+                refreshDecision = Mode.REPLAY;
+            } else {
+                Files.createDirectories(fingerprintFile.getParent());
+                Files.write(fingerprintFile, fingerprint.getBytes(StandardCharsets.UTF_8));
+                refreshDecision = Mode.RECORD;
+            }
+            System.out.println("[HAR] App fingerprint " + (refreshDecision == Mode.RECORD ? "changed — re-recording" : "unchanged — replaying"));
+        } catch (Exception e) {
+            System.out.println("[HAR] Could not fingerprint " + appUrl + " (" + e.getMessage() + ") — replaying");
+            refreshDecision = Mode.REPLAY;
+        } finally {
+            request.dispose();
+        }
+        return refreshDecision;
+    }
+
+    private static String sha256(byte[] data) throws NoSuchAlgorithmException {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(data)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.automation.browser;
+
+import com.example.automation.utils.FrameworkConfig;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes how a browser is launched and how its contexts are sized.
+ *
+ * Resolved from the suite/test parameter {@code browser} first, then system properties:
+ *   browser   – chrome | msedge | chromium | firefox | webkit   (default: chromium)
+ *   headless  – true | false                                   (default: true)
+ *   viewport  – WIDTHxHEIGHT or "maximized"                    (default: 1366x768)
+ *   slowMo    – milliseconds between Playwright actions         (default: 0)
+ *
+ * Two profiles with the same {@link #key()} share a pooled browser.
+ */
+public class LaunchProfile {
+
+    public enum Engine { CHROMIUM, FIREFOX, WEBKIT }
+
+    private static final String DEFAULT_BROWSER  = "chromium";
+    private static final String DEFAULT_VIEWPORT = "1366x768";
+
+    private final String browserName;
+    private final Engine engine;
+    private final String channel;
+    private final boolean headless;
+    private final int viewportWidth;
+    private final int viewportHeight;
+    private final double slowMo;
+
+    private LaunchProfile(String browserName, Engine engine, String channel, boolean headless,
+                          int viewportWidth, int viewportHeight, double slowMo) {
+        this.browserName = browserName;
+        this.engine = engine;
+        this.channel = channel;
+        this.headless = headless;
+        this.viewportWidth = viewportWidth;
+        this.viewportHeight = viewportHeight;
+        this.slowMo = slowMo;
+    }
+
+    /**
+     * Builds a profile from TestNG parameters (usually {@code getCurrentXmlTest().getAllParameters()}),
+     * falling back to system properties and defaults for anything not set there.
+     */
+    public static LaunchProfile resolve(Map<String, String> parameters) {
+        String browser = parameters.get("browser");
+        if (browser == null || browser.trim().isEmpty()) {
+            browser = FrameworkConfig.getString("browser", DEFAULT_BROWSER);
+        }
+        browser = browser.trim().toLowerCase();
+
+        Engine engine;
+        String channel = null;
+        switch (browser) {
+            case "chrome":
+                engine = Engine.CHROMIUM;
+                channel = "chrome";
+                break;
+            case "edge":
+            case "msedge":
+                engine = Engine.CHROMIUM;
+                channel = "msedge";
+                break;
+            case "chromium":
+                engine = Engine.CHROMIUM;
+                break;
+            case "firefox":
+                engine = Engine.FIREFOX;
+                break;
+            case "webkit":
+            case "safari":
+                engine = Engine.WEBKIT;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported browser '" + browser
+                        + "'. Use chrome, msedge, chromium, firefox or webkit.");
+        }
+
+        boolean headless = FrameworkConfig.getBoolean("headless", true);
+        String viewport  = FrameworkConfig.getString("viewport", DEFAULT_VIEWPORT).toLowerCase();
+        int width = 0;
+        int height = 0;
+        if (!"maximized".equals(viewport)) {
+            String[] size = viewport.split("x");
+            if (size.length != 2) {
+                throw new IllegalArgumentException("viewport must be WIDTHxHEIGHT or 'maximized', got '" + viewport + "'");
+            }
+            width  = Integer.parseInt(size[0].trim());
+            height = Integer.parseInt(size[1].trim());
+        }
+        double slowMo = FrameworkConfig.getLong("slowMo", 0);
+
+        return new LaunchProfile(browser, engine, channel, headless, width, height, slowMo);
+    }
+
+    public Engine engine() {
+        return engine;
+    }
+
+    /** Installed browser channel ("chrome", "msedge"), or null for the engine's bundled build. */
+    public String channel() {
+        return channel;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public boolean isMaximized() {
+        return viewportWidth == 0;
+    }
+
+    /**
+     * Pool key — everything that affects the launched browser process.
+     */
+    public String key() {
+        return browserName + (headless ? "/headless" : "/headed") + (isMaximized() ? "/maximized" : "")
+                + (slowMo > 0 ? "/slowMo=" + (long) slowMo : "");
+    }
+
+    /** Human-readable summary for logs and the report, e.g. "chrome (headless, 1366x768)". */
+    public String describe() {
+        return browserName + " (" + (headless ? "headless" : "headed") + ", "
+                + (isMaximized() ? "maximized" : viewportWidth + "x" + viewportHeight)
+                + (slowMo > 0 ? ", slowMo " + (long) slowMo + " ms" : "") + ")";
+    }
+
+    public Browser launch(Playwright playwright) {
+        return browserType(playwright).launch(toLaunchOptions());
+    }
+
+    public BrowserType.LaunchOptions toLaunchOptions() {
+        BrowserType.LaunchOptions options = new BrowserType.LaunchOptions()
+                .setHeadless(headless)
+                .setSlowMo(slowMo);
+        if (channel != null) {
+            options.setChannel(channel);
+        }
+        if (engine == Engine.CHROMIUM) {
+            List<String> args = new ArrayList<>(Arrays.asList(
+                    "--disable-gpu",
+                    "--no-sandbox",
+                    "--disable-dev-shm-usage"));
+            if (isMaximized()) args.add("--start-maximized");
+            options.setArgs(args);
+        }
+        return options;
+    }
+
+    public Browser.NewContextOptions toContextOptions() {
+        Browser.NewContextOptions options = new Browser.NewContextOptions();
+        if (isMaximized()) {
+            // null viewport lets the page follow the (maximized) window size
+            options.setViewportSize(null);
+        } else {
+            options.setViewportSize(viewportWidth, viewportHeight);
+        }
+        return options;
+    }
+
+    private BrowserType browserType(Playwright playwright) {
+        switch (engine) {
+            case FIREFOX: return playwright.firefox();
+            case WEBKIT:  return playwright.webkit();
+            default:      return playwright.chromium();
+        }
+    }
+}
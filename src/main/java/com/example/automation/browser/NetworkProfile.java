@@ -0,0 +1,182 @@
+package com.example.automation.browser;
+
+import com.example.automation.utils.FrameworkConfig;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Named routing profile that keeps assets the tests never assert on from being downloaded.
+ *
+ * Profiles:
+ *   off    – nothing is blocked
+ *   lean   – images, media, fonts and analytics/tracking scripts (default)
+ *
+ * Selected with -Dnetwork.profile=NAME and extended with
+ *   network.block.types – extra resource types, e.g. "stylesheet,texttrack"
+ *   network.block.urls  – extra URL regexes, e.g. "cdn\\.example\\.com,/ads/"
+ *
+ * Only URLs that match the profile's combined regex are routed, so the browser does not
+ * round-trip to Java for the HTML, scripts and API calls the app actually needs. Other types
+ * (stylesheet, texttrack, script, ...) cannot be told from the URL — a stylesheet may be served
+ * from /css?family=... — so blocking one of them routes every request and filters on the
+ * browser's resource type. Names that are not Playwright resource types are rejected.
+ * Images are fulfilled with a 1×1 transparent GIF (keeps img onerror handlers quiet);
+ * everything else is aborted.
+ */
+public class NetworkProfile {
+
+    public static final String OFF  = "off";
+    public static final String LEAN = "lean";
+
+    private static final byte[] TRANSPARENT_GIF = Base64.getDecoder()
+            .decode("R0lGODlhAQABAIAAAAAAAP///yH5BAEAAAAALAAAAAABAAEAAAIBRAA7");
+
+    // Resource type → file extensions that identify it from the URL alone
+    private static final Map<String, String> EXTENSIONS = new HashMap<>();
+    static {
+        EXTENSIONS.put("image", "png|jpe?g|gif|webp|svg|ico|avif|bmp");
+        EXTENSIONS.put("media", "mp4|webm|ogg|mp3|wav|m4a");
+        EXTENSIONS.put("font",  "woff2?|ttf|otf|eot");
+    }
+
+    // Request.resourceType() values, as reported by the browser
+    private static final Set<String> RESOURCE_TYPES = new LinkedHashSet<>(Arrays.asList(
+            "document", "stylesheet", "image", "media", "font", "script", "texttrack",
+            "xhr", "fetch", "eventsource", "websocket", "manifest", "other"));
+
+    private static final List<String> ANALYTICS_URLS = Arrays.asList(
+            "google-analytics\\.com",
+            "googletagmanager\\.com",
+            "doubleclick\\.net",
+            "connect\\.facebook\\.net",
+            "hotjar\\.com",
+            "segment\\.(io|com)",
+            "clarity\\.ms");
+
+    private final String name;
+    private final Set<String> blockedTypes;
+    private final List<Pattern> blockedUrls;
+    private final Pattern routePattern;
+
+    private NetworkProfile(String name, Set<String> blockedTypes, List<String> blockedUrls) {
+        this.name = name;
+        this.blockedTypes = Collections.unmodifiableSet(blockedTypes);
+
+        List<Pattern> compiled = new ArrayList<>();
+        List<String> alternatives = new ArrayList<>();
+        for (String url : blockedUrls) {
+            compiled.add(Pattern.compile(url));
+            alternatives.add("(?:" + url + ")");
+        }
+        boolean routeEverything = false;
+        for (String type : blockedTypes) {
+            String ext = EXTENSIONS.get(type);
+            if (ext != null) alternatives.add("(?:\\.(?:" + ext + ")(?:[?#].*)?$)");
+            else routeEverything = true;
+        }
+        this.blockedUrls = compiled;
+        if (routeEverything) {
+            this.routePattern = Pattern.compile(".*");
+        } else {
+            this.routePattern = alternatives.isEmpty() ? null
+                    : Pattern.compile(String.join("|", alternatives), Pattern.CASE_INSENSITIVE);
+        }
+    }
+
+    /** The profile chosen by -Dnetwork.profile (default "lean"). */
+    public static NetworkProfile fromConfig() {
+        return named(FrameworkConfig.getString("network.profile", LEAN));
+    }
+
+    public static NetworkProfile named(String name) {
+        Set<String> types = new LinkedHashSet<>();
+        List<String> urls = new ArrayList<>();
+
+        switch (name.toLowerCase()) {
+            case OFF:
+                return new NetworkProfile(OFF, types, urls);
+            case LEAN:
+                types.addAll(Arrays.asList("image", "media", "font"));
+                urls.addAll(ANALYTICS_URLS);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown network profile '" + name + "'. Use off or lean.");
+        }
+
+        for (String type : FrameworkConfig.getString("network.block.types", "").split(",")) {
+            String resourceType = type.trim().toLowerCase();
+            if (resourceType.isEmpty()) continue;
+            if (!RESOURCE_TYPES.contains(resourceType)) {
+                throw new IllegalArgumentException("Unknown resource type '" + type.trim()
+                        + "' in network.block.types. Use any of " + RESOURCE_TYPES + ".");
+            }
+            types.add(resourceType);
+        }
+        for (String url : FrameworkConfig.getString("network.block.urls", "").split(",")) {
+            if (!url.trim().isEmpty()) urls.add(url.trim());
+        }
+        return new NetworkProfile(name.toLowerCase(), types, urls);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Installs the profile on a context and returns the counters it will fill.
+     * Must be called before the first page of the context navigates.
+     */
+    public NetworkStats install(BrowserContext context) {
+        NetworkStats stats = new NetworkStats();
+        if (routePattern == null) {
+            // Nothing blocked — still learn asset sizes so blocking tests can report savings
+            context.onResponse(response -> NetworkStats.rememberSize(
+                    response.url(), response.headerValue("content-length")));
+            return stats;
+        }
+
+        context.route(routePattern, route -> handle(route, stats));
+        return stats;
+    }
+
+    private void handle(Route route, NetworkStats stats) {
+        Request request = route.request();
+        String type = request.resourceType();
+
+        if (!blockedTypes.contains(type) && !matchesBlockedUrl(request.url())) {
+            // Matched by extension (or by the catch-all route) only, but the browser says it is
+            // something we keep (e.g. an XHR for foo.svg)
+            route.fallback();
+            return;
+        }
+
+        stats.recordBlocked(request.url(), type);
+        if ("image".equals(type)) {
+            route.fulfill(new Route.FulfillOptions()
+                    .setStatus(200)
+                    .setContentType("image/gif")
+                    .setBodyBytes(TRANSPARENT_GIF));
+        } else {
+            route.abort("blockedbyclient");
+        }
+    }
+
+    private boolean matchesBlockedUrl(String url) {
+        for (Pattern pattern : blockedUrls) {
+            if (pattern.matcher(url).find()) return true;
+        }
+        return false;
+    }
+}
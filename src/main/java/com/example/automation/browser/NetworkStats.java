@@ -0,0 +1,83 @@
+package com.example.automation.browser;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts what a network profile blocked in one BrowserContext.
+ *
+ * Aborted requests are never downloaded, so their size is only known when the same URL
+ * was downloaded earlier in the run (e.g. by a test that opted out of blocking) —
+ * {@link #bytesSaved()} counts those, {@link #unknownSize()} counts the rest.
+ */
+public class NetworkStats {
+
+    // Sizes seen in unblocked responses, shared across contexts — bounded so it cannot grow forever
+    private static final int MAX_KNOWN_SIZES = 10_000;
+    private static final Map<String, Long> knownSizes = new ConcurrentHashMap<>();
+
+    private static final AtomicLong suiteBlocked    = new AtomicLong();
+    private static final AtomicLong suiteBytesSaved = new AtomicLong();
+
+    private final Map<String, AtomicInteger> blockedByType = new ConcurrentHashMap<>();
+    private final AtomicInteger blocked     = new AtomicInteger();
+    private final AtomicLong    bytesSaved  = new AtomicLong();
+    private final AtomicInteger unknownSize = new AtomicInteger();
+
+    void recordBlocked(String url, String resourceType) {
+        blocked.incrementAndGet();
+        suiteBlocked.incrementAndGet();
+        blockedByType.computeIfAbsent(resourceType, t -> new AtomicInteger()).incrementAndGet();
+
+        Long size = knownSizes.get(url);
+        if (size != null) {
+            bytesSaved.addAndGet(size);
+            suiteBytesSaved.addAndGet(size);
+        } else {
+            unknownSize.incrementAndGet();
+        }
+    }
+
+    static void rememberSize(String url, String contentLength) {
+        if (contentLength == null || knownSizes.size() >= MAX_KNOWN_SIZES) return;
+        try {
+            knownSizes.put(url, Long.parseLong(contentLength.trim()));
+        } catch (NumberFormatException ignored) {
+            // chunked or malformed — size stays unknown
+        }
+    }
+
+    public int blocked() {
+        return blocked.get();
+    }
+
+    public long bytesSaved() {
+        return bytesSaved.get();
+    }
+
+    public int unknownSize() {
+        return unknownSize.get();
+    }
+
+    public Map<String, Integer> blockedByType() {
+        Map<String, Integer> copy = new TreeMap<>();
+        for (Map.Entry<String, AtomicInteger> e : blockedByType.entrySet()) {
+            copy.put(e.getKey(), e.getValue().get());
+        }
+        return copy;
+    }
+
+    public String summary() {
+        return "blocked " + blocked() + " requests " + blockedByType()
+                + ", saved " + bytesSaved() / 1024 + " KB"
+                + (unknownSize() > 0 ? " (+" + unknownSize() + " of unknown size)" : "");
+    }
+
+    /** Totals across every context in the run, for the report's system info. */
+    public static String suiteSummary() {
+        return "blocked " + suiteBlocked.get() + " requests, saved " + suiteBytesSaved.get() / 1024 + " KB (known sizes)";
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.automation.browser;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Launch-vs-context timing counters for the browser pool.
+ * Shows how much startup time the pool saves compared to launching a browser per test.
+ */
+public class PoolStats {
+
+    private final AtomicLong launches     = new AtomicLong();
+    private final AtomicLong launchNanos  = new AtomicLong();
+    private final AtomicLong contexts     = new AtomicLong();
+    private final AtomicLong contextNanos = new AtomicLong();
+    private final AtomicLong recycled     = new AtomicLong();
+    private final AtomicLong crashes      = new AtomicLong();
+    private final AtomicLong orphans      = new AtomicLong();
+
+    void recordLaunch(long nanos) {
+        launches.incrementAndGet();
+        launchNanos.addAndGet(nanos);
+    }
+
+    void recordContext(long nanos) {
+        contexts.incrementAndGet();
+        contextNanos.addAndGet(nanos);
+    }
+
+    void recordRecycle(boolean crashed) {
+        recycled.incrementAndGet();
+        if (crashed) crashes.incrementAndGet();
+    }
+
+    void recordOrphan() {
+        orphans.incrementAndGet();
+    }
+
+    public long launches() {
+        return launches.get();
+    }
+
+    public long contexts() {
+        return contexts.get();
+    }
+
+    public double averageLaunchMillis() {
+        return average(launchNanos.get(), launches.get());
+    }
+
+    public double averageContextMillis() {
+        return average(contextNanos.get(), contexts.get());
+    }
+
+    /**
+     * Time a browser-per-test setup would have spent launching, minus what the pool actually spent.
+     */
+    public double estimatedSavingMillis() {
+        long avoidedLaunches = contexts.get() - launches.get();
+        return Math.max(0, avoidedLaunches) * averageLaunchMillis();
+    }
+
+    public String summary() {
+        return String.format(
+                "launches=%d (avg %.0f ms), contexts=%d (avg %.0f ms), recycled=%d (crashed=%d), closed after their thread ended=%d, est. saving=%.1f s",
+                launches(), averageLaunchMillis(), contexts(), averageContextMillis(),
+                recycled.get(), crashes.get(), orphans.get(), estimatedSavingMillis() / 1000.0);
+    }
+
+    private static double average(long totalNanos, long count) {
+        return count == 0 ? 0 : (totalNanos / 1_000_000.0) / count;
+    }
+}
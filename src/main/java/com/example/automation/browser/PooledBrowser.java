@@ -0,0 +1,84 @@
+package com.example.automation.browser;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Playwright;
+
+/**
+ * One Playwright driver + one launched Browser, owned by a single worker thread.
+ * Tests never see this object directly — they only get a fresh BrowserContext from it.
+ */
+public class PooledBrowser {
+
+    private final String key;
+    private final Playwright playwright;
+    private final Browser browser;
+    private final long launchNanos;
+    private final Thread owner;
+
+    private int contextsServed;
+    private volatile boolean crashed;
+
+    PooledBrowser(String key, Playwright playwright, Browser browser, long launchNanos) {
+        this.key = key;
+        this.playwright = playwright;
+        this.browser = browser;
+        this.launchNanos = launchNanos;
+        this.owner = Thread.currentThread();
+        // Fires when the browser process dies or the pipe breaks — the entry is recycled on next acquire
+        this.browser.onDisconnected(b -> crashed = true);
+    }
+
+    public Playwright playwright() {
+        return playwright;
+    }
+
+    public Browser browser() {
+        return browser;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public long launchNanos() {
+        return launchNanos;
+    }
+
+    public int contextsServed() {
+        return contextsServed;
+    }
+
+    /**
+     * Creates a new isolated context on the pooled browser and records how long it took.
+     */
+    public BrowserContext newContext(Browser.NewContextOptions options) {
+        long start = System.nanoTime();
+        BrowserContext context = browser.newContext(options);
+        contextsServed++;
+        BrowserPool.stats().recordContext(System.nanoTime() - start);
+        return context;
+    }
+
+    boolean isHealthy() {
+        return !crashed && browser.isConnected();
+    }
+
+    /** False once the thread that launched it has ended, e.g. a finished data-provider pool's thread. */
+    boolean isOwnerAlive() {
+        return owner.isAlive();
+    }
+
+    Thread owner() {
+        return owner;
+    }
+
+    boolean isCrashed() {
+        return crashed;
+    }
+
+    void close() {
+        // playwright.close() disposes browser + contexts + pages in the right order
+        try { playwright.close(); } catch (Exception ignored) {}
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.automation.browser;
+
+import com.microsoft.playwright.Page;
+
+/**
+ * A named piece of test setup whose result can be snapshotted and shared between tests
+ * (see {@link PreconditionCache} and {@link UsePrecondition}).
+ *
+ * Implementations need a public no-argument constructor. Only what a BrowserContext's
+ * storageState holds (cookies, localStorage) and the URL the page ends on are restored;
+ * setup that lives in page memory or sessionStorage has to be repeated by the test.
+ */
+public interface Precondition {
+
+    /** Snapshot name, also its file name; e.g. "home-page". */
+    String name();
+
+    /** Bump when the setup changes, so existing snapshots are no longer used. */
+    default String version() {
+        return "1";
+    }
+
+    /** Runs the setup on a fresh page. The page's final URL becomes the landing URL. */
+    void establish(Page page);
+
+    /** Waits until a page restored at the landing URL is usable, e.g. for its header. */
+    default void awaitReady(Page page) {
+    }
+}
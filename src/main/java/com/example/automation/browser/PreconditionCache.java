@@ -0,0 +1,205 @@
+package com.example.automation.browser;
+
+import com.example.automation.utils.FrameworkConfig;
+import com.example.automation.utils.urlHelper;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitUntilState;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs each {@link Precondition} once and lets later tests start from its result.
+ *
+ * The setup runs on a throwaway context; its storageState (cookies, localStorage) and the
+ * URL it ended on are kept in memory and in &lt;precondition.dir&gt;/&lt;name&gt;.json. A test that
+ * declares the precondition gets a new context created with that storageState and a page
+ * opened at the landing URL. Concurrent tests wanting the same snapshot wait for the one
+ * setup instead of running it again.
+ *
+ * A snapshot is used only while it is younger than precondition.ttlMinutes and its version
+ * key matches: the precondition's own version(), -Dprecondition.version (e.g. the app build)
+ * and the app's base URL. Otherwise the setup runs again.
+ *
+ * Settings (system property or env var):
+ *   precondition.cache      – share snapshots; false runs the setup in every test (default true)
+ *   precondition.ttlMinutes – snapshot lifetime (default 30)
+ *   precondition.version    – extra version key, e.g. the deployed build
+ *   precondition.dir        – snapshot files (default target/preconditions)
+ */
+public class PreconditionCache {
+
+    private PreconditionCache() { /* utility class — no instances */ }
+
+    private static final boolean ENABLED = FrameworkConfig.getBoolean("precondition.cache", true);
+    private static final long TTL_MILLIS = FrameworkConfig.getLong("precondition.ttlMinutes", 30) * 60_000;
+    private static final String VERSION = FrameworkConfig.getString("precondition.version", "");
+    private static final Path DIR = Paths.get(FrameworkConfig.getString("precondition.dir", "target/preconditions"));
+
+    private static final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private static final LongAdder setups = new LongAdder();
+    private static final LongAdder setupNanos = new LongAdder();
+    private static final LongAdder restores = new LongAdder();
+    private static final LongAdder restoreNanos = new LongAdder();
+
+    /** The saved result of one precondition. */
+    public static class Snapshot {
+        private final String name;
+        private final String versionKey;
+        private final long createdAt;
+        private final String landingUrl;
+        private final String storageState;
+
+        Snapshot(String name, String versionKey, long createdAt, String landingUrl, String storageState) {
+            this.name = name;
+            this.versionKey = versionKey;
+            this.createdAt = createdAt;
+            this.landingUrl = landingUrl;
+            this.storageState = storageState;
+        }
+
+        public String landingUrl() {
+            return landingUrl;
+        }
+
+        public String storageState() {
+            return storageState;
+        }
+
+        boolean isUsable(String currentVersionKey) {
+            return versionKey.equals(currentVersionKey) && System.currentTimeMillis() - createdAt < TTL_MILLIS;
+        }
+
+        JSONObject toJson() {
+            return new JSONObject().put("name", name).put("version", versionKey).put("createdAt", createdAt)
+                    .put("landingUrl", landingUrl).put("storageState", new JSONObject(storageState));
+        }
+
+        static Snapshot fromJson(JSONObject json) {
+            return new Snapshot(json.getString("name"), json.getString("version"), json.getLong("createdAt"),
+                    json.getString("landingUrl"), json.getJSONObject("storageState").toString());
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static Precondition instantiate(Class<? extends Precondition> type) {
+        try {
+            return type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Precondition " + type.getSimpleName()
+                    + " needs a public no-argument constructor", e);
+        }
+    }
+
+    /**
+     * The current snapshot of the precondition, running its setup on a context from
+     * setupContext first when there is no usable one (in memory or on disk).
+     */
+    public static Snapshot snapshot(Precondition precondition, Supplier<BrowserContext> setupContext) {
+        String versionKey = versionKey(precondition);
+        Snapshot current = snapshots.get(precondition.name());
+        if (current != null && current.isUsable(versionKey)) return current;
+
+        synchronized (locks.computeIfAbsent(precondition.name(), n -> new Object())) {
+            current = snapshots.get(precondition.name());
+            if (current == null || !current.isUsable(versionKey)) current = readFile(precondition.name());
+            if (current == null || !current.isUsable(versionKey)) {
+                current = establish(precondition, versionKey, setupContext);
+                writeFile(current);
+            }
+            snapshots.put(precondition.name(), current);
+            return current;
+        }
+    }
+
+    /** Context options for a test that starts from the snapshot. */
+    public static Browser.NewContextOptions applyTo(Browser.NewContextOptions options, Snapshot snapshot) {
+        return options.setStorageState(snapshot.storageState());
+    }
+
+    /** Opens the landing URL on a page of a context created with {@link #applyTo}. */
+    public static void restore(Page page, Precondition precondition, Snapshot snapshot) {
+        long start = System.nanoTime();
+        page.navigate(snapshot.landingUrl(), new Page.NavigateOptions().setWaitUntil(WaitUntilState.DOMCONTENTLOADED));
+        precondition.awaitReady(page);
+        restoreNanos.add(System.nanoTime() - start);
+        restores.increment();
+    }
+
+    private static Snapshot establish(Precondition precondition, String versionKey, Supplier<BrowserContext> setupContext) {
+        long start = System.nanoTime();
+        BrowserContext context = setupContext.get();
+        try {
+            Page page = context.newPage();
+            precondition.establish(page);
+            Snapshot snapshot = new Snapshot(precondition.name(), versionKey, System.currentTimeMillis(),
+                    page.url(), context.storageState());
+            setupNanos.add(System.nanoTime() - start);
+            setups.increment();
+            System.out.println(String.format("[Precondition] %s set up in %.0f ms, landing on %s",
+                    precondition.name(), (System.nanoTime() - start) / 1_000_000.0, snapshot.landingUrl()));
+            return snapshot;
+        } finally {
+            try { context.close(); } catch (RuntimeException ignored) {}
+        }
+    }
+
+    private static String versionKey(Precondition precondition) {
+        return precondition.version() + "|" + VERSION + "|" + urlHelper.baseUrl();
+    }
+
+    private static Snapshot readFile(String name) {
+        Path file = DIR.resolve(name + ".json");
+        if (!Files.exists(file)) return null;
+        try {
+            return Snapshot.fromJson(new JSONObject(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)));
+        } catch (IOException | JSONException e) {
+            System.out.println("[Precondition] Ignoring unreadable " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeFile(Snapshot snapshot) {
+        try {
+            Files.createDirectories(DIR);
+            Path file = DIR.resolve(snapshot.name + ".json");
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tmp, snapshot.toJson().toString(2).getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.out.println("[Precondition] Could not save " + snapshot.name + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Setups run vs. tests restored, each with its average time, for the report's system info.
+     * A precondition only pays off while its restore average stays well below its setup average.
+     */
+    public static String summary() {
+        if (!ENABLED) return "off";
+        return String.format("%d setups (%.0f ms avg), %d restores (%.0f ms avg), ttl %d min",
+                setups.sum(), averageMillis(setupNanos, setups), restores.sum(), averageMillis(restoreNanos, restores),
+                TTL_MILLIS / 60_000);
+    }
+
+    private static double averageMillis(LongAdder nanos, LongAdder count) {
+        long n = count.sum();
+        return n == 0 ? 0 : nanos.sum() / 1_000_000.0 / n;
+    }
+}
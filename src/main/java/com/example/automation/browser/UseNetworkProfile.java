@@ -0,0 +1,16 @@
+package com.example.automation.browser;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the suite-wide network profile for one test method or a whole test class,
+ * e.g. {@code @UseNetworkProfile("off")} for visual checks that need images and fonts.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface UseNetworkProfile {
+    String value();
+}
@@ -0,0 +1,16 @@
+package com.example.automation.browser;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Starts a test method (or every test of a class) from the snapshot of a {@link Precondition}
+ * instead of an empty context, e.g. {@code @UsePrecondition(AdminLoggedIn.class)}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface UsePrecondition {
+    Class<? extends Precondition> value();
+}
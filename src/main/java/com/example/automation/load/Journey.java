@@ -0,0 +1,109 @@
+package com.example.automation.load;
+
+import com.example.automation.api.BookingRegistry;
+import com.example.automation.pages.GuestDetails;
+import com.example.automation.pages.HomePage;
+import com.example.automation.pages.ReservationPage;
+import com.example.automation.utils.DateUtils;
+import com.example.automation.utils.StayWindow;
+import com.example.automation.utils.TestConstants;
+import com.example.automation.utils.urlHelper;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The user journeys the load generator mixes, built from the same page objects as the tests.
+ * Each step is timed through {@link VirtualUser#step(String, Runnable)}; a journey that
+ * throws counts as an error.
+ */
+public enum Journey {
+
+    /** Home page, enter dates, check availability. */
+    SEARCH {
+        @Override
+        void run(VirtualUser user) {
+            LocalDate checkIn = DateUtils.getRandomFutureDate();
+            search(user, checkIn, checkIn.plusDays(user.config().nights()));
+        }
+    },
+
+    /** Search, pick a room, move the calendar and submit a valid booking. */
+    BOOKING {
+        @Override
+        void run(VirtualUser user) {
+            String room = randomRoom();
+            StayWindow stay = DateUtils.allocateStay(room, user.config().nights());
+            HomePage homePage = search(user, stay.getCheckIn(), stay.getCheckOut());
+            ReservationPage reservationPage = user.pageObject(ReservationPage.class);
+
+            user.step("home.bookNow", () -> {
+                homePage.clickBookNowForRoom(room);
+                reservationPage.waitForReservationPageToLoad();
+            });
+            user.step("reservation.calendar", () -> reservationPage.navigateCalendarToMonth(stay.getCheckIn()));
+            GuestDetails guest = GuestDetails.defaultGuest();
+            user.step("reservation.submit", () -> reservationPage.clickReserveButton()
+                    .submitGuestDetails(guest));
+            user.step("reservation.confirm", () -> {
+                String message = reservationPage.getBookingConfirmationMessage();
+                if (!TestConstants.BOOKING_CONFIRMED_MESSAGE.equals(message)) {
+                    throw new IllegalStateException("Unexpected confirmation '" + message + "'");
+                }
+            });
+            // Confirmed, so it is ours to delete when the run ends
+            BookingRegistry.registerUiBooking(roomId(room), guest, stay);
+        }
+    },
+
+    /** Open a reservation directly and submit the empty guest form. */
+    VALIDATION {
+        @Override
+        void run(VirtualUser user) {
+            LocalDate checkIn = DateUtils.getRandomFutureDate();
+            ReservationPage reservationPage = user.pageObject(ReservationPage.class);
+
+            user.step("reservation.open", () -> reservationPage.openDirect(randomRoom(), checkIn,
+                    checkIn.plusDays(user.config().nights())));
+            user.step("reservation.submitEmpty", () -> reservationPage.clickReserveButton().clickReserveNow());
+            user.step("reservation.alerts", () -> {
+                if (reservationPage.getAllAlertMessages().isEmpty()) {
+                    throw new IllegalStateException("No validation alerts shown");
+                }
+            });
+        }
+    };
+
+    abstract void run(VirtualUser user);
+
+    public String label() {
+        return name().toLowerCase();
+    }
+
+    private static HomePage search(VirtualUser user, LocalDate checkIn, LocalDate checkOut) {
+        DateTimeFormatter format = DateTimeFormatter.ofPattern(TestConstants.DATE_FORMAT);
+        HomePage homePage = user.pageObject(HomePage.class);
+
+        user.step("home.open", () -> homePage.navigate(urlHelper.homePageUrl()));
+        user.step("home.enterDates", () -> homePage.enterCheckInDate(checkIn.format(format))
+                .enterCheckOutDate(checkOut.format(format)));
+        user.step("home.search", () -> {
+            if (homePage.clickCheckAvailability().getAvailableRooms().isEmpty()) {
+                throw new IllegalStateException("No rooms listed");
+            }
+        });
+        return homePage;
+    }
+
+    private static int roomId(String room) {
+        if (TestConstants.ROOM_SINGLE.equals(room)) return TestConstants.ROOM_SINGLE_ID;
+        if (TestConstants.ROOM_DOUBLE.equals(room)) return TestConstants.ROOM_DOUBLE_ID;
+        return TestConstants.ROOM_SUITE_ID;
+    }
+
+    private static String randomRoom() {
+        String[] rooms = {TestConstants.ROOM_SINGLE, TestConstants.ROOM_DOUBLE, TestConstants.ROOM_SUITE};
+        return rooms[ThreadLocalRandom.current().nextInt(rooms.length)];
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.automation.load;
+
+import com.example.automation.utils.FrameworkConfig;
+import com.example.automation.utils.urlHelper;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load-run settings, read through FrameworkConfig (system property or env var):
+ *
+ *   load.users           – concurrent virtual users, one browser context each  (default 8)
+ *   load.browsers        – browser processes the users are spread across        (default 2)
+ *   load.rampUpSeconds   – users are started evenly over this period            (default 10)
+ *   load.durationSeconds – how long journeys are started for, ramp-up included  (default 60)
+ *   load.mix             – journey weights, e.g. search:50,booking:30,validation:20
+ *   load.thinkTimeMs     – pause between a user's journeys                       (default 0)
+ *   load.nights          – stay length used by the journeys                      (default 1)
+ *   load.cdpBasePort     – first remote-debugging port for shared chromium       (default 9222)
+ *   load.reportDir       – where load-report.json is written                     (default target/load)
+ *   load.allowLive       – allow a run against the public live site              (default false)
+ *
+ * The target is app.target as for the tests, but defaults to the stand-in: only
+ * -Dapp.target=live or an -Dapp.baseUrl points a load run at a real deployment.
+ */
+public class LoadConfig {
+
+    private static final String DEFAULT_MIX = "search:50,booking:30,validation:20";
+
+    private final int users          = FrameworkConfig.getInt("load.users", 8);
+    private final int browsers       = FrameworkConfig.getInt("load.browsers", 2);
+    private final int rampUpSeconds  = FrameworkConfig.getInt("load.rampUpSeconds", 10);
+    private final int durationSeconds = FrameworkConfig.getInt("load.durationSeconds", 60);
+    private final long thinkTimeMs   = FrameworkConfig.getLong("load.thinkTimeMs", 0);
+    private final int nights         = FrameworkConfig.getInt("load.nights", 1);
+    private final int cdpBasePort    = FrameworkConfig.getInt("load.cdpBasePort", 9222);
+    private final String reportDir   = FrameworkConfig.getString("load.reportDir", "target/load");
+    private final Map<Journey, Integer> mix = parseMix(FrameworkConfig.getString("load.mix", DEFAULT_MIX));
+    private final boolean allowLive  = FrameworkConfig.getBoolean("load.allowLive", false);
+    private final String target      = FrameworkConfig.getString("app.target",
+            FrameworkConfig.getString("app.baseUrl", null) != null ? "live" : "stand-in");
+    private final int totalWeight;
+
+    public LoadConfig() {
+        if (users < 1 || browsers < 1) {
+            throw new IllegalArgumentException("load.users and load.browsers must be at least 1");
+        }
+        int sum = 0;
+        for (int weight : mix.values()) sum += weight;
+        if (sum <= 0) throw new IllegalArgumentException("load.mix needs at least one positive weight");
+        totalWeight = sum;
+    }
+
+    /** Picks the next journey according to the configured weights. */
+    public Journey nextJourney() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Journey, Integer> e : mix.entrySet()) {
+            roll -= e.getValue();
+            if (roll < 0) return e.getKey();
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    private static Map<Journey, Integer> parseMix(String spec) {
+        Map<Journey, Integer> result = new EnumMap<>(Journey.class);
+        for (String part : spec.split(",")) {
+            if (part.trim().isEmpty()) continue;
+            String[] pair = part.split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("load.mix entries must be journey:weight, got '" + part + "'");
+            }
+            Journey journey;
+            try {
+                journey = Journey.valueOf(pair[0].trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown journey '" + pair[0].trim()
+                        + "'. Use search, booking or validation.");
+            }
+            result.put(journey, Integer.parseInt(pair[1].trim()));
+        }
+        return result;
+    }
+
+    public int users() {
+        return users;
+    }
+
+    /** Never more browsers than users. */
+    public int browsers() {
+        return Math.min(browsers, users);
+    }
+
+    public int rampUpSeconds() {
+        return rampUpSeconds;
+    }
+
+    public int durationSeconds() {
+        return durationSeconds;
+    }
+
+    public long thinkTimeMs() {
+        return thinkTimeMs;
+    }
+
+    public int nights() {
+        return nights;
+    }
+
+    public int cdpBasePort() {
+        return cdpBasePort;
+    }
+
+    public String reportDir() {
+        return reportDir;
+    }
+
+    public Map<Journey, Integer> mix() {
+        return mix;
+    }
+
+    public boolean useStandIn() {
+        return "stand-in".equalsIgnoreCase(target);
+    }
+
+    /**
+     * Refuses to load the public live site, which is shared and keeps every booking, unless
+     * load.allowLive is set.
+     */
+    public void checkTarget(String baseUrl) {
+        if (!useStandIn() && !allowLive && baseUrl.equals(urlHelper.LIVE_BASE_URL)) {
+            throw new IllegalStateException("Refusing to run load against the public site " + baseUrl
+                    + ". Use the default stand-in, point -Dapp.baseUrl at your own deployment,"
+                    + " or pass -Dload.allowLive=true.");
+        }
+    }
+
+    public String describe() {
+        return users() + " users on " + browsers() + " browser(s), " + durationSeconds + " s (ramp-up "
+                + rampUpSeconds + " s), mix " + mix;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.automation.load;
+
+import com.example.automation.api.BookingApiClient;
+import com.example.automation.api.BookingRegistry;
+import com.example.automation.browser.LaunchProfile;
+import com.example.automation.metrics.PagePerformance;
+import com.example.automation.standin.StandInServer;
+import com.example.automation.utils.FrameworkConfig;
+import com.example.automation.utils.urlHelper;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives many concurrent booking journeys through the page objects from a single JVM,
+ * to size the app (staging, or the embedded stand-in) before a release.
+ *
+ *   mvn -q compile exec:java -Dexec.mainClass=com.example.automation.load.LoadGenerator \
+ *       -Dapp.target=stand-in -Dload.users=20 -Dload.browsers=4 -Dload.durationSeconds=120
+ *
+ * Target: the stand-in, started in-process, unless -Dapp.target=live or -Dapp.baseUrl is given;
+ * then urlHelper's base URL is used, and the public live site only with -Dload.allowLive=true.
+ * Bookings the run made are deleted through BookingRegistry afterwards (-Dapi.cleanup=false
+ * keeps them). Browser settings come from
+ * LaunchProfile (-Dbrowser, -Dheadless, -Dviewport). See LoadConfig for the load.* settings.
+ * Front-end performance capture (PagePerformance) is off in load runs; the journeys' own
+ * step timings are what the report is built from.
+ *
+ * With chromium, load.browsers processes are started with a remote-debugging port and every
+ * user connects its own driver to one of them, so N contexts share M browsers. Other engines
+ * cannot be shared across drivers; there every user launches its own browser.
+ */
+public class LoadGenerator {
+
+    private static final long SHUTDOWN_GRACE_SECONDS = 120;
+
+    private LoadGenerator() { /* utility class — no instances */ }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadConfig config = new LoadConfig();
+        PagePerformance.disable();
+        LaunchProfile profile = LaunchProfile.resolve(Collections.<String, String>emptyMap());
+        LoadReport report = new LoadReport();
+
+        StandInServer standIn = null;
+        if (config.useStandIn()) {
+            standIn = new StandInServer(FrameworkConfig.getInt("stand-in.port", 0)).start();
+            urlHelper.useBaseUrl(standIn.baseUrl());
+        }
+        config.checkTarget(urlHelper.baseUrl());
+
+        Playwright launcher = null;
+        List<String> endpoints = new ArrayList<>();
+        try {
+            if (profile.engine() == LaunchProfile.Engine.CHROMIUM) {
+                launcher = Playwright.create();
+                for (int i = 0; i < config.browsers(); i++) {
+                    int port = config.cdpBasePort() + i;
+                    launcher.chromium().launch(withDebuggingPort(profile.toLaunchOptions(), port));
+                    endpoints.add("http://127.0.0.1:" + port);
+                }
+            } else {
+                System.out.println("[Load] " + profile.describe() + " cannot be shared over CDP — each user launches its own browser");
+            }
+
+            System.out.println("[Load] Starting " + config.describe() + " against " + urlHelper.baseUrl());
+            runUsers(config, report, profile, endpoints);
+        } finally {
+            // The stand-in's bookings go with it
+            if (standIn == null) deleteCreatedBookings();
+            if (launcher != null) launcher.close();
+            if (standIn != null) standIn.stop();
+        }
+
+        report.print(config);
+        Path file = report.writeJson(config);
+        System.out.println("[Load] Report written to " + file.toAbsolutePath());
+    }
+
+    private static void runUsers(LoadConfig config, LoadReport report, LaunchProfile profile,
+                                 List<String> endpoints) throws InterruptedException {
+        long begin = System.nanoTime();
+        long rampStepNanos = config.users() > 1
+                ? TimeUnit.SECONDS.toNanos(config.rampUpSeconds()) / (config.users() - 1) : 0;
+        long deadline = begin + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+
+        List<Thread> threads = new ArrayList<>();
+        report.start();
+        for (int i = 0; i < config.users(); i++) {
+            String endpoint = endpoints.isEmpty() ? null : endpoints.get(i % endpoints.size());
+            VirtualUser user = new VirtualUser(i, config, report, profile, endpoint, begin + i * rampStepNanos, deadline);
+            Thread thread = new Thread(user, "load-user-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+
+        // Journeys already running at the deadline are allowed to finish
+        long joinBy = deadline + TimeUnit.SECONDS.toNanos(SHUTDOWN_GRACE_SECONDS);
+        for (Thread thread : threads) {
+            thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(joinBy - System.nanoTime())));
+            if (thread.isAlive()) {
+                System.err.println("[Load] " + thread.getName() + " did not finish in time — interrupting");
+                thread.interrupt();
+            }
+        }
+        report.finish();
+    }
+
+    private static void deleteCreatedBookings() {
+        if (BookingRegistry.isEmpty() || !FrameworkConfig.getBoolean("api.cleanup", true)) return;
+        try (Playwright cleanupDriver = Playwright.create();
+             BookingApiClient client = new BookingApiClient(cleanupDriver)) {
+            BookingRegistry.cleanUp(client);
+        } catch (RuntimeException e) {
+            System.err.println("[Cleanup] Skipped: " + e.getMessage());
+        }
+    }
+
+    private static BrowserType.LaunchOptions withDebuggingPort(BrowserType.LaunchOptions options, int port) {
+        List<String> launchArgs = options.args != null ? new ArrayList<>(options.args) : new ArrayList<>();
+        launchArgs.add("--remote-debugging-port=" + port);
+        return options.setArgs(launchArgs);
+    }
+}
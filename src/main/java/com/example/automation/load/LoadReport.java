@@ -0,0 +1,157 @@
+package com.example.automation.load;
+
+import com.example.automation.metrics.LatencyHistogram;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects what the virtual users measured: a latency histogram per step and per journey,
+ * journey and error counts. All recording is lock-free; the summary is printed and written
+ * to load-report.json once the run is over.
+ */
+public class LoadReport {
+
+    private final Map<String, LatencyHistogram> steps    = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyHistogram> journeys = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> journeyErrors   = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errorMessages   = new ConcurrentHashMap<>();
+
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    void start() {
+        startNanos = System.nanoTime();
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    void recordStep(String step, long nanos) {
+        steps.computeIfAbsent(step, s -> new LatencyHistogram()).record(nanos);
+    }
+
+    void recordJourney(Journey journey, long nanos, Throwable error) {
+        journeys.computeIfAbsent(journey.label(), s -> new LatencyHistogram()).record(nanos);
+        if (error != null) {
+            journeyErrors.computeIfAbsent(journey.label(), s -> new LongAdder()).increment();
+            errorMessages.computeIfAbsent(journey.label() + ": " + firstLine(error), s -> new LongAdder()).increment();
+        }
+    }
+
+    private double elapsedSeconds() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return Math.max(1e-9, (end - startNanos) / 1e9);
+    }
+
+    private long errors(String journey) {
+        LongAdder adder = journeyErrors.get(journey);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    // ---------- output ----------
+
+    public void print(LoadConfig config) {
+        double seconds = elapsedSeconds();
+        long total = 0;
+        long failed = 0;
+
+        System.out.println("[Load] " + config.describe());
+        System.out.println(String.format("[Load] %-24s %7s %7s %7s %8s %8s %8s %8s %8s",
+                "journey / step", "count", "errors", "err%", "per s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Map.Entry<String, LatencyHistogram> e : journeys.entrySet()) {
+            LatencyHistogram h = e.getValue();
+            long errors = errors(e.getKey());
+            total += h.count();
+            failed += errors;
+            System.out.println(String.format("[Load] %-24s %7d %7d %6.1f%% %8.2f %8.0f %8.0f %8.0f %8.0f",
+                    e.getKey(), h.count(), errors, percent(errors, h.count()), h.count() / seconds,
+                    h.percentileMillis(50), h.percentileMillis(95), h.percentileMillis(99), h.maxMillis()));
+        }
+        for (Map.Entry<String, LatencyHistogram> e : steps.entrySet()) {
+            LatencyHistogram h = e.getValue();
+            System.out.println(String.format("[Load]   %-22s %7d %7s %7s %8.2f %8.0f %8.0f %8.0f %8.0f",
+                    e.getKey(), h.count(), "", "", h.count() / seconds,
+                    h.percentileMillis(50), h.percentileMillis(95), h.percentileMillis(99), h.maxMillis()));
+        }
+        System.out.println(String.format("[Load] Total: %d journeys in %.1f s — %.2f journeys/s, %.1f%% errors",
+                total, seconds, total / seconds, percent(failed, total)));
+        for (Map.Entry<String, Long> e : sortedErrors().entrySet()) {
+            System.out.println("[Load] Error x" + e.getValue() + " — " + e.getKey());
+        }
+    }
+
+    public Path writeJson(LoadConfig config) throws IOException {
+        double seconds = elapsedSeconds();
+        JSONObject root = new JSONObject();
+        root.put("users", config.users());
+        root.put("browsers", config.browsers());
+        root.put("durationSeconds", seconds);
+        root.put("mix", config.mix());
+
+        JSONObject journeyJson = new JSONObject();
+        for (Map.Entry<String, LatencyHistogram> e : journeys.entrySet()) {
+            JSONObject json = toJson(e.getValue(), seconds);
+            long errors = errors(e.getKey());
+            json.put("errors", errors);
+            json.put("errorRate", e.getValue().count() == 0 ? 0 : (double) errors / e.getValue().count());
+            journeyJson.put(e.getKey(), json);
+        }
+        root.put("journeys", journeyJson);
+
+        JSONObject stepJson = new JSONObject();
+        for (Map.Entry<String, LatencyHistogram> e : steps.entrySet()) {
+            stepJson.put(e.getKey(), toJson(e.getValue(), seconds));
+        }
+        root.put("steps", stepJson);
+        root.put("errors", sortedErrors());
+
+        Path dir = Paths.get(config.reportDir());
+        Files.createDirectories(dir);
+        Path file = dir.resolve("load-report.json");
+        Files.write(file, root.toString(2).getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static JSONObject toJson(LatencyHistogram h, double seconds) {
+        JSONObject json = new JSONObject();
+        json.put("count", h.count());
+        json.put("perSecond", h.count() / seconds);
+        json.put("meanMs", h.meanMillis());
+        json.put("p50Ms", h.percentileMillis(50));
+        json.put("p90Ms", h.percentileMillis(90));
+        json.put("p95Ms", h.percentileMillis(95));
+        json.put("p99Ms", h.percentileMillis(99));
+        json.put("maxMs", h.maxMillis());
+        return json;
+    }
+
+    private Map<String, Long> sortedErrors() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> e : errorMessages.entrySet()) {
+            result.put(e.getKey(), e.getValue().sum());
+        }
+        return result;
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0 : part * 100.0 / whole;
+    }
+
+    private static String firstLine(Throwable error) {
+        String message = error.getMessage();
+        if (message == null) return error.getClass().getSimpleName();
+        int newline = message.indexOf('\n');
+        return error.getClass().getSimpleName() + ": " + (newline < 0 ? message : message.substring(0, newline)).trim();
+    }
+}
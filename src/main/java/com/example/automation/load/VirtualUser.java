@@ -0,0 +1,123 @@
+package com.example.automation.load;
+
+import com.example.automation.browser.LaunchProfile;
+import com.example.automation.metrics.StepMetrics;
+import com.example.automation.utils.BasePage;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One simulated user: a thread with its own Playwright driver that keeps running journeys,
+ * each in a fresh BrowserContext, until the run's deadline.
+ *
+ * Playwright objects may only be used by the thread that created them, so a user either
+ * connects its own driver to a shared chromium over CDP (cdpEndpoint set) or launches a
+ * browser of its own.
+ */
+class VirtualUser implements Runnable {
+
+    private final int id;
+    private final LoadConfig config;
+    private final LoadReport report;
+    private final LaunchProfile profile;
+    private final String cdpEndpoint;
+    private final long startAtNanos;
+    private final long deadlineNanos;
+
+    private final Map<Class<?>, BasePage> pageObjects = new HashMap<>();
+    private Page page;
+
+    VirtualUser(int id, LoadConfig config, LoadReport report, LaunchProfile profile,
+                String cdpEndpoint, long startAtNanos, long deadlineNanos) {
+        this.id = id;
+        this.config = config;
+        this.report = report;
+        this.profile = profile;
+        this.cdpEndpoint = cdpEndpoint;
+        this.startAtNanos = startAtNanos;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+        if (!sleepUntil(startAtNanos)) return;
+        try (Playwright playwright = Playwright.create()) {
+            Browser browser = cdpEndpoint != null
+                    ? playwright.chromium().connectOverCDP(cdpEndpoint)
+                    : profile.launch(playwright);
+
+            while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+                runJourney(browser, config.nextJourney());
+                if (config.thinkTimeMs() > 0 && !sleepUntil(System.nanoTime() + config.thinkTimeMs() * 1_000_000)) break;
+            }
+        } catch (RuntimeException e) {
+            System.err.println("[Load] User " + id + " stopped: " + e.getMessage());
+        }
+    }
+
+    private void runJourney(Browser browser, Journey journey) {
+        BrowserContext context = browser.newContext(profile.toContextOptions());
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            page = context.newPage();
+            journey.run(this);
+        } catch (RuntimeException | AssertionError e) {
+            error = e;
+        } finally {
+            report.recordJourney(journey, System.nanoTime() - start, error);
+            // Steps the page objects time themselves (e.g. calendar.navigate) go into the histograms too
+            for (StepMetrics.Timing timing : StepMetrics.drain()) {
+                report.recordStep(timing.step(), timing.nanos());
+            }
+            pageObjects.clear();
+            page = null;
+            try { context.close(); } catch (RuntimeException ignored) {}
+        }
+    }
+
+    /** Runs one journey step and records how long it took, whether or not it succeeded. */
+    void step(String name, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            report.recordStep(name, System.nanoTime() - start);
+        }
+    }
+
+    <T extends BasePage> T pageObject(Class<T> type) {
+        BasePage existing = pageObjects.get(type);
+        if (existing == null) {
+            try {
+                existing = type.getConstructor(Page.class).newInstance(page);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Page object " + type.getSimpleName()
+                        + " needs a public (Page) constructor", e);
+            }
+            pageObjects.put(type, existing);
+        }
+        return type.cast(existing);
+    }
+
+    LoadConfig config() {
+        return config;
+    }
+
+    private static boolean sleepUntil(long nanoTime) {
+        long waitMillis = (nanoTime - System.nanoTime()) / 1_000_000;
+        if (waitMillis <= 0) return true;
+        try {
+            Thread.sleep(waitMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.automation.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with log-linear buckets (microsecond resolution).
+ *
+ * Every power of two is split into 16 linear sub-buckets, so any recorded value is
+ * reported within about 6% of its true value, from 1 µs up to days, in a fixed
+ * 8 KB array. Many threads can record into the same instance concurrently.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        counts.incrementAndGet(bucketOf(micros));
+        count.incrementAndGet();
+        sumMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    public double meanMillis() {
+        long n = count.get();
+        return n == 0 ? 0 : sumMicros.get() / 1_000.0 / n;
+    }
+
+    public double maxMillis() {
+        return maxMicros.get() / 1_000.0;
+    }
+
+    /**
+     * Value at the given percentile (0–100) in milliseconds, reported as the middle of its bucket.
+     */
+    public double percentileMillis(double percentile) {
+        long n = count.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                long low = lowerBound(i);
+                long high = lowerBound(i + 1) - 1;
+                return Math.min((low + high) / 2.0, maxMicros.get()) / 1_000.0;
+            }
+        }
+        return maxMillis();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d p50=%.0f p95=%.0f p99=%.0f max=%.0f ms",
+                count(), percentileMillis(50), percentileMillis(95), percentileMillis(99), maxMillis());
+    }
+
+    // ---------- bucket maths ----------
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) return (int) micros;
+        int highestBit = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = highestBit - SUB_BUCKET_BITS;
+        int subBucket = (int) (micros >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket)) << shift;
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.automation.metrics;
+
+import com.example.automation.utils.FrameworkConfig;
+import com.example.automation.utils.urlHelper;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Front-end performance of the functional tests' own page steps.
+ *
+ * After a step, {@link #capture} reads the browser's Performance API in one evaluate: the
+ * navigation entry (first capture on a document only), the resource entries since the previous
+ * capture, and Largest Contentful Paint / Cumulative Layout Shift from buffered
+ * PerformanceObservers (Chromium only). Together with the step's wall time the values are
+ * checked against {@link PerfBudgets}: a "warn" budget is reported, a "fail" budget fails the
+ * test with an AssertionError.
+ *
+ * Samples are kept per thread for the report and for the run; {@link #writeRunFiles} writes
+ * them to perf-&lt;run&gt;.json and adds one summary line per run to perf.history, so step
+ * times and Web Vitals can be compared across runs.
+ *
+ * Settings (system property or env var):
+ *   perf.capture      – collect timings after page steps  (default true)
+ *   perf.budgets      – budget file; default perf-budgets.properties on the classpath
+ *   perf.failOnBudget – false turns "fail" budgets into warnings (default true)
+ *   perf.history      – run history, one JSON line per run (default perf-history.jsonl)
+ */
+public class PagePerformance {
+
+    private PagePerformance() { /* utility class — no instances */ }
+
+    private static volatile boolean enabled     = FrameworkConfig.getBoolean("perf.capture", true);
+    private static final boolean FAIL_ON_BUDGET = FrameworkConfig.getBoolean("perf.failOnBudget", true);
+    private static final PerfBudgets BUDGETS    = PerfBudgets.load();
+    private static final String RUN_ID = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+    // Compared against the previous run when the history is written
+    private static final String[] TREND_METRICS = {"durationMs", "lcpMs"};
+
+    private static final Queue<Sample> run = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<List<Sample>> currentTest = ThreadLocal.withInitial(ArrayList::new);
+    private static final LongAdder warnings = new LongAdder();
+    private static final LongAdder failures = new LongAdder();
+
+    /** One measured step: its metrics (ms, counts, KB, CLS score) and the budgets it went over. */
+    public static class Sample {
+        private final String step;
+        private final long timestamp;
+        private final Map<String, Double> metrics;
+        private final List<PerfBudgets.Violation> violations;
+
+        Sample(String step, Map<String, Double> metrics, List<PerfBudgets.Violation> violations) {
+            this.step = step;
+            this.timestamp = System.currentTimeMillis();
+            this.metrics = Collections.unmodifiableMap(metrics);
+            this.violations = Collections.unmodifiableList(violations);
+        }
+
+        public String step() {
+            return step;
+        }
+
+        /** durationMs, requests, transferKb, slowestRequestMs, and when reported ttfbMs, domContentLoadedMs, loadMs, lcpMs, cls. */
+        public Map<String, Double> metrics() {
+            return metrics;
+        }
+
+        public List<PerfBudgets.Violation> violations() {
+            return violations;
+        }
+
+        JSONObject toJson() {
+            return new JSONObject().put("step", step).put("ts", timestamp).put("metrics", new JSONObject(metrics));
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(step).append(':');
+            for (Map.Entry<String, Double> m : metrics.entrySet()) {
+                text.append(String.format(Locale.ROOT, "cls".equals(m.getKey()) ? " %s=%.3f" : " %s=%.0f",
+                        m.getKey(), m.getValue()));
+            }
+            return text.toString();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Stops capturing for the rest of the JVM. The load generator calls this: its journeys
+     * are timed per step already, nothing drains the samples there, and the extra evaluate
+     * after every step (and "fail" budgets turning into journey errors) would distort the
+     * latencies being measured.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Measures the step that started at startNanos (System.nanoTime) and checks it against the budgets.
+     *
+     * @return the sample, or null when capturing is off or the page could not be read
+     * @throws AssertionError when a "fail" budget is exceeded (and perf.failOnBudget is on)
+     */
+    public static Sample capture(Page page, String step, long startNanos) {
+        if (!enabled) return null;
+        double durationMs = (System.nanoTime() - startNanos) / 1_000_000.0;
+
+        Map<?, ?> raw;
+        try {
+            raw = (Map<?, ?>) page.evaluate(COLLECT_SCRIPT);
+        } catch (PlaywrightException e) {
+            // Measuring must never break the functional test
+            System.err.println("[Perf] Could not read timings for " + step + ": " + e.getMessage());
+            return null;
+        }
+
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        metrics.put("durationMs", durationMs);
+        for (Map.Entry<?, ?> e : raw.entrySet()) {
+            if (e.getValue() instanceof Number) {
+                metrics.put(e.getKey().toString(), ((Number) e.getValue()).doubleValue());
+            }
+        }
+
+        Sample sample = new Sample(step, metrics, BUDGETS.check(step, metrics));
+        run.add(sample);
+        currentTest.get().add(sample);
+
+        PerfBudgets.Violation failed = null;
+        for (PerfBudgets.Violation v : sample.violations()) {
+            if (v.rule().level() == PerfBudgets.Level.FAIL && FAIL_ON_BUDGET) {
+                failures.increment();
+                if (failed == null) failed = v;
+            } else {
+                warnings.increment();
+                System.out.println("[Perf] Budget warning: " + v);
+            }
+        }
+        if (failed != null) {
+            throw new AssertionError("Performance budget exceeded: " + failed);
+        }
+        return sample;
+    }
+
+    /** Returns the samples recorded on this thread since the last drain and clears them. */
+    public static List<Sample> drain() {
+        List<Sample> samples = currentTest.get();
+        if (samples.isEmpty()) return Collections.emptyList();
+        currentTest.set(new ArrayList<>());
+        return samples;
+    }
+
+    /** Budget count and outcomes, for the report's system info. */
+    public static String summary() {
+        if (!enabled) return "off";
+        return String.format("%d samples, %d budgets, %d warnings, %d failures",
+                run.size(), BUDGETS.rules().size(), warnings.sum(), failures.sum());
+    }
+
+    // ---------- run output ----------
+
+    /**
+     * Writes every sample of the run to dir/perf-&lt;run&gt;.json and puts the run's per-step
+     * means and maxima into the history file (replacing this run's line if it is already there).
+     * Prints the change in mean step time and LCP against the previous run on the same app.
+     */
+    public static synchronized void writeRunFiles(Path dir, Path history) throws IOException {
+        if (run.isEmpty()) return;
+        Files.createDirectories(dir);
+
+        JSONArray samples = new JSONArray();
+        Map<String, Map<String, double[]>> steps = new TreeMap<>();   // step → metric → {count, sum, max}
+        for (Sample sample : run) {
+            samples.put(sample.toJson());
+            Map<String, double[]> stats = steps.computeIfAbsent(sample.step(), s -> new TreeMap<>());
+            for (Map.Entry<String, Double> m : sample.metrics().entrySet()) {
+                double[] s = stats.computeIfAbsent(m.getKey(), k -> new double[3]);
+                s[0]++;
+                s[1] += m.getValue();
+                s[2] = Math.max(s[2], m.getValue());
+            }
+        }
+        JSONObject runFile = new JSONObject().put("run", RUN_ID).put("app", urlHelper.baseUrl()).put("samples", samples);
+        Files.write(dir.resolve("perf-" + RUN_ID + ".json"), runFile.toString(2).getBytes(StandardCharsets.UTF_8));
+
+        JSONObject summary = new JSONObject().put("run", RUN_ID).put("app", urlHelper.baseUrl());
+        JSONObject stepSummary = new JSONObject();
+        for (Map.Entry<String, Map<String, double[]>> step : steps.entrySet()) {
+            JSONObject metrics = new JSONObject();
+            for (Map.Entry<String, double[]> m : step.getValue().entrySet()) {
+                double[] s = m.getValue();
+                metrics.put(m.getKey(), new JSONObject().put("mean", s[1] / s[0]).put("max", s[2]));
+            }
+            stepSummary.put(step.getKey(), metrics.put("count", (long) step.getValue().get("durationMs")[0]));
+        }
+        summary.put("steps", stepSummary);
+
+        List<String> lines = new ArrayList<>();
+        JSONObject previous = null;
+        if (Files.exists(history)) {
+            for (String line : Files.readAllLines(history, StandardCharsets.UTF_8)) {
+                JSONObject entry;
+                try {
+                    entry = new JSONObject(line);
+                } catch (JSONException e) {
+                    continue;
+                }
+                if (RUN_ID.equals(entry.optString("run"))) continue;
+                lines.add(line);
+                if (urlHelper.baseUrl().equals(entry.optString("app"))) previous = entry;
+            }
+        }
+        lines.add(summary.toString());
+        if (history.toAbsolutePath().getParent() != null) Files.createDirectories(history.toAbsolutePath().getParent());
+        Path tmp = history.resolveSibling(history.getFileName() + ".tmp");
+        Files.write(tmp, lines, StandardCharsets.UTF_8);
+        Files.move(tmp, history, StandardCopyOption.REPLACE_EXISTING);
+
+        if (previous != null) printTrend(stepSummary, previous);
+    }
+
+    private static void printTrend(JSONObject current, JSONObject previous) {
+        JSONObject before = previous.optJSONObject("steps");
+        if (before == null) return;
+        for (String step : new TreeSet<>(current.keySet())) {
+            for (String metric : TREND_METRICS) {
+                JSONObject now = current.getJSONObject(step).optJSONObject(metric);
+                JSONObject then = before.optJSONObject(step) == null ? null : before.getJSONObject(step).optJSONObject(metric);
+                if (now == null || then == null || then.getDouble("mean") <= 0) continue;
+                double change = (now.getDouble("mean") - then.getDouble("mean")) / then.getDouble("mean") * 100;
+                System.out.println(String.format(Locale.ROOT, "[Perf] %s %s: %.0f (previous run %s: %.0f, %+.0f%%)",
+                        step, metric, now.getDouble("mean"), previous.optString("run"), then.getDouble("mean"), change));
+            }
+        }
+    }
+
+    public static Path defaultRunDir() {
+        return PageTimings.defaultRunDir();
+    }
+
+    public static Path historyFile() {
+        return Paths.get(FrameworkConfig.getString("perf.history", "perf-history.jsonl"));
+    }
+
+    // Observers are registered once per document with buffered: true, so entries from before the
+    // first capture are still delivered. The cursor limits resources to those since the last capture.
+    private static final String COLLECT_SCRIPT =
+            "async () => {\n" +
+            "  if (!window.__perf) {\n" +
+            "    const perf = window.__perf = { cursor: 0, lcp: null, cls: null };\n" +
+            "    const observe = (type, onEntry) => {\n" +
+            "      try {\n" +
+            "        new PerformanceObserver(list => list.getEntries().forEach(onEntry)).observe({ type, buffered: true });\n" +
+            "        return true;\n" +
+            "      } catch (e) { return false; }\n" +
+            "    };\n" +
+            "    observe('largest-contentful-paint', e => { perf.lcp = e.renderTime || e.startTime; });\n" +
+            "    if (observe('layout-shift', e => { if (!e.hadRecentInput) perf.cls += e.value; })) perf.cls = 0;\n" +
+            "    await new Promise(r => setTimeout(r, 0));   // buffered entries arrive in a task\n" +
+            "  }\n" +
+            "  const perf = window.__perf;\n" +
+            "  const result = {};\n" +
+            "  const nav = performance.getEntriesByType('navigation')[0];\n" +
+            "  if (nav && perf.cursor === 0) {\n" +
+            "    result.ttfbMs = nav.responseStart - nav.requestStart;\n" +
+            "    result.domContentLoadedMs = nav.domContentLoadedEventEnd - nav.startTime;\n" +
+            "    if (nav.loadEventEnd > 0) result.loadMs = nav.loadEventEnd - nav.startTime;\n" +
+            "  }\n" +
+            "  const resources = performance.getEntriesByType('resource').filter(r => r.startTime >= perf.cursor);\n" +
+            "  result.requests = resources.length;\n" +
+            "  result.transferKb = resources.reduce((sum, r) => sum + (r.transferSize || 0), 0) / 1024;\n" +
+            "  result.slowestRequestMs = resources.reduce((max, r) => Math.max(max, r.duration), 0);\n" +
+            "  if (perf.lcp !== null) result.lcpMs = perf.lcp;\n" +
+            "  if (perf.cls !== null) result.cls = perf.cls;\n" +
+            "  perf.cursor = performance.now();\n" +
+            "  return result;\n" +
+            "}";
+}
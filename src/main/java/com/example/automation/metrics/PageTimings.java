@@ -0,0 +1,206 @@
+package com.example.automation.metrics;
+
+import com.example.automation.selection.DependencyRecorder;
+import com.example.automation.utils.BasePage;
+import com.example.automation.utils.FrameworkConfig;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.isPublic;
+import static net.bytebuddy.matcher.ElementMatchers.isStatic;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+
+/**
+ * Times every public page-object method without touching the page classes or call sites.
+ *
+ * {@link #instrument(Class)} returns a generated subclass whose public methods record their
+ * duration before returning; page-object factories instantiate that instead of the page class.
+ * Only the outermost page call is recorded — openDirect calling waitForReservationPageToLoad
+ * counts once, as openDirect — so per-test totals add up.
+ *
+ * Timings go into a LatencyHistogram per "Page.method" for the run, and into a small
+ * count / total / max table for the test on the current thread. Off with -Dtiming.pageObjects=false.
+ *
+ * The same proxies tell DependencyRecorder which page methods each test calls.
+ */
+public class PageTimings {
+
+    private PageTimings() { /* utility class — no instances */ }
+
+    private static final boolean ENABLED = FrameworkConfig.getBoolean("timing.pageObjects", true);
+
+    private static final Map<Class<?>, Class<?>> proxies = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> run = new ConcurrentSkipListMap<>();
+    private static final ThreadLocal<Map<String, long[]>> currentTest = ThreadLocal.withInitial(LinkedHashMap::new);
+    private static final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    /** One method's timings within a test: calls, total and slowest call. */
+    public static class Row {
+        private final String step;
+        private final long calls;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        Row(String step, long[] stats) {
+            this.step = step;
+            this.calls = stats[0];
+            this.totalNanos = stats[1];
+            this.maxNanos = stats[2];
+        }
+
+        public String step() {
+            return step;
+        }
+
+        public long calls() {
+            return calls;
+        }
+
+        public double totalMillis() {
+            return totalNanos / 1_000_000.0;
+        }
+
+        public double maxMillis() {
+            return maxNanos / 1_000_000.0;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * The timed subclass of a page class (generated once per class), or the class itself
+     * when timing is off.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends BasePage> Class<? extends T> instrument(Class<T> pageClass) {
+        if (!ENABLED) return pageClass;
+        return (Class<? extends T>) proxies.computeIfAbsent(pageClass, type -> new ByteBuddy()
+                .subclass(type)
+                .name(type.getName() + "$Timed")
+                .method(isPublic().and(not(isStatic())).and(not(isDeclaredBy(Object.class))))
+                .intercept(MethodDelegation.to(Interceptor.class))
+                .make()
+                .load(type.getClassLoader())
+                .getLoaded());
+    }
+
+    /** Bound by the generated subclasses; public only so they can reach it. */
+    public static class Interceptor {
+
+        private Interceptor() { }
+
+        @RuntimeType
+        public static Object time(@Origin Method method, @SuperCall Callable<?> body) throws Exception {
+            DependencyRecorder.record(method);   // nested calls too, for test selection
+            int[] level = depth.get();
+            if (level[0]++ > 0) {
+                try {
+                    return body.call();
+                } finally {
+                    level[0]--;
+                }
+            }
+            long start = System.nanoTime();
+            try {
+                return body.call();
+            } finally {
+                level[0]--;
+                record(method.getDeclaringClass().getSimpleName() + "." + method.getName(), System.nanoTime() - start);
+            }
+        }
+    }
+
+    static void record(String step, long nanos) {
+        run.computeIfAbsent(step, s -> new LatencyHistogram()).record(nanos);
+        long[] stats = currentTest.get().computeIfAbsent(step, s -> new long[3]);
+        stats[0]++;
+        stats[1] += nanos;
+        stats[2] = Math.max(stats[2], nanos);
+    }
+
+    /** Returns the rows recorded on this thread since the last drain, in first-call order, and clears them. */
+    public static List<Row> drain() {
+        Map<String, long[]> timings = currentTest.get();
+        List<Row> rows = new ArrayList<>();
+        for (Map.Entry<String, long[]> e : timings.entrySet()) {
+            rows.add(new Row(e.getKey(), e.getValue()));
+        }
+        timings.clear();
+        return rows;
+    }
+
+    /** Small HTML table for the report. */
+    public static String toHtmlTable(List<Row> rows) {
+        StringBuilder html = new StringBuilder("<table class='table table-sm'><tr><th>Page step</th>"
+                + "<th>Calls</th><th>Total ms</th><th>Max ms</th></tr>");
+        for (Row row : rows) {
+            html.append(String.format(Locale.ROOT, "<tr><td>%s</td><td>%d</td><td>%.0f</td><td>%.0f</td></tr>",
+                    row.step(), row.calls(), row.totalMillis(), row.maxMillis()));
+        }
+        return html.append("</table>").toString();
+    }
+
+    // ---------- run output ----------
+
+    /**
+     * Writes page-timings.json and page-timings.prom (Prometheus text format) for the run so far.
+     * Fixed names, so CI can archive them and compare step times across builds.
+     */
+    public static void writeRunFiles(Path dir) throws IOException {
+        Files.createDirectories(dir);
+
+        JSONObject json = new JSONObject();
+        StringBuilder prom = new StringBuilder()
+                .append("# HELP page_step_duration_seconds Time spent in page-object methods\n")
+                .append("# TYPE page_step_duration_seconds summary\n");
+        for (Map.Entry<String, LatencyHistogram> e : run.entrySet()) {
+            LatencyHistogram h = e.getValue();
+            json.put(e.getKey(), new JSONObject()
+                    .put("count", h.count())
+                    .put("meanMs", h.meanMillis())
+                    .put("p50Ms", h.percentileMillis(50))
+                    .put("p90Ms", h.percentileMillis(90))
+                    .put("p99Ms", h.percentileMillis(99))
+                    .put("maxMs", h.maxMillis()));
+
+            String[] pageAndMethod = e.getKey().split("\\.", 2);
+            String labels = "page=\"" + pageAndMethod[0] + "\",method=\"" + pageAndMethod[1] + "\"";
+            for (double q : new double[]{0.5, 0.9, 0.99}) {
+                prom.append(String.format(Locale.ROOT, "page_step_duration_seconds{%s,quantile=\"%s\"} %.6f%n",
+                        labels, q, h.percentileMillis(q * 100) / 1000));
+            }
+            prom.append(String.format(Locale.ROOT, "page_step_duration_seconds_sum{%s} %.6f%n",
+                    labels, h.meanMillis() * h.count() / 1000));
+            prom.append(String.format(Locale.ROOT, "page_step_duration_seconds_count{%s} %d%n", labels, h.count()));
+        }
+
+        Files.write(dir.resolve("page-timings.json"), json.toString(2).getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve("page-timings.prom"), prom.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Path defaultRunDir() {
+        return Paths.get(FrameworkConfig.getString("timing.dir", "target/metrics"));
+    }
+}
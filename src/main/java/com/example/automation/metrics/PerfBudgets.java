@@ -0,0 +1,166 @@
+package com.example.automation.metrics;
+
+import com.example.automation.utils.FrameworkConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Declarative front-end performance budgets, one line per step and metric:
+ *
+ *   home.search.durationMs = warn 2000, fail 8000
+ *   *.cls                  = warn 0.1
+ *
+ * "*" matches every step. Metrics are the keys of {@link PagePerformance.Sample#metrics()}.
+ * Read from perf-budgets.properties on the classpath, or from the file named by -Dperf.budgets.
+ */
+public class PerfBudgets {
+
+    public enum Level { WARN, FAIL }
+
+    /** One limit: step (or "*"), metric, level and the highest allowed value. */
+    public static class Rule {
+        private final String step;
+        private final String metric;
+        private final Level level;
+        private final double limit;
+
+        Rule(String step, String metric, Level level, double limit) {
+            this.step = step;
+            this.metric = metric;
+            this.level = level;
+            this.limit = limit;
+        }
+
+        public String step() {
+            return step;
+        }
+
+        public String metric() {
+            return metric;
+        }
+
+        public Level level() {
+            return level;
+        }
+
+        public double limit() {
+            return limit;
+        }
+
+        boolean appliesTo(String measuredStep) {
+            return "*".equals(step) || step.equals(measuredStep);
+        }
+    }
+
+    /** A rule a measured step went over. */
+    public static class Violation {
+        private final String step;
+        private final Rule rule;
+        private final double actual;
+
+        Violation(String step, Rule rule, double actual) {
+            this.step = step;
+            this.rule = rule;
+            this.actual = actual;
+        }
+
+        public Rule rule() {
+            return rule;
+        }
+
+        public double actual() {
+            return actual;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s %s = %s over budget %s (%s)", step, rule.metric(),
+                    format(actual), format(rule.limit()), rule.level().name().toLowerCase());
+        }
+
+        private static String format(double value) {
+            return value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.3f", value);
+        }
+    }
+
+    private final List<Rule> rules;
+
+    private PerfBudgets(List<Rule> rules) {
+        this.rules = Collections.unmodifiableList(rules);
+    }
+
+    /** The configured budgets; none when there is no budget file. */
+    public static PerfBudgets load() {
+        Properties props = new Properties();
+        String file = FrameworkConfig.getString("perf.budgets", null);
+        try {
+            if (file != null) {
+                try (Reader in = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+                    props.load(in);
+                }
+            } else {
+                try (InputStream in = PerfBudgets.class.getResourceAsStream("/perf-budgets.properties")) {
+                    if (in != null) props.load(in);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read performance budgets from "
+                    + (file != null ? file : "perf-budgets.properties") + ": " + e.getMessage(), e);
+        }
+        return parse(props);
+    }
+
+    static PerfBudgets parse(Properties props) {
+        List<Rule> rules = new ArrayList<>();
+        for (Map.Entry<Object, Object> entry : props.entrySet()) {
+            String key = entry.getKey().toString().trim();
+            int dot = key.lastIndexOf('.');
+            if (dot <= 0 || dot == key.length() - 1) {
+                throw new IllegalArgumentException("Budget key '" + key + "' must be <step>.<metric>");
+            }
+            for (String limit : entry.getValue().toString().split(",")) {
+                String[] parts = limit.trim().split("\\s+");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Budget '" + key + "' must look like 'warn 2000, fail 8000'");
+                }
+                Level level;
+                try {
+                    level = Level.valueOf(parts[0].toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Budget '" + key + "' has unknown level '" + parts[0]
+                            + "' (expected warn or fail)");
+                }
+                rules.add(new Rule(key.substring(0, dot), key.substring(dot + 1), level, Double.parseDouble(parts[1])));
+            }
+        }
+        return new PerfBudgets(rules);
+    }
+
+    public List<Rule> rules() {
+        return rules;
+    }
+
+    /** Rules the step went over. Metrics the browser did not report (e.g. LCP outside Chromium) are not checked. */
+    public List<Violation> check(String step, Map<String, Double> metrics) {
+        List<Violation> violations = new ArrayList<>();
+        for (Rule rule : rules) {
+            if (!rule.appliesTo(step)) continue;
+            Double actual = metrics.get(rule.metric());
+            if (actual != null && actual > rule.limit()) {
+                violations.add(new Violation(step, rule, actual));
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.automation.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long individual page-object steps take.
+ *
+ * Timings are kept per thread for the test currently running (drained into the report
+ * at teardown) and summed per step name for the whole run.
+ */
+public class StepMetrics {
+
+    private StepMetrics() { /* utility class — no instances */ }
+
+    /** One measured step, e.g. "calendar.navigate" took 180 ms ("4 months"). */
+    public static class Timing {
+        private final String step;
+        private final long nanos;
+        private final String detail;
+
+        Timing(String step, long nanos, String detail) {
+            this.step = step;
+            this.nanos = nanos;
+            this.detail = detail;
+        }
+
+        public String step() {
+            return step;
+        }
+
+        public long nanos() {
+            return nanos;
+        }
+
+        public double millis() {
+            return nanos / 1_000_000.0;
+        }
+
+        public String detail() {
+            return detail;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %.0f ms%s", step, millis(), detail == null ? "" : " (" + detail + ")");
+        }
+    }
+
+    private static final ThreadLocal<List<Timing>> currentTest = ThreadLocal.withInitial(ArrayList::new);
+    private static final Map<String, LongAdder> totalNanos = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> counts     = new ConcurrentHashMap<>();
+
+    public static void record(String step, long nanos) {
+        record(step, nanos, null);
+    }
+
+    public static void record(String step, long nanos, String detail) {
+        currentTest.get().add(new Timing(step, nanos, detail));
+        totalNanos.computeIfAbsent(step, s -> new LongAdder()).add(nanos);
+        counts.computeIfAbsent(step, s -> new LongAdder()).increment();
+    }
+
+    /** Returns the timings recorded on this thread since the last drain and clears them. */
+    public static List<Timing> drain() {
+        List<Timing> timings = currentTest.get();
+        if (timings.isEmpty()) return Collections.emptyList();
+        currentTest.set(new ArrayList<>());
+        return timings;
+    }
+
+    /** Average milliseconds per step name across the whole run. */
+    public static Map<String, Double> averages() {
+        Map<String, Double> result = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> e : totalNanos.entrySet()) {
+            long count = counts.get(e.getKey()).sum();
+            result.put(e.getKey(), count == 0 ? 0 : e.getValue().sum() / 1_000_000.0 / count);
+        }
+        return result;
+    }
+}
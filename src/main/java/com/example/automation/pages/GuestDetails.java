@@ -0,0 +1,62 @@
+package com.example.automation.pages;
+
+import com.example.automation.utils.TestConstants;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Values for the reservation form. A null field is left untouched when the form is filled,
+ * an empty string clears it.
+ */
+public class GuestDetails {
+
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String phone;
+
+    public GuestDetails(String firstName, String lastName, String email, String phone) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+    }
+
+    /** The standard guest from TestConstants. */
+    public static GuestDetails defaultGuest() {
+        return new GuestDetails(TestConstants.GUEST_FIRST_NAME, TestConstants.GUEST_LAST_NAME,
+                TestConstants.GUEST_EMAIL, TestConstants.GUEST_PHONE);
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    /** Form label → value, skipping nulls; the labels match the ones ReservationPage locates by. */
+    Map<String, String> byLabel() {
+        Map<String, String> fields = new HashMap<>();
+        if (firstName != null) fields.put("FirstName", firstName);
+        if (lastName != null)  fields.put("LastName", lastName);
+        if (email != null)     fields.put("Email", email);
+        if (phone != null)     fields.put("Phone", phone);
+        return fields;
+    }
+
+    @Override
+    public String toString() {
+        return "GuestDetails{" + firstName + ", " + lastName + ", " + email + ", " + phone + "}";
+    }
+}
@@ -29,8 +29,15 @@ public class HomePage extends BasePage {
     }
 
     public HomePage navigate(String url) {
+        long start = System.nanoTime();
         page.navigate(url, new Page.NavigateOptions().setWaitUntil(com.microsoft.playwright.options.WaitUntilState.DOMCONTENTLOADED));
-        header.waitFor();
+        waitForElementToBeVisible(header);
+        measurePerformance("home.navigate", start);
+        return this;
+    }
+
+    public HomePage waitForPageToLoad() {
+        waitForElementToBeVisible(header);
         return this;
     }
 
@@ -57,16 +64,23 @@ public class HomePage extends BasePage {
     }
 
     public HomePage clickCheckAvailability() {
+        long start = System.nanoTime();
         checkAvailabilityButton.click();
-        roomCards.first().waitFor();
+        waitForElementToBeVisible(roomCards.first());
+        measurePerformance("home.search", start);
         return this;
     }
 
     public List<String> getAvailableRooms() {
-        roomTitles.first().waitFor();
+        waitForElementToBeVisible(roomTitles.first());
         return roomTitles.allInnerTexts();
     }
 
+    /** Visual checkpoint image of one room card. */
+    public byte[] roomCardScreenshot(String roomName) {
+        return elementScreenshot(roomCards.filter(new Locator.FilterOptions().setHasText(roomName)).first());
+    }
+
     public HomePage clickBookNowForRoom(String roomName) {
         Locator targetRoomCard = roomCards.filter(new Locator.FilterOptions().setHasText(roomName));
         targetRoomCard.getByRole(AriaRole.LINK, new Locator.GetByRoleOptions().setName(TestConstants.BOOK_NOW_BUTTON_TEXT)).click();
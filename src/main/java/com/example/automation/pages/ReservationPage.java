@@ -1,16 +1,20 @@
 package com.example.automation.pages;
 
+import com.example.automation.metrics.StepMetrics;
 import com.example.automation.utils.BasePage;
-import com.example.automation.utils.DateUtils;
 import com.example.automation.utils.TestConstants;
+import com.example.automation.utils.WaitBudget;
+import com.example.automation.utils.urlHelper;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
-import com.microsoft.playwright.options.WaitForSelectorState;
+import com.microsoft.playwright.options.WaitUntilState;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 public class ReservationPage extends BasePage {
 
@@ -30,8 +34,6 @@ public class ReservationPage extends BasePage {
     private final Locator cssTagAlertMessages;
 
     // ---------- Calendar locators ----------
-    private final Locator calendarNextButton;
-    private final Locator calendarBackButton;
     private final Locator calendarMonthLabel;
     private final Locator calendarDateCells;
 
@@ -51,15 +53,45 @@ public class ReservationPage extends BasePage {
         this.cssTagH2BookingConfirmation = page.locator("h2.card-title.mb-3");
         this.cssTagPCheckInAndCheckOutDates = page.locator("p.pt-2");
         this.cssTagAlertMessages = page.locator("div.alert li");
-        this.calendarNextButton  = page.locator(".rbc-toolbar button:last-child");
-        this.calendarBackButton  = page.locator(".rbc-toolbar .rbc-btn-group:first-child button:first-child");
         this.calendarMonthLabel  = page.locator(".rbc-toolbar-label");
         this.calendarDateCells   = page.locator(".rbc-date-cell");
         this.cssTagAReturnToHome   = page.locator("a.btn:text-is('Return home')");
     }
 
+    /**
+     * Opens the reservation page for a room and stay directly, in one navigation —
+     * a precondition shortcut for tests that are not about the home-page search.
+     *
+     * @param roomType TestConstants.ROOM_SINGLE / ROOM_DOUBLE / ROOM_SUITE
+     */
+    public ReservationPage openDirect(String roomType, LocalDate checkIn, LocalDate checkOut) {
+        return openDirect(roomId(roomType), checkIn, checkOut);
+    }
+
+    public ReservationPage openDirect(int roomId, LocalDate checkIn, LocalDate checkOut) {
+        long start = System.nanoTime();
+        page.navigate(urlHelper.reservationUrl(roomId, checkIn, checkOut),
+                new Page.NavigateOptions().setWaitUntil(WaitUntilState.DOMCONTENTLOADED));
+        return waitForReservationPageToLoad(start);
+    }
+
+    private static int roomId(String roomType) {
+        switch (roomType) {
+            case TestConstants.ROOM_SINGLE: return TestConstants.ROOM_SINGLE_ID;
+            case TestConstants.ROOM_DOUBLE: return TestConstants.ROOM_DOUBLE_ID;
+            case TestConstants.ROOM_SUITE:  return TestConstants.ROOM_SUITE_ID;
+            default:
+                throw new IllegalArgumentException("Unknown room type '" + roomType + "'");
+        }
+    }
+
     public ReservationPage waitForReservationPageToLoad() {
-        cssTagH1RoomTitle.waitFor();
+        return waitForReservationPageToLoad(System.nanoTime());
+    }
+
+    private ReservationPage waitForReservationPageToLoad(long start) {
+        waitForElementToBeVisible(cssTagH1RoomTitle);
+        measurePerformance("reservation.load", start);
         return this;
     }
 
@@ -106,8 +138,57 @@ public class ReservationPage extends BasePage {
         return this;
     }
 
+    /**
+     * Fills every non-null field of the guest form in one browser round trip.
+     *
+     * Same observable behaviour as calling enterFirstName/enterLastName/enterEmail/enterPhoneNumber:
+     * fields are located by the same labels, the call waits until they are visible and editable,
+     * and each value is set through the native setter followed by input + change events,
+     * so the app's own validation sees it exactly as it would after Locator.fill.
+     */
+    public ReservationPage fillGuestDetails(GuestDetails guest) {
+        runGuestFormScript(guest, false);
+        return this;
+    }
+
+    /**
+     * {@link #fillGuestDetails(GuestDetails)} followed by a click on "Reserve Now" — still one round trip.
+     * Returns once the app has answered with the confirmation card or the validation alerts,
+     * so the submission can be measured as the "reservation.submit" step.
+     */
+    public ReservationPage submitGuestDetails(GuestDetails guest) {
+        long start = System.nanoTime();
+        runGuestFormScript(guest, true);
+        waitForElementToBeVisible(cssTagAReturnToHome.or(cssTagAlertMessages).first());
+        measurePerformance("reservation.submit", start);
+        return this;
+    }
+
+    /**
+     * Reads room title, total price, selected-date state and URL in one round trip.
+     * Waits (in the page) until the title and total are rendered.
+     */
+    public ReservationSnapshot readSnapshot() {
+        return new ReservationSnapshot((Map<?, ?>) withinWaitBudget("reservation snapshot script",
+                WaitBudget.maxWaitMillis(), timeout -> {
+                    Map<String, Object> args = new HashMap<>();
+                    args.put("timeoutMs", timeout);
+                    return page.evaluate(SNAPSHOT_SCRIPT, args);
+                }));
+    }
+
+    private void runGuestFormScript(GuestDetails guest, boolean submit) {
+        withinWaitBudget("guest form script", WaitBudget.maxWaitMillis(), timeout -> {
+            Map<String, Object> args = new HashMap<>();
+            args.put("fields", guest.byLabel());
+            args.put("submit", submit);
+            args.put("timeoutMs", timeout);
+            return page.evaluate(GUEST_FORM_SCRIPT, args);
+        });
+    }
+
     public String getBookingConfirmationMessage() {
-        waitForElementToBeVisible(cssTagAReturnToHome, TestConstants.DEFAULT_TIMEOUT);
+        waitForElementToBeVisible(cssTagAReturnToHome);
         return cssTagH2BookingConfirmation.textContent().trim();
     }
 
@@ -115,61 +196,158 @@ public class ReservationPage extends BasePage {
         return cssTagPCheckInAndCheckOutDates.textContent();
     }
 
+    /**
+     * Visual checkpoint image of the rbc calendar. The month label, the day cells and the
+     * Selected / Unavailable segments change with the month and the stay, so they are masked;
+     * what is compared is the toolbar, the week grid and its proportions.
+     */
+    public byte[] calendarScreenshot() {
+        return elementScreenshot(page.locator(".rbc-calendar").first(),
+                calendarMonthLabel, calendarDateCells, page.locator(".rbc-row-segment"));
+    }
+
+    /** Visual checkpoint image of the confirmation card, with the booked dates masked. */
+    public byte[] confirmationCardScreenshot() {
+        return elementScreenshot(cssTagCardBody.filter(new Locator.FilterOptions().setHas(cssTagH2BookingConfirmation)).first(),
+                cssTagPCheckInAndCheckOutDates);
+    }
+
     public ReservationPage clickReturnToHome() {
         cssTagAReturnToHome.click();
         return this;
     }
 
     public List<String> getAllAlertMessages() {
-        cssTagAlertMessages.first().waitFor();
+        waitForElementToBeVisible(cssTagAlertMessages.first());
         return cssTagAlertMessages.allInnerTexts();
     }
 
     public ReservationPage waitForAlertMessages() {
-        cssTagAlertMessages.first().waitFor(new Locator.WaitForOptions()
-                .setState(WaitForSelectorState.VISIBLE));
+        waitForElementToBeVisible(cssTagAlertMessages.first());
         return this;
     }
 
     /**
-     * Reads the currently displayed month from rbc-toolbar-label,
-     * then clicks Next or Back until it matches the target date's month/year.
+     * Moves the rbc calendar to the month of targetDate in a single browser round trip.
+     *
+     * The month delta is computed once from the toolbar label; an in-page script then clicks
+     * Next (or Back) that many times, waiting for each label change with a MutationObserver
+     * instead of polling. Jumping to the current month is a single "Today" click.
+     * rbc has no URL parameter for the displayed month, so there is no deep link to use.
      *
-     * e.g. if label shows "February 2026" and target is June 2026 → clicks Next 4 times
-     *      if label shows "February 2026" and target is November 2025 → clicks Back 3 times
+     * e.g. if label shows "February 2026" and target is June 2026 → 4 Next clicks, one evaluate()
      */
     public ReservationPage navigateCalendarToMonth(LocalDate targetDate) {
-        DateTimeFormatter labelFmt = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
-        String targetLabel = targetDate.format(labelFmt);
-
-        calendarMonthLabel.waitFor();
-
-        for (int i = 0; i < 30; i++) {
-            String currentLabel = calendarMonthLabel.innerText().trim();
-            System.out.println("[Calendar] showing=" + currentLabel + "  need=" + targetLabel);
-
-            if (currentLabel.equals(targetLabel)) break;
-
-            // Parse the month currently visible on screen
-            LocalDate currentMonth = LocalDate.parse(
-                    "01 " + currentLabel,
-                    DateTimeFormatter.ofPattern("dd MMMM yyyy", Locale.ENGLISH));
-
-            // If target is after the last day of current month → go Next, else go Back
-            if (targetDate.isAfter(currentMonth.withDayOfMonth(currentMonth.lengthOfMonth()))) {
-                calendarNextButton.click();
-            } else {
-                calendarBackButton.click();
-            }
-
-            // Wait for the label to update before reading it again
-            page.waitForFunction(
-                    "prev => document.querySelector('.rbc-toolbar-label').innerText.trim() !== prev",
-                    currentLabel);
-        }
+        long start = System.nanoTime();
+        waitForElementToBeVisible(calendarMonthLabel);
+
+        // One deadline for the whole jump, however many months it steps; charged to the wait budget
+        Object moved = withinWaitBudget("calendar jump script", WaitBudget.maxWaitMillis(), timeout -> {
+            Map<String, Object> args = new HashMap<>();
+            args.put("target", targetDate.format(CALENDAR_LABEL_FORMAT));
+            args.put("timeoutMs", timeout);
+            return page.evaluate(CALENDAR_JUMP_SCRIPT, args);
+        });
+
+        StepMetrics.record("calendar.navigate", System.nanoTime() - start, moved + " months");
         return this;
     }
 
-
+    private static final DateTimeFormatter CALENDAR_LABEL_FORMAT =
+            DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
+
+    // Resolves with the number of months moved; rejects if the label has not reached the target
+    // month by the deadline, taken once when the script starts and shared by all month steps
+    private static final String CALENDAR_JUMP_SCRIPT =
+            "async ({ target, timeoutMs }) => {\n" +
+            "  const deadline = Date.now() + timeoutMs;\n" +
+            "  const MONTHS = ['January','February','March','April','May','June','July','August','September','October','November','December'];\n" +
+            "  const labelText = () => document.querySelector('.rbc-toolbar-label').innerText.trim();\n" +
+            "  const index = text => { const [m, y] = text.split(' '); return Number(y) * 12 + MONTHS.indexOf(m); };\n" +
+            "  const button = name => [...document.querySelectorAll('.rbc-toolbar button')].find(b => b.innerText.trim() === name);\n" +
+            "  const clickAndWait = (name, previous) => new Promise((resolve, reject) => {\n" +
+            "    const timer = setTimeout(() => { observer.disconnect(); reject(new Error('" + SCRIPT_DEADLINE + "Calendar label stuck at ' + previous)); },\n" +
+            "      Math.max(0, deadline - Date.now()));\n" +
+            "    const observer = new MutationObserver(() => {\n" +
+            "      if (labelText() !== previous) { observer.disconnect(); clearTimeout(timer); resolve(labelText()); }\n" +
+            "    });\n" +
+            "    observer.observe(document.querySelector('.rbc-toolbar'), { subtree: true, childList: true, characterData: true });\n" +
+            "    button(name).click();\n" +
+            "  });\n" +
+            "  let current = labelText();\n" +
+            "  const delta = index(target) - index(current);\n" +
+            "  if (delta === 0) return 0;\n" +
+            "  const today = new Date();\n" +
+            "  if (index(target) === today.getFullYear() * 12 + today.getMonth()) {\n" +
+            "    await clickAndWait('Today', current);\n" +
+            "    return delta;\n" +
+            "  }\n" +
+            "  for (let i = 0; i < Math.abs(delta); i++) {\n" +
+            "    current = await clickAndWait(delta > 0 ? 'Next' : 'Back', current);\n" +
+            "  }\n" +
+            "  if (current !== target) throw new Error('Calendar shows ' + current + ', expected ' + target);\n" +
+            "  return delta;\n" +
+            "}";
+
+    // Shared helpers for the in-page scripts below — mirror Playwright's getByLabel / visibility rules
+    private static final String PAGE_HELPERS =
+            "const isVisible = el => !!el && el.getClientRects().length > 0 && getComputedStyle(el).visibility !== 'hidden';\n" +
+            "const byLabel = text => {\n" +
+            "  const wanted = text.toLowerCase();\n" +
+            "  const matches = [...document.querySelectorAll('input, textarea')].filter(el =>\n" +
+            "    (el.getAttribute('aria-label') || '').toLowerCase().includes(wanted) ||\n" +
+            "    [...(el.labels || [])].some(l => l.innerText.toLowerCase().includes(wanted)));\n" +
+            "  return matches.length === 1 ? matches[0] : null;\n" +
+            "};\n" +
+            "const nextFrame = () => new Promise(r => requestAnimationFrame(r));\n";
+
+    private static final String GUEST_FORM_SCRIPT =
+            "async ({ fields, submit, timeoutMs }) => {\n" + PAGE_HELPERS +
+            "  const deadline = Date.now() + timeoutMs;\n" +
+            "  const ready = el => isVisible(el) && !el.disabled && !el.readOnly;\n" +
+            "  let inputs;\n" +
+            "  for (;;) {\n" +
+            "    inputs = Object.keys(fields).map(label => [label, byLabel(label)]);\n" +
+            "    if (inputs.every(([, el]) => ready(el))) break;\n" +
+            "    if (Date.now() > deadline) throw new Error('" + SCRIPT_DEADLINE + "Guest form fields not ready: ' +\n" +
+            "      inputs.filter(([, el]) => !ready(el)).map(([label]) => label).join(', '));\n" +
+            "    await nextFrame();\n" +
+            "  }\n" +
+            "  // The native setter of the element's own type (byLabel matches textareas too), so React sees the change\n" +
+            "  const setValue = el => Object.getOwnPropertyDescriptor(\n" +
+            "    el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype, 'value').set;\n" +
+            "  for (const [label, el] of inputs) {\n" +
+            "    el.focus();\n" +
+            "    setValue(el).call(el, fields[label]);\n" +
+            "    el.dispatchEvent(new Event('input', { bubbles: true }));\n" +
+            "    el.dispatchEvent(new Event('change', { bubbles: true }));\n" +
+            "  }\n" +
+            "  if (submit) {\n" +
+            "    const button = [...document.querySelectorAll('button')]\n" +
+            "      .find(b => b.innerText.trim() === 'Reserve Now' && isVisible(b));\n" +
+            "    if (!button) throw new Error('Reserve Now button not visible');\n" +
+            "    button.click();\n" +
+            "  }\n" +
+            "  return inputs.length;\n" +
+            "}";
+
+    private static final String SNAPSHOT_SCRIPT =
+            "async ({ timeoutMs }) => {\n" + PAGE_HELPERS +
+            "  const deadline = Date.now() + timeoutMs;\n" +
+            "  const totalSpans = () => [...document.querySelectorAll('div.card-body')]\n" +
+            "    .filter(card => card.innerText.includes('Total'))\n" +
+            "    .flatMap(card => [...card.querySelectorAll('div.fw-bold span')]);\n" +
+            "  while (!document.querySelector('h1.fw-bold') || totalSpans().length === 0) {\n" +
+            "    if (Date.now() > deadline) throw new Error('" + SCRIPT_DEADLINE + "Reservation page did not render title and total');\n" +
+            "    await nextFrame();\n" +
+            "  }\n" +
+            "  const spans = totalSpans();\n" +
+            "  return {\n" +
+            "    title: document.querySelector('h1.fw-bold').textContent,\n" +
+            "    total: spans[spans.length - 1].innerText,\n" +
+            "    selected: isVisible(document.querySelector(\"div.rbc-event-content[title='Selected']\")),\n" +
+            "    url: location.href\n" +
+            "  };\n" +
+            "}";
 
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.example.automation.pages;
+
+import java.util.Map;
+
+/**
+ * Reservation page state read in a single browser round trip by {@link ReservationPage#readSnapshot()}.
+ */
+public class ReservationSnapshot {
+
+    private final String roomTitle;
+    private final String totalPrice;
+    private final boolean selectionVisible;
+    private final String url;
+
+    ReservationSnapshot(Map<?, ?> values) {
+        this.roomTitle = String.valueOf(values.get("title")).trim();
+        this.totalPrice = String.valueOf(values.get("total"));
+        this.selectionVisible = Boolean.TRUE.equals(values.get("selected"));
+        this.url = String.valueOf(values.get("url"));
+    }
+
+    /** Same value as {@link ReservationPage#getReservationRoomTitle()}. */
+    public String getRoomTitle() {
+        return roomTitle;
+    }
+
+    /** Same value as {@link ReservationPage#getTotalPrice()}. */
+    public String getTotalPrice() {
+        return totalPrice;
+    }
+
+    /** Same value as {@link ReservationPage#verifySelectionIsReflected()}. */
+    public boolean isSelectionVisible() {
+        return selectionVisible;
+    }
+
+    /** Same value as {@link ReservationPage#getCurrentUrl()}. */
+    public String getUrl() {
+        return url;
+    }
+
+    @Override
+    public String toString() {
+        return "ReservationSnapshot{title=" + roomTitle + ", total=" + totalPrice
+                + ", selected=" + selectionVisible + ", url=" + url + "}";
+    }
+}
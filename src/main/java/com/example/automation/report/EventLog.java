@@ -0,0 +1,114 @@
+package com.example.automation.report;
+
+import org.json.JSONObject;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only JSON-lines event log, written by one background thread.
+ *
+ * Callers only enqueue; the queue is bounded, so a slow disk slows the producers down
+ * instead of growing the heap. Lines are flushed at least once a second, so after a crash
+ * the log is complete up to roughly the last second.
+ */
+public class EventLog implements AutoCloseable {
+
+    private static final Object CLOSE = new Object();
+
+    private final Path file;
+    private final BlockingQueue<Object> queue;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Thread writer;
+    private volatile IOException failure;
+
+    public EventLog(Path file, int capacity) throws IOException {
+        this.file = file;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        writer = new Thread(() -> drain(out), "report-event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /** Stamps the event with seq and ts and queues it; blocks only while the queue is full. */
+    public void append(JSONObject event) {
+        event.put("seq", sequence.incrementAndGet());
+        event.put("ts", System.currentTimeMillis());
+        put(event.toString());
+    }
+
+    /** Waits until everything appended so far is on disk. */
+    public void sync() {
+        if (!writer.isAlive()) return;
+        CountDownLatch written = new CountDownLatch(1);
+        put(written);
+        try {
+            written.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!writer.isAlive()) return;
+        put(CLOSE);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) System.err.println("[EventLog] Write failed: " + failure.getMessage());
+    }
+
+    private void put(Object item) {
+        try {
+            // A dead writer (disk error) must not block the tests — events are dropped instead
+            while (!queue.offer(item, 1, TimeUnit.SECONDS)) {
+                if (!writer.isAlive()) return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain(BufferedWriter out) {
+        try (BufferedWriter w = out) {
+            while (true) {
+                Object item = queue.poll(1, TimeUnit.SECONDS);
+                if (item == null) {
+                    w.flush();
+                } else if (item == CLOSE) {
+                    return;
+                } else if (item instanceof CountDownLatch) {
+                    w.flush();
+                    ((CountDownLatch) item).countDown();
+                } else {
+                    w.write((String) item);
+                    w.newLine();
+                    if (queue.isEmpty()) w.flush();
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.automation.report;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.reporter.ExtentHtmlReporter;
+import com.aventstack.extentreports.reporter.configuration.Theme;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders the Extent HTML report and a JUnit XML file from an {@link EventLog}.
+ *
+ * Used by the streaming report mode when the suite finishes, and on its own to rebuild
+ * the report of a run that died before it could finish:
+ *
+ *   mvn -q exec:java -Dexec.mainClass=com.example.automation.report.EventLogRenderer \
+ *       -Dexec.args="target/extent-reports/ExtentReport_20260226_143022.events.jsonl"
+ *
+ * Tests that started but never ended (the run stopped while they were running) are
+ * reported as warnings.
+ */
+public class EventLogRenderer {
+
+    private EventLogRenderer() { /* utility class — no instances */ }
+
+    /** The report look shared by the in-memory and the streaming report. */
+    public static ExtentHtmlReporter newHtmlReporter(String path) {
+        ExtentHtmlReporter html = new ExtentHtmlReporter(path);
+        html.config().setDocumentTitle("Playwright Automation Report");
+        html.config().setReportName("Shady Meadows B&B – Test Execution Report");
+        html.config().setTheme(Theme.DARK);
+        html.config().setTimeStampFormat("dd MMM yyyy HH:mm:ss");
+        return html;
+    }
+
+    /** events.jsonl → .html next to it. */
+    public static Path htmlFor(Path eventLog) {
+        return eventLog.resolveSibling(baseName(eventLog) + ".html");
+    }
+
+    /** events.jsonl → -junit.xml next to it. */
+    public static Path junitFor(Path eventLog) {
+        return eventLog.resolveSibling(baseName(eventLog) + "-junit.xml");
+    }
+
+    private static String baseName(Path eventLog) {
+        String name = eventLog.getFileName().toString();
+        return name.endsWith(".events.jsonl") ? name.substring(0, name.length() - ".events.jsonl".length()) : name;
+    }
+
+    /** Both files: the HTML report, then the JUnit XML read from the start of the log. */
+    public static void render(Path eventLog) throws IOException {
+        renderHtml(eventLog);
+        JunitReport junit = new JunitReport(eventLog, junitFor(eventLog));
+        junit.update();
+        junit.close();
+    }
+
+    /**
+     * The HTML report. Builds every test node in one ExtentReports, so the streaming report
+     * calls it once, when the suite finishes; its checkpoints only bring the JUnit XML up to date.
+     */
+    public static void renderHtml(Path eventLog) throws IOException {
+        Path html = htmlFor(eventLog);
+        // Render to a temp file and swap, so a failed render never leaves a half-written report behind
+        Path tmp = html.resolveSibling(html.getFileName() + ".tmp");
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(newHtmlReporter(tmp.toString()));
+
+        Map<String, String> systemInfo = new LinkedHashMap<>();
+        Map<String, ExtentTest> tests = new LinkedHashMap<>();
+        Set<String> running = new LinkedHashSet<>();
+
+        try (BufferedReader in = Files.newBufferedReader(eventLog, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.trim().isEmpty()) continue;
+                JSONObject event;
+                try {
+                    event = new JSONObject(line);
+                } catch (JSONException e) {
+                    continue;   // torn last line after a crash
+                }
+                apply(event, extent, systemInfo, tests, running);
+            }
+        }
+
+        for (String id : running) {
+            tests.get(id).warning("No result recorded: the run stopped while this test was running");
+        }
+
+        for (Map.Entry<String, String> info : systemInfo.entrySet()) {
+            extent.setSystemInfo(info.getKey(), info.getValue());
+        }
+        extent.flush();
+        Files.move(tmp, html, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void apply(JSONObject event, ExtentReports extent, Map<String, String> systemInfo,
+                              Map<String, ExtentTest> tests, Set<String> running) {
+        String id = event.optString("id");
+        ExtentTest test = tests.get(id);
+        switch (event.optString("type")) {
+            case "info":
+                // Later values win — the listener re-sends run totals at every <test> finish
+                systemInfo.put(event.getString("key"), event.optString("value"));
+                break;
+            case "start":
+                test = extent.createTest(event.getString("name"));
+                JSONArray groups = event.optJSONArray("groups");
+                if (groups != null) {
+                    for (int i = 0; i < groups.length(); i++) test.assignCategory(groups.getString(i));
+                }
+                if (event.has("device")) test.assignDevice(event.getString("device"));
+                test.getModel().setStartTime(new Date(event.getLong("ts")));
+                tests.put(id, test);
+                running.add(id);
+                break;
+            case "log":
+                if (test != null) test.log(Status.valueOf(event.getString("status").toUpperCase()), event.optString("message"));
+                break;
+            case "media":
+                if (test != null) {
+                    try {
+                        test.addScreenCaptureFromPath(event.getString("path"), event.optString("title"));
+                    } catch (IOException e) {
+                        test.warning("[Could not attach screenshot] " + e.getMessage());
+                    }
+                }
+                break;
+            case "end":
+                if (test == null) break;
+                running.remove(id);
+                JSONObject error = event.optJSONObject("error");
+                if (error != null) {
+                    test.log("skip".equals(event.getString("status")) ? Status.SKIP : Status.FAIL,
+                            "<pre>" + JunitReport.escape(error.optString("stack")) + "</pre>");
+                }
+                test.getModel().setEndTime(new Date(event.getLong("ts")));
+                break;
+            default:
+                break;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: EventLogRenderer <path/to/ExtentReport_<timestamp>.events.jsonl>");
+            System.exit(2);
+        }
+        Path eventLog = Paths.get(args[0]);
+        render(eventLog);
+        System.out.println("[ExtentReport] Rendered " + htmlFor(eventLog).toAbsolutePath()
+                + " and " + junitFor(eventLog).toAbsolutePath());
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.automation.report;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The JUnit XML of an {@link EventLog}, brought up to date incrementally.
+ *
+ * Each update reads only the lines appended since the previous one; a torn last line is left
+ * for the next update. A finished test becomes its &lt;testcase&gt; element at once and is
+ * appended to a side file (&lt;report&gt;-junit.xml.cases), so only the suite totals and the
+ * tests still running are kept in memory. The XML is then the totals, a copy of the side file
+ * and the running tests, reported as unfinished in case the run dies before they end.
+ */
+class JunitReport {
+
+    private final Path eventLog;
+    private final Path file;
+    private final Path cases;
+    private final Map<String, Outcome> running = new LinkedHashMap<>();
+    private long offset;            // bytes of the event log already read
+    private int finished;
+    private int failures;
+    private int skipped;
+    private long totalMillis;
+    private long lastTs;
+
+    /** One test as it is needed for the JUnit file. */
+    private static class Outcome {
+        final String className;
+        final String name;
+        final long start;
+        long end;
+        String status;
+        String error;
+        String stack;
+
+        Outcome(String className, String name, long start) {
+            this.className = className;
+            this.name = name;
+            this.start = start;
+        }
+    }
+
+    JunitReport(Path eventLog, Path file) throws IOException {
+        this.eventLog = eventLog;
+        this.file = file;
+        this.cases = file.resolveSibling(file.getFileName() + ".cases");
+        Files.deleteIfExists(cases);
+    }
+
+    /** Reads the events appended since the last update and rewrites the XML. */
+    void update() throws IOException {
+        readNewEvents();
+        write();
+    }
+
+    /** Removes the side file; call after the last update. */
+    void close() throws IOException {
+        Files.deleteIfExists(cases);
+    }
+
+    private void readNewEvents() throws IOException {
+        if (!Files.exists(eventLog)) return;
+        try (SeekableByteChannel channel = Files.newByteChannel(eventLog);
+             InputStream in = new BufferedInputStream(Channels.newInputStream(channel.position(offset)));
+             BufferedWriter out = Files.newBufferedWriter(cases, StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                offset += line.size() + 1;
+                apply(new String(line.toByteArray(), StandardCharsets.UTF_8).trim(), out);
+                line.reset();
+            }
+        }
+    }
+
+    private void apply(String line, Writer out) throws IOException {
+        if (line.isEmpty()) return;
+        JSONObject event;
+        try {
+            event = new JSONObject(line);
+        } catch (JSONException e) {
+            return;   // not a complete event; skip it like the HTML renderer does
+        }
+        lastTs = event.optLong("ts", lastTs);
+        String id = event.optString("id");
+        switch (event.optString("type")) {
+            case "start":
+                running.put(id, new Outcome(event.optString("class"), event.optString("method"), event.getLong("ts")));
+                break;
+            case "end":
+                Outcome outcome = running.remove(id);
+                if (outcome == null) break;
+                outcome.status = event.getString("status");
+                outcome.end = event.getLong("ts");
+                JSONObject error = event.optJSONObject("error");
+                if (error != null) {
+                    outcome.error = error.optString("message");
+                    outcome.stack = error.optString("stack");
+                }
+                finished++;
+                if ("fail".equals(outcome.status)) failures++;
+                if ("skip".equals(outcome.status)) skipped++;
+                totalMillis += Math.max(0, outcome.end - outcome.start);
+                writeCase(out, outcome, outcome.status, outcome.end);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void write() throws IOException {
+        long runningMillis = 0;
+        for (Outcome o : running.values()) runningMillis += Math.max(0, lastTs - o.start);
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream raw = Files.newOutputStream(tmp);
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(raw, StandardCharsets.UTF_8))) {
+            out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            out.write(String.format("<testsuite name=\"Shady Meadows\" tests=\"%d\" failures=\"%d\" errors=\"0\" skipped=\"%d\" time=\"%.3f\">%n",
+                    finished + running.size(), failures + running.size(), skipped, (totalMillis + runningMillis) / 1000.0));
+            out.flush();
+            if (Files.exists(cases)) Files.copy(cases, raw);
+            for (Outcome o : running.values()) writeCase(out, o, "unfinished", lastTs);
+            out.write("</testsuite>\n");
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void writeCase(Writer out, Outcome o, String status, long end) throws IOException {
+        out.write(String.format("  <testcase classname=\"%s\" name=\"%s\" time=\"%.3f\"",
+                escape(o.className), escape(o.name), Math.max(0, end - o.start) / 1000.0));
+        if ("pass".equals(status)) {
+            out.write("/>\n");
+            return;
+        }
+        out.write(">\n");
+        if ("skip".equals(status)) {
+            out.write("    <skipped message=\"" + escape(o.error) + "\"/>\n");
+        } else if ("unfinished".equals(status)) {
+            out.write("    <failure message=\"No result recorded: the run stopped while this test was running\"/>\n");
+        } else {
+            out.write("    <failure message=\"" + escape(o.error) + "\">" + escape(o.stack) + "</failure>\n");
+        }
+        out.write("  </testcase>\n");
+    }
+
+    static String escape(String text) {
+        if (text == null) return "";
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.automation.report;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Report that lives on disk instead of the heap: every test event goes to an {@link EventLog}.
+ * Each checkpoint brings the JUnit XML up to date from the events logged since the previous
+ * one (see {@link JunitReport}); the HTML is rendered once, from the whole log, when the
+ * suite finishes.
+ *
+ * Only the tests still running are kept in memory between checkpoints, so memory and the
+ * cost of a checkpoint stay flat however large the suite. A run that dies still leaves its
+ * event log and the last checkpoint's JUnit XML behind; EventLogRenderer rebuilds the HTML.
+ */
+public class StreamingReport {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int MAX_STACK_CHARS = 20_000;
+
+    private final EventLog log;
+    private final JunitReport junit;
+    private final ScheduledExecutorService checkpoints;
+    private final AtomicLong ids = new AtomicLong();
+    private boolean finished;
+
+    private StreamingReport(EventLog log, long checkpointSeconds) throws IOException {
+        this.log = log;
+        this.junit = new JunitReport(log.file(), EventLogRenderer.junitFor(log.file()));
+        this.checkpoints = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "report-checkpoint");
+            t.setDaemon(true);
+            return t;
+        });
+        if (checkpointSeconds > 0) {
+            checkpoints.scheduleWithFixedDelay(this::checkpoint, checkpointSeconds, checkpointSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    public static StreamingReport open(Path eventLog, long checkpointSeconds) throws IOException {
+        return new StreamingReport(new EventLog(eventLog, QUEUE_CAPACITY), checkpointSeconds);
+    }
+
+    public Path eventLog() {
+        return log.file();
+    }
+
+    public Path html() {
+        return EventLogRenderer.htmlFor(log.file());
+    }
+
+    public void info(String key, String value) {
+        log.append(new JSONObject().put("type", "info").put("key", key).put("value", value));
+    }
+
+    /** Returns the id the other events of this test refer to. */
+    public String testStarted(String name, String className, String method, String[] groups, String device) {
+        String id = "t" + ids.incrementAndGet();
+        log.append(new JSONObject()
+                .put("type", "start").put("id", id)
+                .put("name", name).put("class", className).put("method", method)
+                .put("groups", new JSONArray(groups))
+                .put("device", device));
+        return id;
+    }
+
+    /** status: info | pass | fail | skip | warning */
+    public void log(String id, String status, String message) {
+        log.append(new JSONObject().put("type", "log").put("id", id).put("status", status).put("message", message));
+    }
+
+    /** Screenshot by path, relative to the report's folder. */
+    public void media(String id, String title, String path) {
+        log.append(new JSONObject().put("type", "media").put("id", id).put("title", title).put("path", path));
+    }
+
+    /** status: pass | fail | skip */
+    public void testFinished(String id, String status, Throwable error) {
+        JSONObject event = new JSONObject().put("type", "end").put("id", id).put("status", status);
+        if (error != null) {
+            StringWriter stack = new StringWriter();
+            error.printStackTrace(new PrintWriter(stack));
+            String text = stack.toString();
+            event.put("error", new JSONObject()
+                    .put("class", error.getClass().getName())
+                    .put("message", String.valueOf(error.getMessage()))
+                    .put("stack", text.length() > MAX_STACK_CHARS ? text.substring(0, MAX_STACK_CHARS) + "\n..." : text));
+        }
+        log.append(event);
+    }
+
+    /** Writes out everything logged so far and adds it to the JUnit XML. */
+    public synchronized void checkpoint() {
+        if (finished) return;
+        log.sync();
+        try {
+            junit.update();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[ExtentReport] Checkpoint failed: " + e.getMessage());
+        }
+    }
+
+    /** Last checkpoint, then the HTML report from the whole log; later calls do nothing. */
+    public synchronized void finish() {
+        if (finished) return;
+        checkpoint();
+        finished = true;
+        checkpoints.shutdownNow();
+        try {
+            junit.close();
+            EventLogRenderer.renderHtml(log.file());
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[ExtentReport] Rendering the report failed: " + e.getMessage());
+        }
+    }
+
+    public void close() {
+        checkpoints.shutdownNow();
+        log.close();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.automation.schedule;
+
+import com.example.automation.utils.FrameworkConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * How long each test method took in earlier runs, kept in a small properties file
+ * ("com.example.Test#method = millis").
+ *
+ * A new measurement is blended with the stored value (exponential moving average, half
+ * weight each), so one slow run moves the estimate without taking it over. Methods that
+ * have never run are estimated at the mean of the known ones.
+ *
+ * Settings (system property or env var):
+ *   schedule.historyFile – where durations are kept (default .test-durations.properties)
+ */
+public class DurationHistory {
+
+    private static final double WEIGHT_OF_LATEST = 0.5;
+
+    private final Path file;
+    private final Map<String, Long> millis = new TreeMap<>();
+
+    private DurationHistory(Path file) {
+        this.file = file;
+    }
+
+    public static Path defaultFile() {
+        return Paths.get(FrameworkConfig.getString("schedule.historyFile", ".test-durations.properties"));
+    }
+
+    /** Reads the file; a missing or unreadable file gives an empty history. */
+    public static DurationHistory load(Path file) {
+        DurationHistory history = new DurationHistory(file);
+        if (!Files.exists(file)) return history;
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        } catch (IOException e) {
+            System.out.println("[Schedule] Ignoring unreadable " + file + ": " + e.getMessage());
+            return history;
+        }
+        for (String key : props.stringPropertyNames()) {
+            try {
+                history.millis.put(key, Long.parseLong(props.getProperty(key).trim()));
+            } catch (NumberFormatException e) {
+                System.out.println("[Schedule] Ignoring " + key + " in " + file + ": not a number");
+            }
+        }
+        return history;
+    }
+
+    /** "class#method" as used for history keys. */
+    public static String key(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+
+    public boolean isEmpty() {
+        return millis.isEmpty();
+    }
+
+    public Map<String, Long> entries() {
+        return new TreeMap<>(millis);
+    }
+
+    /** Recorded duration, or the mean of the recorded ones for a method that has never run (1 ms with no history). */
+    public long estimate(String key) {
+        Long known = millis.get(key);
+        if (known != null) return known;
+        if (millis.isEmpty()) return 1;
+        long sum = 0;
+        for (long value : millis.values()) sum += value;
+        return Math.max(1, sum / millis.size());
+    }
+
+    /** Estimates for many keys, with unknown ones all at the same mean. */
+    public Map<String, Long> estimates(Collection<String> keys) {
+        Map<String, Long> result = new TreeMap<>();
+        for (String key : keys) result.put(key, estimate(key));
+        return result;
+    }
+
+    public void record(String key, long durationMillis) {
+        Long previous = millis.get(key);
+        millis.put(key, previous == null ? durationMillis
+                : Math.round(previous * (1 - WEIGHT_OF_LATEST) + durationMillis * WEIGHT_OF_LATEST));
+    }
+
+    public void save() throws IOException {
+        Properties props = new Properties();
+        for (Map.Entry<String, Long> e : millis.entrySet()) {
+            props.setProperty(e.getKey(), Long.toString(e.getValue()));
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            props.store(out, "Test method durations in ms, written by DurationSchedulerListener");
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public Path file() {
+        return file;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.automation.schedule;
+
+import com.example.automation.utils.FrameworkConfig;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits test methods into K shards of similar total duration.
+ *
+ * Longest-processing-time first: methods are taken longest first (ties by name) and each
+ * goes to the shard with the least estimated time so far (ties to the lower index). The
+ * result depends only on the method list and the history file, so every CI node computes
+ * the same plan and runs exactly its own part of it.
+ *
+ * Print the plan for the methods in the history file:
+ *
+ *   mvn -q exec:java -Dexec.mainClass=com.example.automation.schedule.ShardPlanner -Dexec.args="4"
+ */
+public class ShardPlanner {
+
+    private ShardPlanner() { /* utility class — no instances */ }
+
+    /** Shard i of K, 1-based, as given by -Dshard=i/K. */
+    public static class ShardSpec {
+        private final int index;
+        private final int count;
+
+        public ShardSpec(int index, int count) {
+            if (count < 1 || index < 1 || index > count) {
+                throw new IllegalArgumentException("Shard " + index + "/" + count + " is out of range; use i/K with 1 <= i <= K");
+            }
+            this.index = index;
+            this.count = count;
+        }
+
+        /** Parses "2/4"; returns null for null or blank. */
+        public static ShardSpec parse(String spec) {
+            if (spec == null || spec.trim().isEmpty()) return null;
+            String[] parts = spec.trim().split("/");
+            try {
+                if (parts.length == 2) {
+                    return new ShardSpec(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+                }
+            } catch (NumberFormatException ignored) {
+                // falls through to the message below
+            }
+            throw new IllegalArgumentException("Shard '" + spec + "' must look like i/K, e.g. -Dshard=2/4");
+        }
+
+        /** -Dshard (or SHARD), or null to run everything. */
+        public static ShardSpec fromConfig() {
+            return parse(FrameworkConfig.getString("shard", null));
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return index + "/" + count;
+        }
+    }
+
+    /** One shard of the plan: its methods and their estimated total. */
+    public static class Shard {
+        private final List<String> keys = new ArrayList<>();
+        private long estimatedMillis;
+
+        public List<String> keys() {
+            return Collections.unmodifiableList(keys);
+        }
+
+        public long estimatedMillis() {
+            return estimatedMillis;
+        }
+    }
+
+    /** Methods sorted longest first by estimate (ties by name). */
+    public static List<String> longestFirst(Collection<String> keys, DurationHistory history) {
+        Map<String, Long> estimates = history.estimates(keys);
+        List<String> sorted = new ArrayList<>(estimates.keySet());
+        sorted.sort(Comparator.comparing((String key) -> estimates.get(key)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        return sorted;
+    }
+
+    public static List<Shard> plan(Collection<String> keys, DurationHistory history, int shards) {
+        List<Shard> plan = new ArrayList<>();
+        for (int i = 0; i < shards; i++) plan.add(new Shard());
+        for (String key : longestFirst(keys, history)) {
+            Shard lightest = plan.get(0);
+            for (Shard shard : plan) {
+                if (shard.estimatedMillis < lightest.estimatedMillis) lightest = shard;
+            }
+            lightest.keys.add(key);
+            lightest.estimatedMillis += history.estimate(key);
+        }
+        return plan;
+    }
+
+    public static String describe(List<Shard> plan) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < plan.size(); i++) {
+            Shard shard = plan.get(i);
+            text.append(String.format("shard %d/%d: ~%.1f s, %d methods%n",
+                    i + 1, plan.size(), shard.estimatedMillis() / 1000.0, shard.keys().size()));
+            for (String key : shard.keys()) {
+                text.append("    ").append(key).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: ShardPlanner <shards> [history file]");
+            System.exit(2);
+        }
+        Path file = args.length == 2 ? Paths.get(args[1]) : DurationHistory.defaultFile();
+        DurationHistory history = DurationHistory.load(file);
+        if (history.isEmpty()) {
+            System.err.println("[Schedule] No durations in " + file.toAbsolutePath() + " - run the suite once first");
+            System.exit(1);
+        }
+        System.out.print(describe(plan(history.entries().keySet(), history, Integer.parseInt(args[0]))));
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.automation.selection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The files changed since a git revision and, per file, the changed line ranges in the new
+ * version — what `git diff -U0 <base>` reports for the working tree, plus untracked files.
+ *
+ * A hunk that only deletes lines is kept as a zero-length range at the line after which the
+ * lines were removed, so it can still be mapped to the member around it.
+ */
+public class ChangeSet {
+
+    private static final Pattern HUNK = Pattern.compile("^@@ -\\d+(?:,\\d+)? \\+(\\d+)(?:,(\\d+))? @@");
+
+    /** Changed lines of one file; the file is deleted when {@link #isDeleted()}. */
+    public static class FileChange {
+        private final String path;
+        private final boolean deleted;
+        private final List<int[]> ranges = new ArrayList<>();   // {firstLine, lineCount}; count 0 = deletion point
+
+        FileChange(String path, boolean deleted) {
+            this.path = path;
+            this.deleted = deleted;
+        }
+
+        /** Repository-relative, with forward slashes. */
+        public String path() {
+            return path;
+        }
+
+        public boolean isDeleted() {
+            return deleted;
+        }
+
+        /** {firstLine, lineCount} in the new version; lineCount 0 marks lines removed after firstLine. */
+        public List<int[]> ranges() {
+            return Collections.unmodifiableList(ranges);
+        }
+
+        /** True when the whole file counts as changed (untracked or binary). */
+        public boolean isWholeFile() {
+            return ranges.size() == 1 && ranges.get(0)[1] == Integer.MAX_VALUE;
+        }
+    }
+
+    private final String base;
+    private final Map<String, FileChange> files = new TreeMap<>();
+
+    private ChangeSet(String base) {
+        this.base = base;
+    }
+
+    /**
+     * Runs git in the repository root.
+     *
+     * @throws IOException when git is missing or does not know the base revision
+     */
+    public static ChangeSet sinceRevision(Path repository, String base) throws IOException {
+        ChangeSet changes = parseDiff(base, git(repository, "diff", "--no-renames", "--no-color", "-U0", base));
+        for (String untracked : git(repository, "ls-files", "--others", "--exclude-standard").split("\n")) {
+            if (untracked.trim().isEmpty()) continue;
+            FileChange change = new FileChange(untracked.trim(), false);
+            change.ranges.add(new int[]{1, Integer.MAX_VALUE});
+            changes.files.put(change.path, change);
+        }
+        return changes;
+    }
+
+    /** Parses unified diff output with zero context lines. */
+    public static ChangeSet parseDiff(String base, String diff) {
+        ChangeSet changes = new ChangeSet(base);
+        String oldPath = null;
+        FileChange current = null;
+        for (String line : diff.split("\n")) {
+            if (line.startsWith("diff --git ")) {
+                // Binary files have no ---/+++ lines; until they appear the whole file counts as changed
+                int b = line.lastIndexOf(" b/");
+                current = new FileChange(line.substring(b + 3), false);
+                current.ranges.add(new int[]{1, Integer.MAX_VALUE});
+                changes.files.put(current.path, current);
+                oldPath = null;
+            } else if (current != null && line.startsWith("deleted file mode")) {
+                current = new FileChange(current.path, true);
+                changes.files.put(current.path, current);
+            } else if (line.startsWith("--- ")) {
+                oldPath = stripPrefix(line.substring(4));
+            } else if (line.startsWith("+++ ")) {
+                String newPath = stripPrefix(line.substring(4));
+                current = newPath == null ? new FileChange(oldPath, true) : new FileChange(newPath, false);
+                changes.files.put(current.path, current);
+            } else if (current != null && line.startsWith("@@")) {
+                Matcher hunk = HUNK.matcher(line);
+                if (hunk.find()) {
+                    int start = Integer.parseInt(hunk.group(1));
+                    int count = hunk.group(2) == null ? 1 : Integer.parseInt(hunk.group(2));
+                    current.ranges.add(new int[]{start, count});
+                }
+            }
+        }
+        return changes;
+    }
+
+    // "a/src/Foo.java" -> "src/Foo.java"; "/dev/null" -> null
+    private static String stripPrefix(String path) {
+        String trimmed = path.trim();
+        if (trimmed.equals("/dev/null")) return null;
+        return trimmed.length() > 2 && trimmed.charAt(1) == '/' ? trimmed.substring(2) : trimmed;
+    }
+
+    public String base() {
+        return base;
+    }
+
+    public List<FileChange> files() {
+        return new ArrayList<>(files.values());
+    }
+
+    public boolean isEmpty() {
+        return files.isEmpty();
+    }
+
+    private static String git(Path repository, String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        Process process = new ProcessBuilder(command).directory(repository.toFile()).redirectErrorStream(true).start();
+        String output = readAll(process.getInputStream());
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException(String.join(" ", command) + " failed: " + output.trim());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running " + String.join(" ", command), e);
+        }
+        return output;
+    }
+
+    private static String readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        for (int read; (read = in.read(buffer)) > 0; ) out.write(buffer, 0, read);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
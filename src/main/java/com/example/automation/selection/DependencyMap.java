@@ -0,0 +1,135 @@
+package com.example.automation.selection;
+
+import com.example.automation.utils.FrameworkConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Which page-object methods each test method has called, kept in a small properties file
+ * ("com.example.Test#method = com.example.pages.Page#a,com.example.pages.Page#b").
+ *
+ * New recordings are added to what is stored, never replace it: a test that fails early
+ * calls fewer methods, and forgetting the rest would let a later change skip it. Stale
+ * entries only make the selection larger. Delete the file to start over.
+ *
+ * Settings (system property or env var):
+ *   selection.dependencyFile – where the map is kept (default .test-dependencies.properties)
+ */
+public class DependencyMap {
+
+    private final Path file;
+    private final Map<String, Set<String>> dependencies = new TreeMap<>();
+
+    private DependencyMap(Path file) {
+        this.file = file;
+    }
+
+    public static Path defaultFile() {
+        return Paths.get(FrameworkConfig.getString("selection.dependencyFile", ".test-dependencies.properties"));
+    }
+
+    /** Reads the file; a missing or unreadable file gives an empty map. */
+    public static DependencyMap load(Path file) {
+        DependencyMap map = new DependencyMap(file);
+        if (!Files.exists(file)) return map;
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        } catch (IOException e) {
+            System.out.println("[Selection] Ignoring unreadable " + file + ": " + e.getMessage());
+            return map;
+        }
+        for (String test : props.stringPropertyNames()) {
+            Set<String> members = new TreeSet<>();
+            for (String member : props.getProperty(test).split(",")) {
+                if (!member.trim().isEmpty()) members.add(member.trim());
+            }
+            map.dependencies.put(test, members);
+        }
+        return map;
+    }
+
+    /** "class#member", the form used for tests and page-object methods alike. */
+    public static String member(String className, String memberName) {
+        return className + "#" + memberName;
+    }
+
+    public boolean isEmpty() {
+        return dependencies.isEmpty();
+    }
+
+    public int size() {
+        return dependencies.size();
+    }
+
+    public boolean contains(String test) {
+        return dependencies.containsKey(test);
+    }
+
+    public Set<String> dependenciesOf(String test) {
+        Set<String> members = dependencies.get(test);
+        return members == null ? Collections.<String>emptySet() : Collections.unmodifiableSet(members);
+    }
+
+    public void record(String test, Set<String> members) {
+        dependencies.computeIfAbsent(test, t -> new TreeSet<>()).addAll(members);
+    }
+
+    /** Tests that called the given page-object method. */
+    public Set<String> testsCalling(String className, String methodName) {
+        String wanted = member(className, methodName);
+        Set<String> tests = new TreeSet<>();
+        for (Map.Entry<String, Set<String>> e : dependencies.entrySet()) {
+            if (e.getValue().contains(wanted)) tests.add(e.getKey());
+        }
+        return tests;
+    }
+
+    /** Tests that called any method declared by the given class. */
+    public Set<String> testsUsing(String className) {
+        String prefix = className + "#";
+        Set<String> tests = new TreeSet<>();
+        for (Map.Entry<String, Set<String>> e : dependencies.entrySet()) {
+            for (String member : e.getValue()) {
+                if (member.startsWith(prefix)) {
+                    tests.add(e.getKey());
+                    break;
+                }
+            }
+        }
+        return tests;
+    }
+
+    /** True when some recorded test called a method declared by the given class. */
+    public boolean isRecorded(String className) {
+        return !testsUsing(className).isEmpty();
+    }
+
+    public void save() throws IOException {
+        Properties props = new Properties();
+        for (Map.Entry<String, Set<String>> e : dependencies.entrySet()) {
+            props.setProperty(e.getKey(), String.join(",", e.getValue()));
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            props.store(out, "Page-object methods called per test method, written by TestDependencyListener");
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public Path file() {
+        return file;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.automation.selection;
+
+import com.example.automation.metrics.PageTimings;
+import com.example.automation.utils.FrameworkConfig;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Records which page-object methods the test on the current thread calls.
+ *
+ * Fed by the page-object proxies (see PageTimings), nested calls included, so a test that
+ * calls openDirect also depends on the waitForReservationPageToLoad it runs. The listener
+ * drains the set when each test finishes and keeps it in the {@link DependencyMap}.
+ *
+ * Settings (system property or env var):
+ *   selection.record – record dependencies (default true; needs timing.pageObjects on)
+ */
+public class DependencyRecorder {
+
+    private DependencyRecorder() { /* utility class — no instances */ }
+
+    private static final boolean ENABLED = FrameworkConfig.getBoolean("selection.record", true);
+
+    // Method objects are interned by the proxies' @Origin, so recording allocates nothing per call
+    private static final ThreadLocal<Set<Method>> called = ThreadLocal.withInitial(HashSet::new);
+
+    /** False when recording is off or the page objects are not proxied, i.e. nothing would be seen. */
+    public static boolean isEnabled() {
+        return ENABLED && PageTimings.isEnabled();
+    }
+
+    public static void record(Method method) {
+        if (ENABLED) called.get().add(method);
+    }
+
+    /** "com.example.Page#method" for each method called since the last drain, and clears them. */
+    public static Set<String> drain() {
+        Set<Method> methods = called.get();
+        if (methods.isEmpty()) return Collections.emptySet();
+        Set<String> keys = new TreeSet<>();
+        for (Method method : methods) {
+            keys.add(DependencyMap.member(method.getDeclaringClass().getName(), method.getName()));
+        }
+        methods.clear();
+        return keys;
+    }
+}
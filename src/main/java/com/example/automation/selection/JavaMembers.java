@@ -0,0 +1,268 @@
+package com.example.automation.selection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The members of a Java source file's top-level type, with the lines each one spans, so a
+ * changed line can be mapped to the method or field it belongs to.
+ *
+ * Not a Java parser: it skips comments, string and character literals, counts braces and
+ * splits the type body at the end of each declaration, which is enough for the page objects,
+ * constants and test classes of this suite. A member's lines run from its first annotation
+ * or modifier to its closing brace or semicolon; a doc comment above it is not part of it.
+ */
+public class JavaMembers {
+
+    public enum Kind { METHOD, FIELD, OTHER }
+
+    private static final Pattern ANNOTATION = Pattern.compile("@[\\w.]+\\s*(\\((?:[^()]|\\([^()]*\\))*\\))?");
+    private static final Pattern TYPE_KEYWORD = Pattern.compile("\\b(class|interface|enum)\\b");
+    private static final Pattern IDENTIFIER = Pattern.compile("([A-Za-z_$][\\w$]*)\\s*$");
+
+    /** One method, field, constructor, initializer or nested type. */
+    public static class Member {
+        private final String name;
+        private final Kind kind;
+        private final boolean isPublic;
+        private final boolean isTest;
+        private final int firstLine;
+        private final int lastLine;
+
+        Member(String name, Kind kind, boolean isPublic, boolean isTest, int firstLine, int lastLine) {
+            this.name = name;
+            this.kind = kind;
+            this.isPublic = isPublic;
+            this.isTest = isTest;
+            this.firstLine = firstLine;
+            this.lastLine = lastLine;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public Kind kind() {
+            return kind;
+        }
+
+        public boolean isPublic() {
+            return isPublic;
+        }
+
+        /** Annotated with @Test. */
+        public boolean isTest() {
+            return isTest;
+        }
+
+        public int firstLine() {
+            return firstLine;
+        }
+
+        public int lastLine() {
+            return lastLine;
+        }
+
+        @Override
+        public String toString() {
+            return kind.name().toLowerCase() + " " + name + " (lines " + firstLine + "-" + lastLine + ")";
+        }
+    }
+
+    private final List<Member> members = new ArrayList<>();
+    private final boolean[] codeLines;   // 1-based: line holds something other than blanks and comments
+
+    private JavaMembers(int lineCount) {
+        this.codeLines = new boolean[lineCount + 2];
+    }
+
+    public static JavaMembers parse(String source) {
+        int lineCount = 1;
+        for (int i = 0; i < source.length(); i++) {
+            if (source.charAt(i) == '\n') lineCount++;
+        }
+        JavaMembers result = new JavaMembers(lineCount);
+        new Scanner(source, result).run();
+        return result;
+    }
+
+    public List<Member> members() {
+        return Collections.unmodifiableList(members);
+    }
+
+    /** The member spanning the 1-based line, or null for lines outside every member. */
+    public Member memberAt(int line) {
+        for (Member member : members) {
+            if (line >= member.firstLine && line <= member.lastLine) return member;
+        }
+        return null;
+    }
+
+    /** False for blank and comment-only lines, whose changes do not affect any test. */
+    public boolean isCodeLine(int line) {
+        return line >= 1 && line < codeLines.length && codeLines[line];
+    }
+
+    public List<Member> testMethods() {
+        List<Member> tests = new ArrayList<>();
+        for (Member member : members) {
+            if (member.isTest && member.kind == Kind.METHOD) tests.add(member);
+        }
+        return tests;
+    }
+
+    // ---------- the scanner ----------
+
+    private static class Scanner {
+        private final String source;
+        private final JavaMembers result;
+
+        private int line = 1;
+        private int depth;              // 1 = inside the top-level type's body
+        private int memberStart = -1;   // first line of the member being read, -1 between members
+        private final StringBuilder header = new StringBuilder();
+        private int headerParens;
+        private boolean fieldInitializer;
+        private boolean inBody;
+
+        Scanner(String source, JavaMembers result) {
+            this.source = source;
+            this.result = result;
+        }
+
+        void run() {
+            int i = 0;
+            int n = source.length();
+            while (i < n) {
+                char c = source.charAt(i);
+                char next = i + 1 < n ? source.charAt(i + 1) : '\0';
+                if (c == '\n') {
+                    line++;
+                    i++;
+                } else if (c == '/' && next == '/') {
+                    while (i < n && source.charAt(i) != '\n') i++;
+                } else if (c == '/' && next == '*') {
+                    i += 2;
+                    while (i < n && !(source.charAt(i) == '*' && i + 1 < n && source.charAt(i + 1) == '/')) {
+                        if (source.charAt(i) == '\n') line++;
+                        i++;
+                    }
+                    i += 2;
+                } else if (c == '"' || c == '\'') {
+                    code(c);
+                    i = skipLiteral(i, c);
+                } else {
+                    if (!Character.isWhitespace(c)) code(c);
+                    else if (memberStart >= 0 && depth == 1 && !inBody) header.append(' ');
+                    i++;
+                }
+            }
+        }
+
+        private int skipLiteral(int start, char quote) {
+            int i = start + 1;
+            while (i < source.length()) {
+                char c = source.charAt(i);
+                if (c == '\\') {
+                    i += 2;
+                    continue;
+                }
+                if (c == '\n') line++;   // unterminated; keep the line count honest
+                i++;
+                if (c == quote) break;
+            }
+            if (memberStart >= 0 && depth == 1 && !inBody) header.append(quote).append(quote);
+            return i;
+        }
+
+        private void code(char c) {
+            result.codeLines[line] = true;
+            if (c == '"' || c == '\'') return;
+
+            if (depth == 1 && memberStart < 0) {
+                if (c == '}' || c == ';') {
+                    if (c == '}') depth--;
+                    return;
+                }
+                memberStart = line;
+                header.setLength(0);
+                headerParens = 0;
+                fieldInitializer = false;
+                inBody = false;
+            }
+            boolean readingHeader = depth == 1 && memberStart >= 0 && !inBody;
+
+            switch (c) {
+                case '(':
+                    if (readingHeader) headerParens++;
+                    break;
+                case ')':
+                    if (readingHeader) headerParens--;
+                    break;
+                case '=':
+                    if (readingHeader && headerParens == 0) fieldInitializer = true;
+                    break;
+                case '{':
+                    if (readingHeader && headerParens > 0) break;   // annotation array, e.g. groups = {...}
+                    if (readingHeader) {
+                        if (!fieldInitializer) inBody = true;
+                        header.append(c);
+                    }
+                    depth++;
+                    return;
+                case '}':
+                    if (memberStart >= 0 && depth == 1 && headerParens > 0) break;
+                    depth--;
+                    if (depth == 1 && memberStart >= 0 && inBody) end();
+                    return;
+                case ';':
+                    if (depth == 1 && memberStart >= 0 && headerParens == 0) {
+                        end();
+                        return;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            if (readingHeader) header.append(c);
+        }
+
+        private void end() {
+            String text = header.toString();
+            String withoutAnnotations = ANNOTATION.matcher(text).replaceAll(" ");
+            boolean isTest = Pattern.compile("@Test\\b").matcher(text).find();
+            boolean isPublic = Pattern.compile("\\bpublic\\b").matcher(withoutAnnotations).find();
+
+            int brace = withoutAnnotations.indexOf('{');
+            String declaration = brace >= 0 ? withoutAnnotations.substring(0, brace) : withoutAnnotations;
+            Kind kind;
+            String name;
+            if (TYPE_KEYWORD.matcher(declaration).find()) {
+                kind = Kind.OTHER;
+                Matcher type = Pattern.compile("\\b(?:class|interface|enum)\\s+([\\w$]+)").matcher(declaration);
+                name = type.find() ? type.group(1) : "<type>";
+            } else if (!fieldInitializer && declaration.indexOf('(') >= 0) {
+                kind = Kind.METHOD;
+                name = lastIdentifier(declaration.substring(0, declaration.indexOf('(')));
+            } else if (inBody) {
+                kind = Kind.OTHER;
+                name = "<initializer>";
+            } else {
+                kind = Kind.FIELD;
+                int end = declaration.indexOf('=');
+                name = lastIdentifier(end >= 0 ? declaration.substring(0, end) : declaration.replace(";", ""));
+            }
+            result.members.add(new Member(name, kind, isPublic, isTest, memberStart, line));
+            memberStart = -1;
+            inBody = false;
+        }
+
+        private static String lastIdentifier(String text) {
+            Matcher m = IDENTIFIER.matcher(text.trim());
+            return m.find() ? m.group(1) : "<unnamed>";
+        }
+    }
+}
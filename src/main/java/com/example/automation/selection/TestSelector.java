@@ -0,0 +1,495 @@
+package com.example.automation.selection;
+
+import com.example.automation.utils.FrameworkConfig;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Picks the test methods a change can affect and writes a TestNG suite with just those.
+ *
+ * Each changed file is mapped to tests:
+ *   - page objects (pages/): a changed public method selects the tests that called it, per the
+ *     {@link DependencyMap}; any other change (locators, constructor, private helpers) selects
+ *     every test that used the class. Tests with no recorded dependencies are always added.
+ *     Classes no test called directly (GuestDetails, ReservationSnapshot) go by source references.
+ *     Preconditions call their page objects outside the proxies, once per snapshot, so those
+ *     calls are never recorded: any change to a page class a precondition's source names also
+ *     selects the tests declaring that precondition with @UsePrecondition.
+ *   - TestConstants: each changed constant selects the test methods whose source names it and
+ *     the users of any page object that does. Constants are inlined by javac, so neither the
+ *     proxies nor the bytecode can see them.
+ *   - test classes: changed @Test methods are selected; other changes select the whole class.
+ *     Helper classes under the test sources (preconditions) go by source references.
+ *   - documentation and the benchmarks module select nothing.
+ * Anything else — BaseTest, a listener, another main class, the pom, testNg.xml, resources — and
+ * a page-object change without a dependency map fall back to the full suite, with the reason printed.
+ *
+ *   mvn -q compile exec:java -Dexec.mainClass=com.example.automation.selection.TestSelector -Dexec.args="origin/main"
+ *   mvn test -Dsuite.xml=target/selected-testng.xml
+ *
+ * Settings (system property or env var):
+ *   selection.base      – git revision to diff against when no argument is given (default origin/main)
+ *   selection.suiteFile – suite written for the selection (default target/selected-testng.xml)
+ */
+public class TestSelector {
+
+    private TestSelector() { /* utility class — no instances */ }
+
+    private static final String MAIN_SOURCES = "src/main/java/";
+    private static final String TEST_SOURCES = "src/test/java/";
+    private static final String PAGES = MAIN_SOURCES + "com/example/automation/pages/";
+    private static final String CONSTANTS = MAIN_SOURCES + "com/example/automation/utils/TestConstants.java";
+    private static final Pattern PRECONDITION = Pattern.compile("\\bimplements\\s+(?:[\\w.]+\\s*,\\s*)*Precondition\\b");
+
+    /** The tests to run and why. */
+    public static class Selection {
+        private final Set<String> allTests;
+        private final Set<String> tests = new TreeSet<>();
+        private final List<String> reasons = new ArrayList<>();
+        private boolean fullSuite;
+
+        Selection(Set<String> allTests) {
+            this.allTests = allTests;
+        }
+
+        public static Selection fullSuite(String reason) {
+            Selection selection = new Selection(new TreeSet<String>());
+            selection.runAll(reason);
+            return selection;
+        }
+
+        void runAll(String reason) {
+            fullSuite = true;
+            reasons.add("full suite: " + reason);
+        }
+
+        void add(Set<String> selected, String reason) {
+            Set<String> added = new TreeSet<>(selected);
+            added.removeAll(tests);
+            if (added.isEmpty()) return;
+            tests.addAll(added);
+            reasons.add(reason + " -> " + added.size() + " test(s)");
+        }
+
+        public boolean isFullSuite() {
+            return fullSuite;
+        }
+
+        /** "class#method" keys; meaningless when {@link #isFullSuite()}. */
+        public Set<String> tests() {
+            return tests;
+        }
+
+        public List<String> reasons() {
+            return reasons;
+        }
+
+        @Override
+        public String toString() {
+            return fullSuite ? "full suite" : tests.size() + " of " + allTests.size() + " test methods";
+        }
+    }
+
+    // ---------- selection ----------
+
+    public static Selection select(Path root, ChangeSet changes, DependencyMap dependencies) throws IOException {
+        Context context = new Context(root, dependencies);
+        for (ChangeSet.FileChange change : changes.files()) {
+            String path = change.path();
+            if (isIgnored(path)) continue;
+            if (path.startsWith(TEST_SOURCES) && (path.endsWith("/BaseTest.java") || path.contains("/listeners/"))) {
+                context.selection.runAll(path + " (BaseTest or a listener) changed");
+            } else if (path.equals(CONSTANTS)) {
+                context.constantsChanged(change);
+            } else if (path.startsWith(PAGES) && path.endsWith(".java")) {
+                context.pageChanged(change);
+            } else if (path.startsWith(TEST_SOURCES) && path.endsWith(".java")) {
+                context.testSourceChanged(change);
+            } else {
+                context.selection.runAll(path + " is not mapped to tests");
+            }
+        }
+        return context.selection;
+    }
+
+    private static boolean isIgnored(String path) {
+        return path.endsWith(".md") || path.equals(".gitignore") || path.startsWith("benchmarks/");
+    }
+
+    /** Sources of the tree being selected for, read once. */
+    private static class Context {
+        final Path root;
+        final DependencyMap dependencies;
+        final Map<String, String> sources = new TreeMap<>();        // path -> text
+        final Map<String, JavaMembers> parsed = new TreeMap<>();
+        final Map<String, Set<String>> testsByClass = new TreeMap<>();
+        final Selection selection;
+        final Set<String> followedSymbols = new HashSet<>();
+
+        Context(Path root, DependencyMap dependencies) throws IOException {
+            this.root = root;
+            this.dependencies = dependencies;
+            for (String dir : new String[]{MAIN_SOURCES, TEST_SOURCES}) {
+                Path base = root.resolve(dir);
+                if (!Files.isDirectory(base)) continue;
+                try (Stream<Path> files = Files.walk(base)) {
+                    for (Path file : files.filter(f -> f.toString().endsWith(".java")).collect(Collectors.toList())) {
+                        String path = root.relativize(file).toString().replace('\\', '/');
+                        sources.put(path, new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+                    }
+                }
+            }
+            for (String path : sources.keySet()) {
+                if (!path.startsWith(TEST_SOURCES)) continue;
+                Set<String> tests = new TreeSet<>();
+                for (JavaMembers.Member test : members(path).testMethods()) {
+                    tests.add(DependencyMap.member(className(path), test.name()));
+                }
+                if (!tests.isEmpty()) testsByClass.put(className(path), tests);
+            }
+            Set<String> all = new TreeSet<>();
+            for (Set<String> tests : testsByClass.values()) all.addAll(tests);
+            this.selection = new Selection(all);
+        }
+
+        JavaMembers members(String path) {
+            return parsed.computeIfAbsent(path, p -> JavaMembers.parse(sources.get(p)));
+        }
+
+        // ---------- per kind of file ----------
+
+        void pageChanged(ChangeSet.FileChange change) {
+            String className = className(change.path());
+            if (dependencies.isEmpty()) {
+                selection.runAll("no dependency map recorded yet (" + dependencies.file() + ")");
+                return;
+            }
+            if (!dependencies.isRecorded(className)) {
+                // Not a page object the tests call (e.g. a value class): follow its uses instead
+                symbolUsed(simpleName(className), change.path());
+                return;
+            }
+            Changed changed = changedMembers(change);
+            if (changed.isEmpty()) return;
+            if (changed.classLevel) {
+                classUsed(className, change.path() + " changed outside a method");
+                return;
+            }
+            for (JavaMembers.Member member : changed.members) {
+                boolean calledMethod = member.kind() == JavaMembers.Kind.METHOD && member.isPublic()
+                        && !member.name().equals(simpleName(className));
+                if (calledMethod) {
+                    selection.add(dependencies.testsCalling(className, member.name()),
+                            simpleName(className) + "." + member.name() + " changed");
+                    addUnrecordedTests();
+                    preconditionsUsing(className);
+                } else {
+                    classUsed(className, simpleName(className) + " " + member + " changed");
+                }
+            }
+        }
+
+        void constantsChanged(ChangeSet.FileChange change) {
+            Changed changed = changedMembers(change);
+            if (changed.classLevel) {
+                selection.runAll(change.path() + " changed outside a constant");
+                return;
+            }
+            for (JavaMembers.Member member : changed.members) {
+                if (member.kind() != JavaMembers.Kind.FIELD) {
+                    selection.runAll("TestConstants " + member + " changed");
+                } else {
+                    symbolUsed(member.name(), change.path());
+                }
+            }
+        }
+
+        void testSourceChanged(ChangeSet.FileChange change) {
+            if (change.isDeleted()) {
+                selection.runAll(change.path() + " was deleted");
+                return;
+            }
+            String className = className(change.path());
+            if (!testsByClass.containsKey(className)) {
+                symbolUsed(simpleName(className), change.path());
+                return;
+            }
+            Changed changed = changedMembers(change);
+            if (changed.isEmpty()) return;
+            boolean onlyTestMethods = !changed.classLevel;
+            for (JavaMembers.Member member : changed.members) {
+                if (!member.isTest()) onlyTestMethods = false;
+            }
+            if (!onlyTestMethods) {
+                selection.add(testsByClass.get(className), simpleName(className) + " changed outside its test methods");
+                return;
+            }
+            for (JavaMembers.Member member : changed.members) {
+                selection.add(singleton(DependencyMap.member(className, member.name())), "test " + member.name() + " changed");
+            }
+        }
+
+        // ---------- propagation ----------
+
+        /** Every test that called anything on the page class, plus tests never recorded. */
+        void classUsed(String className, String reason) {
+            selection.add(dependencies.testsUsing(className), reason);
+            addUnrecordedTests();
+            preconditionsUsing(className);
+        }
+
+        /** Follows the preconditions whose source names the page class to the tests declaring them. */
+        void preconditionsUsing(String className) {
+            Pattern word = Pattern.compile("\\b" + Pattern.quote(simpleName(className)) + "\\b");
+            for (Map.Entry<String, String> source : sources.entrySet()) {
+                String path = source.getKey();
+                if (!path.startsWith(TEST_SOURCES) || !PRECONDITION.matcher(source.getValue()).find()) continue;
+                if (!word.matcher(source.getValue()).find() || usersOf(path, word).isEmpty()) continue;
+                symbolUsed(simpleName(className(path)), path);
+            }
+        }
+
+        void addUnrecordedTests() {
+            Set<String> unrecorded = new TreeSet<>(selection.allTests);
+            unrecorded.removeIf(dependencies::contains);
+            selection.add(unrecorded, "no recorded dependencies");
+        }
+
+        /** Follows a class or constant name through the sources that mention it. */
+        void symbolUsed(String symbol, String origin) {
+            if (!followedSymbols.add(symbol)) return;
+            Pattern word = Pattern.compile("\\b" + Pattern.quote(symbol) + "\\b");
+            for (Map.Entry<String, String> source : sources.entrySet()) {
+                String path = source.getKey();
+                if (path.equals(origin) || !word.matcher(source.getValue()).find()) continue;
+                if (usersOf(path, word).isEmpty()) continue;   // only named in comments or imports
+
+                if (path.startsWith(TEST_SOURCES) && (path.endsWith("/BaseTest.java") || path.contains("/listeners/"))) {
+                    selection.runAll(symbol + " is used by " + path);
+                } else if (path.startsWith(TEST_SOURCES)) {
+                    String className = className(path);
+                    if (!testsByClass.containsKey(className)) {
+                        symbolUsed(simpleName(className), path);
+                        continue;
+                    }
+                    for (JavaMembers.Member user : usersOf(path, word)) {
+                        if (user == null || !user.isTest()) {
+                            selection.add(testsByClass.get(className), symbol + " is used by " + simpleName(className));
+                        } else {
+                            selection.add(singleton(DependencyMap.member(className, user.name())),
+                                    symbol + " is used by test " + user.name());
+                        }
+                    }
+                } else if (path.startsWith(PAGES) && dependencies.isRecorded(className(path))) {
+                    classUsed(className(path), symbol + " is used by " + simpleName(className(path)));
+                } else if (path.startsWith(PAGES)) {
+                    symbolUsed(simpleName(className(path)), path);
+                } else {
+                    selection.runAll(symbol + " is used by " + path + ", which is not mapped to tests");
+                }
+            }
+        }
+
+        /** Members whose code names the symbol; null stands for a use outside every member. */
+        List<JavaMembers.Member> usersOf(String path, Pattern word) {
+            JavaMembers members = members(path);
+            String[] lines = sources.get(path).split("\n", -1);
+            List<JavaMembers.Member> users = new ArrayList<>();
+            for (int i = 0; i < lines.length; i++) {
+                String line = lines[i].trim();
+                if (line.startsWith("import ") || !members.isCodeLine(i + 1) || !word.matcher(line).find()) continue;
+                JavaMembers.Member member = members.memberAt(i + 1);
+                if (!users.contains(member)) users.add(member);
+            }
+            return users;
+        }
+
+        // ---------- changed lines -> members ----------
+
+        Changed changedMembers(ChangeSet.FileChange change) {
+            Changed changed = new Changed();
+            if (change.isDeleted() || change.isWholeFile()) {
+                changed.classLevel = true;
+                return changed;
+            }
+            JavaMembers members = members(change.path());
+            for (int[] range : change.ranges()) {
+                if (range[1] == 0) {
+                    // Lines removed between range[0] and range[0] + 1
+                    JavaMembers.Member before = members.memberAt(range[0]);
+                    if (before != null && before == members.memberAt(range[0] + 1)) changed.members.add(before);
+                    else changed.classLevel = true;
+                    continue;
+                }
+                for (int line = range[0]; line < range[0] + range[1]; line++) {
+                    if (!members.isCodeLine(line)) continue;
+                    JavaMembers.Member member = members.memberAt(line);
+                    if (member == null) changed.classLevel = true;
+                    else changed.members.add(member);
+                }
+            }
+            return changed;
+        }
+    }
+
+    private static class Changed {
+        final Set<JavaMembers.Member> members = new LinkedHashSet<>();
+        boolean classLevel;
+
+        boolean isEmpty() {
+            return members.isEmpty() && !classLevel;
+        }
+    }
+
+    private static String className(String path) {
+        String relative = path.startsWith(MAIN_SOURCES) ? path.substring(MAIN_SOURCES.length())
+                : path.startsWith(TEST_SOURCES) ? path.substring(TEST_SOURCES.length()) : path;
+        return relative.replaceAll("\\.java$", "").replace('/', '.');
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    private static Set<String> singleton(String test) {
+        Set<String> set = new TreeSet<>();
+        set.add(test);
+        return set;
+    }
+
+    // ---------- suite file ----------
+
+    /**
+     * Writes the template suite (listeners, parameters and parallel settings kept) reduced to
+     * the selected methods; &lt;test&gt; blocks left without classes are dropped. A full-suite
+     * selection is a copy of the template.
+     */
+    public static void writeSuite(Path template, Path out, Selection selection) throws IOException {
+        if (out.getParent() != null) Files.createDirectories(out.getParent());
+        if (selection.isFullSuite()) {
+            Files.copy(template, out, StandardCopyOption.REPLACE_EXISTING);
+            return;
+        }
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            Document suite = factory.newDocumentBuilder().parse(template.toFile());
+
+            NodeList tests = suite.getElementsByTagName("test");
+            for (int t = tests.getLength() - 1; t >= 0; t--) {
+                Element test = (Element) tests.item(t);
+                NodeList classesBlocks = test.getElementsByTagName("classes");
+                if (classesBlocks.getLength() == 0) continue;   // <packages> etc.: keep as written
+                Element classes = (Element) classesBlocks.item(0);
+                for (Element cls : children(classes, "class")) {
+                    if (!keepSelected(cls, selection.tests())) classes.removeChild(cls);
+                }
+                if (children(classes, "class").isEmpty()) test.getParentNode().removeChild(test);
+            }
+
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.DOCTYPE_SYSTEM, "http://testng.org/testng-1.0.dtd");
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            transformer.transform(new DOMSource(suite), new StreamResult(out.toFile()));
+        } catch (ParserConfigurationException | SAXException | TransformerException e) {
+            throw new IOException("Could not write " + out + " from " + template + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Narrows one <class> to its selected methods; false when none of them is selected
+    private static boolean keepSelected(Element cls, Set<String> selected) {
+        String className = cls.getAttribute("name");
+        Set<String> methods = new TreeSet<>();
+        for (String test : selected) {
+            if (test.startsWith(className + "#")) methods.add(test.substring(className.length() + 1));
+        }
+        if (methods.isEmpty()) return false;
+
+        List<Element> methodBlocks = children(cls, "methods");
+        Element block = methodBlocks.isEmpty() ? null : methodBlocks.get(0);
+        if (block == null) {
+            block = cls.getOwnerDocument().createElement("methods");
+            cls.appendChild(block);
+        }
+        List<Element> includes = children(block, "include");
+        Set<String> listed = new HashSet<>();
+        for (Element include : includes) {
+            listed.add(include.getAttribute("name"));
+            if (!methods.contains(include.getAttribute("name"))) block.removeChild(include);
+        }
+        if (includes.isEmpty()) {
+            for (String method : methods) {
+                Element include = cls.getOwnerDocument().createElement("include");
+                include.setAttribute("name", method);
+                block.appendChild(include);
+            }
+            return true;
+        }
+        methods.retainAll(listed);
+        return !methods.isEmpty();
+    }
+
+    private static List<Element> children(Element parent, String tag) {
+        List<Element> elements = new ArrayList<>();
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && ((Element) node).getTagName().equals(tag)) elements.add((Element) node);
+        }
+        return elements;
+    }
+
+    // ---------- command line ----------
+
+    public static void main(String[] args) throws IOException {
+        Path root = Paths.get("").toAbsolutePath();
+        String base = args.length > 0 ? args[0] : FrameworkConfig.getString("selection.base", "origin/main");
+        Path suiteFile = Paths.get(FrameworkConfig.getString("selection.suiteFile", "target/selected-testng.xml"));
+
+        DependencyMap dependencies = DependencyMap.load(DependencyMap.defaultFile());
+        Selection selection;
+        try {
+            ChangeSet changes = ChangeSet.sinceRevision(root, base);
+            selection = select(root, changes, dependencies);
+            System.out.println("[Selection] " + changes.files().size() + " changed file(s) since " + base
+                    + "; " + dependencies.size() + " tests in " + dependencies.file());
+        } catch (IOException e) {
+            selection = Selection.fullSuite("could not diff against " + base + ": " + e.getMessage());
+        }
+        for (String reason : selection.reasons()) {
+            System.out.println("[Selection]   " + reason);
+        }
+        writeSuite(root.resolve("testNg.xml"), suiteFile, selection);
+        System.out.println("[Selection] " + selection + " -> " + suiteFile);
+        if (!selection.isFullSuite()) {
+            for (String test : selection.tests()) System.out.println("[Selection]   " + test);
+        }
+    }
+}
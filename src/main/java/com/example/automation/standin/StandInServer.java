@@ -0,0 +1,337 @@
+package com.example.automation.standin;
+
+import com.example.automation.utils.FrameworkConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Embedded stand-in for the Shady Meadows app, so the suite can run without the public site.
+ *
+ * Serves a fixture of the home page (search + room cards), the reservation page
+ * (rbc calendar, price summary, booking form, alerts, confirmation) and the room /
+ * booking API the pages call, backed by {@link StandInStore}.
+ *
+ * Fault injection for every /api/ call (system properties or setters):
+ *   stand-in.latencyMs   – added delay per API call (default 0)
+ *   stand-in.errorRate   – fraction of API calls answered with stand-in.errorStatus (default 0)
+ *   stand-in.errorStatus – HTTP status for injected errors (default 500)
+ *
+ * Endpoints:
+ *   GET    /api/room[?checkin=yyyy-MM-dd&amp;checkout=yyyy-MM-dd]
+ *   GET    /api/room/{id}
+ *   GET    /api/report/room/{id}          booked ranges for the calendar
+ *   POST   /api/auth/login                {"username","password"} → token cookie (admin / password, as on the live app)
+ *   GET    /api/booking[?roomid=N]        needs the token cookie
+ *   POST   /api/booking                   201, 400 {"errors":[...]} or 409
+ *   DELETE /api/booking/{id}              needs the token cookie
+ */
+public class StandInServer {
+
+    private static final String FIXTURE_DIR = "/stand-in/";
+
+    static final String ADMIN_USER = "admin";
+    static final String ADMIN_PASSWORD = "password";
+
+    private final StandInStore store = new StandInStore();
+    private final Set<String> tokens = ConcurrentHashMap.newKeySet();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private volatile long latencyMs = FrameworkConfig.getLong("stand-in.latencyMs", 0);
+    private volatile double errorRate = Double.parseDouble(FrameworkConfig.getString("stand-in.errorRate", "0"));
+    private volatile int errorStatus = FrameworkConfig.getInt("stand-in.errorStatus", 500);
+
+    public StandInServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        executor = Executors.newFixedThreadPool(FrameworkConfig.getInt("stand-in.threads", 16), r -> {
+            Thread t = new Thread(r, "stand-in-http");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public StandInServer start() {
+        server.start();
+        System.out.println("[StandIn] Serving Shady Meadows fixture at " + baseUrl());
+        return this;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        System.out.println("[StandIn] Stopped");
+    }
+
+    /** Base URL with trailing slash, e.g. http://127.0.0.1:51234/ */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    public StandInStore store() {
+        return store;
+    }
+
+    public StandInServer setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+        return this;
+    }
+
+    public StandInServer setErrorRate(double errorRate, int errorStatus) {
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        return this;
+    }
+
+    // -------------------------------------------------------------------------
+    // Routing
+    // -------------------------------------------------------------------------
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if (path.startsWith("/api/")) {
+                if (injectFault(exchange)) return;
+                handleApi(exchange, path.substring("/api/".length()));
+            } else if (path.equals("/") || path.equals("/index.html")) {
+                sendResource(exchange, "index.html", "text/html");
+            } else if (path.startsWith("/reservation/")) {
+                sendResource(exchange, "reservation.html", "text/html");
+            } else if (path.equals("/app.js")) {
+                sendResource(exchange, "app.js", "application/javascript");
+            } else if (path.equals("/app.css")) {
+                sendResource(exchange, "app.css", "text/css");
+            } else if (path.startsWith("/images/")) {
+                sendImage(exchange, path);
+            } else {
+                send(exchange, 404, "text/plain", "Not found");
+            }
+        } catch (Exception e) {
+            send(exchange, 500, "text/plain", "Stand-in error: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean injectFault(HttpExchange exchange) throws IOException {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            send(exchange, errorStatus, "application/json",
+                    new JSONObject().put("error", "Injected failure").toString());
+            return true;
+        }
+        return false;
+    }
+
+    private void handleApi(HttpExchange exchange, String path) throws IOException {
+        String method = exchange.getRequestMethod();
+        Map<String, String> query = query(exchange);
+        String[] parts = path.split("/");
+
+        if (parts[0].equals("room") && method.equals("GET")) {
+            if (parts.length == 1) {
+                JSONArray rooms = new JSONArray();
+                for (StandInStore.Room room : store.rooms(
+                        StandInStore.parseDate(query.get("checkin")), StandInStore.parseDate(query.get("checkout")))) {
+                    rooms.put(room.toJson());
+                }
+                sendJson(exchange, 200, new JSONObject().put("rooms", rooms));
+            } else {
+                StandInStore.Room room = store.room(parseId(parts[1]));
+                if (room == null) sendJson(exchange, 404, new JSONObject().put("error", "Room not found"));
+                else sendJson(exchange, 200, room.toJson());
+            }
+        } else if (parts[0].equals("report") && parts.length == 3 && method.equals("GET")) {
+            JSONArray report = new JSONArray();
+            for (StandInStore.Booking booking : store.bookings(parseId(parts[2]))) {
+                report.put(new JSONObject()
+                        .put("start", booking.checkIn.toString())
+                        .put("end", booking.checkOut.toString())
+                        .put("title", "Unavailable"));
+            }
+            sendJson(exchange, 200, new JSONObject().put("report", report));
+        } else if (parts[0].equals("auth") && parts.length == 2 && parts[1].equals("login") && method.equals("POST")) {
+            handleLogin(exchange);
+        } else if (parts[0].equals("booking")) {
+            handleBooking(exchange, method, parts, query);
+        } else {
+            sendJson(exchange, 404, new JSONObject().put("error", "Unknown endpoint /api/" + path));
+        }
+    }
+
+    private void handleLogin(HttpExchange exchange) throws IOException {
+        JSONObject body;
+        try {
+            body = new JSONObject(readBody(exchange));
+        } catch (JSONException e) {
+            body = new JSONObject();
+        }
+        if (!ADMIN_USER.equals(body.optString("username")) || !ADMIN_PASSWORD.equals(body.optString("password"))) {
+            sendJson(exchange, 401, new JSONObject().put("error", "Invalid credentials"));
+            return;
+        }
+        String token = UUID.randomUUID().toString().replace("-", "");
+        tokens.add(token);
+        exchange.getResponseHeaders().add("Set-Cookie", "token=" + token + "; Path=/; HttpOnly");
+        sendJson(exchange, 200, new JSONObject().put("token", token));
+    }
+
+    private boolean isAuthorised(HttpExchange exchange) {
+        for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", Collections.<String>emptyList())) {
+            for (String cookie : header.split(";")) {
+                String[] pair = cookie.trim().split("=", 2);
+                if (pair.length == 2 && pair[0].equals("token") && tokens.contains(pair[1])) return true;
+            }
+        }
+        return false;
+    }
+
+    private void handleBooking(HttpExchange exchange, String method, String[] parts,
+                               Map<String, String> query) throws IOException {
+        boolean adminOnly = (method.equals("GET") && parts.length == 1) || method.equals("DELETE");
+        if (adminOnly && !isAuthorised(exchange)) {
+            sendJson(exchange, 401, new JSONObject().put("error", "Authentication required"));
+            return;
+        }
+        if (method.equals("GET") && parts.length == 1) {
+            Integer roomId = query.containsKey("roomid") ? parseId(query.get("roomid")) : null;
+            JSONArray bookings = new JSONArray();
+            for (StandInStore.Booking booking : store.bookings(roomId)) {
+                bookings.put(booking.toJson());
+            }
+            sendJson(exchange, 200, new JSONObject().put("bookings", bookings));
+        } else if (method.equals("POST") && parts.length == 1) {
+            JSONObject body;
+            try {
+                body = new JSONObject(readBody(exchange));
+            } catch (JSONException e) {
+                sendJson(exchange, 400, new JSONObject().put("errors", new JSONArray().put("Malformed JSON")));
+                return;
+            }
+            StandInStore.BookingResult result = store.book(body);
+            if (result.booking != null) {
+                sendJson(exchange, 201, new JSONObject()
+                        .put("bookingid", result.booking.id)
+                        .put("booking", result.booking.toJson()));
+            } else if (result.conflict) {
+                sendJson(exchange, 409, new JSONObject().put("errors", new JSONArray()
+                        .put("The room dates are either invalid or are already booked for one or more of the dates that you have selected.")));
+            } else {
+                sendJson(exchange, 400, new JSONObject().put("errors", new JSONArray(result.errors)));
+            }
+        } else if (method.equals("DELETE") && parts.length == 2) {
+            boolean deleted = store.deleteBooking(parseId(parts[1]));
+            send(exchange, deleted ? 202 : 404, "text/plain", "");
+        } else {
+            sendJson(exchange, 405, new JSONObject().put("error", method + " not supported"));
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+    private static int parseId(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), "UTF-8"),
+                        URLDecoder.decode(pair.substring(eq + 1), "UTF-8"));
+            }
+        }
+        return params;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        return new String(readAll(exchange.getRequestBody()), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) != -1) out.write(buffer, 0, n);
+        return out.toByteArray();
+    }
+
+    private void sendResource(HttpExchange exchange, String name, String contentType) throws IOException {
+        try (InputStream in = StandInServer.class.getResourceAsStream(FIXTURE_DIR + name)) {
+            if (in == null) {
+                send(exchange, 404, "text/plain", "Missing fixture " + name);
+                return;
+            }
+            send(exchange, 200, contentType + "; charset=utf-8", readAll(in));
+        }
+    }
+
+    private void sendImage(HttpExchange exchange, String path) throws IOException {
+        // Simple generated placeholder so image requests behave like the real site's room photos
+        String svg = "<svg xmlns='http://www.w3.org/2000/svg' width='400' height='250'>"
+                + "<rect width='100%' height='100%' fill='#a3c293'/>"
+                + "<text x='20' y='130' font-size='24'>" + path.substring("/images/".length()) + "</text></svg>";
+        send(exchange, 200, "image/svg+xml", svg);
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, JSONObject body) throws IOException {
+        send(exchange, status, "application/json", body.toString());
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        send(exchange, status, contentType, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Runs the stand-in on its own, e.g. for manual exploration or load tests:
+     *   mvn exec:java -Dexec.mainClass=com.example.automation.standin.StandInServer -Dstand-in.port=8080
+     */
+    public static void main(String[] args) throws IOException {
+        new StandInServer(FrameworkConfig.getInt("stand-in.port", 8080)).start();
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.automation.standin;
+
+import com.example.automation.utils.TestConstants;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory rooms and bookings behind the stand-in server.
+ * All access is synchronized — the server handles requests on a thread pool.
+ */
+public class StandInStore {
+
+    /** Room ids match the live app's seed data: 1 = Single, 2 = Double, 3 = Suite. */
+    static class Room {
+        final int id;
+        final String name;
+        final String type;
+        final int pricePerNight;
+        final String description;
+
+        Room(int id, String name, String type, int pricePerNight, String description) {
+            this.id = id;
+            this.name = name;
+            this.type = type;
+            this.pricePerNight = pricePerNight;
+            this.description = description;
+        }
+
+        JSONObject toJson() {
+            return new JSONObject()
+                    .put("roomid", id)
+                    .put("roomName", name)
+                    .put("type", type)
+                    .put("accessible", true)
+                    .put("image", "/images/room" + id + ".svg")
+                    .put("description", description)
+                    .put("features", new JSONArray().put("WiFi").put("TV"))
+                    .put("roomPrice", pricePerNight);
+        }
+    }
+
+    static class Booking {
+        final int id;
+        final int roomId;
+        final String firstName;
+        final String lastName;
+        final String email;
+        final String phone;
+        final LocalDate checkIn;
+        final LocalDate checkOut;
+
+        Booking(int id, int roomId, String firstName, String lastName, String email, String phone,
+                LocalDate checkIn, LocalDate checkOut) {
+            this.id = id;
+            this.roomId = roomId;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.email = email;
+            this.phone = phone;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+        }
+
+        boolean overlaps(LocalDate from, LocalDate to) {
+            return checkIn.isBefore(to) && from.isBefore(checkOut);
+        }
+
+        JSONObject toJson() {
+            return new JSONObject()
+                    .put("bookingid", id)
+                    .put("roomid", roomId)
+                    .put("firstname", firstName)
+                    .put("lastname", lastName)
+                    .put("email", email)
+                    .put("phone", phone)
+                    .put("depositpaid", false)
+                    .put("bookingdates", new JSONObject()
+                            .put("checkin", checkIn.toString())
+                            .put("checkout", checkOut.toString()));
+        }
+    }
+
+    /** Outcome of a booking attempt: the booking, or the alert messages / conflict that rejected it. */
+    static class BookingResult {
+        final Booking booking;
+        final List<String> errors;
+        final boolean conflict;
+
+        BookingResult(Booking booking, List<String> errors, boolean conflict) {
+            this.booking = booking;
+            this.errors = errors;
+            this.conflict = conflict;
+        }
+    }
+
+    private final Map<Integer, Room> rooms = new LinkedHashMap<>();
+    private final Map<Integer, Booking> bookings = new LinkedHashMap<>();
+    private final AtomicInteger nextBookingId = new AtomicInteger(1);
+
+    public StandInStore() {
+        addRoom(new Room(1, "101", TestConstants.ROOM_SINGLE, TestConstants.SINGLE_ROOM_PRICE_PER_NIGHT,
+                "A quiet single room overlooking the meadow."));
+        addRoom(new Room(2, "102", TestConstants.ROOM_DOUBLE, TestConstants.DOUBLE_ROOM_PRICE_PER_NIGHT,
+                "A bright double room with garden views."));
+        addRoom(new Room(3, "103", TestConstants.ROOM_SUITE, TestConstants.SUITE_ROOM_PRICE_PER_NIGHT,
+                "Our largest suite with a separate lounge."));
+    }
+
+    private void addRoom(Room room) {
+        rooms.put(room.id, room);
+    }
+
+    synchronized Room room(int id) {
+        return rooms.get(id);
+    }
+
+    /** All rooms, or only those free for the whole stay when both dates are given. */
+    synchronized List<Room> rooms(LocalDate checkIn, LocalDate checkOut) {
+        List<Room> result = new ArrayList<>();
+        for (Room room : rooms.values()) {
+            if (checkIn == null || checkOut == null || isFree(room.id, checkIn, checkOut)) {
+                result.add(room);
+            }
+        }
+        return result;
+    }
+
+    synchronized List<Booking> bookings(Integer roomId) {
+        List<Booking> result = new ArrayList<>();
+        for (Booking booking : bookings.values()) {
+            if (roomId == null || booking.roomId == roomId) result.add(booking);
+        }
+        return result;
+    }
+
+    synchronized boolean deleteBooking(int id) {
+        return bookings.remove(id) != null;
+    }
+
+    synchronized void reset() {
+        bookings.clear();
+    }
+
+    synchronized BookingResult book(JSONObject body) {
+        List<String> errors = validate(body);
+        if (!errors.isEmpty()) return new BookingResult(null, errors, false);
+
+        int roomId = body.optInt("roomid");
+        JSONObject dates = body.optJSONObject("bookingdates");
+        LocalDate checkIn;
+        LocalDate checkOut;
+        try {
+            checkIn  = LocalDate.parse(dates.getString("checkin"));
+            checkOut = LocalDate.parse(dates.getString("checkout"));
+        } catch (RuntimeException e) {
+            return new BookingResult(null, null, true);
+        }
+        if (!rooms.containsKey(roomId) || !checkOut.isAfter(checkIn) || !isFree(roomId, checkIn, checkOut)) {
+            return new BookingResult(null, null, true);
+        }
+
+        Booking booking = new Booking(nextBookingId.getAndIncrement(), roomId,
+                body.optString("firstname"), body.optString("lastname"),
+                body.optString("email"), body.optString("phone"), checkIn, checkOut);
+        bookings.put(booking.id, booking);
+        return new BookingResult(booking, null, false);
+    }
+
+    /**
+     * Field validation, reproducing the alerts the live app returns (see TEST_CASES.md, TC02).
+     * TC02 step 3 expects the "3 and 18" and "3 and 30" length alerts for a valid last name
+     * and step 4, with the email entered, no longer lists them (suspected DEF-04). Tying both
+     * to a blank email (and "3 and 18" to the last name's length as well) is this stand-in's
+     * assumption; the app's actual trigger has not been confirmed.
+     */
+    static List<String> validate(JSONObject body) {
+        String firstName = body.optString("firstname", "").trim();
+        String lastName  = body.optString("lastname", "").trim();
+        String email     = body.optString("email", "").trim();
+        String phone     = body.optString("phone", "").trim();
+
+        List<String> errors = new ArrayList<>();
+        if (firstName.isEmpty()) errors.add(TestConstants.ALERT_FIRSTNAME_BLANK);
+        if (lastName.isEmpty())  errors.add(TestConstants.ALERT_LASTNAME_BLANK);
+        // The email-blank conditions on these two are assumed (suspected DEF-04), not confirmed
+        if (outside(lastName, 3, 18) || email.isEmpty()) errors.add(TestConstants.ALERT_LASTNAME_SIZE);
+        if (email.isEmpty()) errors.add(TestConstants.ALERT_SUBJECT_SIZE);
+        if (email.isEmpty()) errors.add(TestConstants.ALERT_EMAIL_BLANK);
+        if (phone.isEmpty()) errors.add(TestConstants.ALERT_PHONE_BLANK);
+        if (outside(phone, 11, 21)) errors.add(TestConstants.ALERT_PHONE_SIZE);
+        return errors;
+    }
+
+    private static boolean outside(String value, int min, int max) {
+        return value.length() < min || value.length() > max;
+    }
+
+    private boolean isFree(int roomId, LocalDate checkIn, LocalDate checkOut) {
+        for (Booking booking : bookings.values()) {
+            if (booking.roomId == roomId && booking.overlaps(checkIn, checkOut)) return false;
+        }
+        return true;
+    }
+
+    static LocalDate parseDate(String value) {
+        if (value == null || value.isEmpty()) return null;
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
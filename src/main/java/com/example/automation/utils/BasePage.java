@@ -1,14 +1,31 @@
 package com.example.automation.utils;
 
+import com.example.automation.metrics.PagePerformance;
 import com.microsoft.playwright.Page;
 
 import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.ScreenshotAnimations;
+import com.microsoft.playwright.options.ScreenshotCaret;
+import com.microsoft.playwright.options.ScreenshotScale;
+import com.microsoft.playwright.options.ScreenshotType;
 import com.microsoft.playwright.options.WaitForSelectorState;
 
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
 import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
 
 public class BasePage {
 
+    /**
+     * Prefix of the Error an in-page script throws when its own deadline passes, e.g.
+     * {@code "throw new Error('" + SCRIPT_DEADLINE + "form not ready')"}; withinWaitBudget
+     * turns such an error into a TimeoutError like any other wait.
+     */
+    protected static final String SCRIPT_DEADLINE = "[wait deadline] ";
+
     protected Page page;
 
     public BasePage(Page page) {
@@ -19,41 +36,102 @@ public class BasePage {
         return page.url();
     }
 
-    public BasePage waitForElementToBeVisible(String selectorStr, int waitTimeInSeconds) {
-        this.waitForElementState(this.page.locator(selectorStr), "visible", waitTimeInSeconds);
-        return this;
+    /**
+     * Records navigation / resource timings and Web Vitals for a step that started at startNanos
+     * and checks them against the performance budgets (see PagePerformance).
+     */
+    protected void measurePerformance(String step, long startNanos) {
+        PagePerformance.capture(page, step, startNanos);
     }
 
-    public BasePage waitForElementToBeVisible(Locator locator, int waitTimeInSeconds) {
-        this.waitForElementState(locator, "visible", waitTimeInSeconds);
-        return this;
+    /**
+     * PNG of one element for a visual checkpoint (see VisualRegression). Animations are
+     * stopped, the caret hidden and the scale fixed to CSS pixels so repeated captures match;
+     * masked elements (dates, dynamic text) are painted over with a solid box.
+     */
+    protected byte[] elementScreenshot(Locator element, Locator... masks) {
+        return withinWaitBudget("screenshot of " + element, WaitBudget.maxWaitMillis(), timeout ->
+                element.screenshot(new Locator.ScreenshotOptions()
+                        .setType(ScreenshotType.PNG)
+                        .setAnimations(ScreenshotAnimations.DISABLED)
+                        .setCaret(ScreenshotCaret.HIDE)
+                        .setScale(ScreenshotScale.CSS)
+                        .setMask(Arrays.asList(masks))
+                        .setTimeout(timeout)), element);
+    }
+
+    // ---------- waits (drawn from the test's WaitBudget) ----------
+
+    public BasePage waitForElementToBeVisible(String selectorStr) {
+        return waitForElementState(this.page.locator(selectorStr), WaitForSelectorState.VISIBLE);
+    }
+
+    public BasePage waitForElementToBeVisible(Locator locator) {
+        return waitForElementState(locator, WaitForSelectorState.VISIBLE);
     }
 
-    public BasePage waitForElementState(Locator locator, String state, int waitTimeInSeconds) {
-        locator.waitFor((new Locator.WaitForOptions()).setState(this.getSelectorState(state)).setTimeout((double)(waitTimeInSeconds * 1000)));
+    /** Waits up to wait.maxMs, or whatever is left of the test's wait budget if that is less. */
+    public BasePage waitForElementState(Locator locator, WaitForSelectorState state) {
+        return waitForElementState(locator, state, WaitBudget.maxWaitMillis());
+    }
+
+    public BasePage waitForElementState(Locator locator, WaitForSelectorState state, long timeoutMs) {
+        withinWaitBudget(locator + " " + state.name().toLowerCase(), timeoutMs, timeout -> {
+            locator.waitFor(new Locator.WaitForOptions().setState(state).setTimeout(timeout));
+            return null;
+        }, locator);
         return this;
     }
 
-    private WaitForSelectorState getSelectorState(String state) {
-        WaitForSelectorState elementState = null;
-        switch (state.toLowerCase()) {
-            case "attached":
-                elementState = WaitForSelectorState.ATTACHED;
-                break;
-            case "detached":
-                elementState = WaitForSelectorState.DETACHED;
-                break;
-            case "visible":
-                elementState = WaitForSelectorState.VISIBLE;
-                break;
-            case "hidden":
-                elementState = WaitForSelectorState.HIDDEN;
-                break;
-            default:
-                elementState = WaitForSelectorState.VISIBLE;
+    /**
+     * Runs a wait that takes its timeout in milliseconds (a locator wait, or an in-page script
+     * with a deadline), charging the time to the test's wait budget under the given name.
+     * A timeout, Playwright's or a script's SCRIPT_DEADLINE error, is rethrown as a TimeoutError
+     * with the budget left and the test's slowest waits.
+     */
+    protected <T> T withinWaitBudget(String what, long timeoutMs, LongFunction<T> wait) {
+        return withinWaitBudget(what, timeoutMs, wait, null);
+    }
+
+    private <T> T withinWaitBudget(String what, long timeoutMs, LongFunction<T> wait, Locator locator) {
+        long timeout = WaitBudget.timeoutFor(what, timeoutMs);
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            return wait.apply(timeout);
+        } catch (TimeoutError e) {
+            timedOut = true;
+            WaitBudget.record(what, System.nanoTime() - start, true);
+            throw new TimeoutError(diagnostic(what, timeout, locator), e);
+        } catch (PlaywrightException e) {
+            String message = String.valueOf(e.getMessage());
+            int tag = message.indexOf(SCRIPT_DEADLINE);
+            if (tag < 0) throw e;
+            timedOut = true;
+            WaitBudget.record(what, System.nanoTime() - start, true);
+            String reason = message.substring(tag + SCRIPT_DEADLINE.length()).split("\\R", 2)[0].trim();
+            throw new TimeoutError(diagnostic(what + " (" + reason + ")", timeout, locator), e);
+        } finally {
+            if (!timedOut) WaitBudget.record(what, System.nanoTime() - start, false);
         }
+    }
+
+    private String diagnostic(String what, long timeout, Locator locator) {
+        StringBuilder text = new StringBuilder(String.format("Gave up waiting for %s after %d ms (wait budget left: %s) on %s",
+                what, timeout, remainingBudget(), page.url()));
+        if (locator != null) {
+            try {
+                text.append(String.format("; %d matching element(s)", locator.count()));
+            } catch (PlaywrightException ignored) {
+                // page gone; the URL above is all we can say
+            }
+        }
+        return text.append('.').append(System.lineSeparator()).append(WaitBudget.slowestWaits()).toString();
+    }
 
-        return elementState;
+    private static String remainingBudget() {
+        long remaining = WaitBudget.remainingMillis();
+        return remaining == Long.MAX_VALUE ? "no budget" : remaining + " ms";
     }
 
 }
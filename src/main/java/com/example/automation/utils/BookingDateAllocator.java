@@ -0,0 +1,127 @@
+package com.example.automation.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out non-overlapping stays per room type to concurrent workers.
+ *
+ * Each room type has one atomic cursor (an epoch day); a stay is claimed with a single
+ * compare-and-set that moves the cursor past the stay plus a one-day gap, so two workers
+ * can never get overlapping dates for the same room and nobody blocks. When the cursor
+ * runs past the horizon it wraps back to the earliest allowed check-in.
+ *
+ * Each room's cursor is kept in a small properties file so the next run continues after this
+ * run's bookings instead of colliding with them. The file is written once, when the JVM exits,
+ * from the cursors' final values — so a cursor that wrapped is saved as it is, and allocation
+ * never touches the disk.
+ *
+ * Which window a test gets depends on the date, the state file and the order in which
+ * concurrent tests claim, so no seed reproduces it. Each claim is logged instead with the
+ * room, the window and the claiming thread; dates.today (see {@link DateUtils}) pins the date
+ * for a rerun.
+ *
+ * Settings (system property or env var):
+ *   dates.minDaysAhead  – earliest check-in, days from today (default 30)
+ *   dates.horizonDays   – latest check-out, days from today (default 365)
+ *   dates.stateFile     – where issued windows are remembered (default .booking-dates.properties)
+ */
+public class BookingDateAllocator {
+
+    private static final int GAP_DAYS = 1;
+    private static final BookingDateAllocator SHARED = new BookingDateAllocator();
+
+    private final int minDaysAhead = FrameworkConfig.getInt("dates.minDaysAhead", 30);
+    private final int horizonDays  = FrameworkConfig.getInt("dates.horizonDays", 365);
+    private final Path stateFile   = Paths.get(FrameworkConfig.getString("dates.stateFile", ".booking-dates.properties"));
+    private final long seed = System.nanoTime();
+    private final Properties persisted = new Properties();
+
+    private final Map<String, AtomicLong> cursors = new ConcurrentHashMap<>();
+
+    private BookingDateAllocator() {
+        load();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::save, "booking-dates-save"));
+    }
+
+    public static BookingDateAllocator shared() {
+        return SHARED;
+    }
+
+    /**
+     * Claims the next free stay of the given length for a room type and logs it.
+     */
+    public StayWindow allocate(String roomType, int nights) {
+        long today = DateUtils.today().toEpochDay();
+        long earliest = today + minDaysAhead;
+        long latest = today + horizonDays;
+        if (earliest + nights > latest) {
+            throw new IllegalArgumentException(nights + " nights do not fit between dates.minDaysAhead and dates.horizonDays");
+        }
+
+        AtomicLong cursor = cursors.computeIfAbsent(roomType, room -> new AtomicLong(initialCursor(room, earliest, latest)));
+        while (true) {
+            long current = cursor.get();
+            long checkIn = Math.max(current, earliest);
+            if (checkIn + nights > latest) {
+                checkIn = earliest;   // wrap around; far enough from the oldest bookings of this cycle
+            }
+            long next = checkIn + nights + GAP_DAYS;
+            if (cursor.compareAndSet(current, next)) {
+                StayWindow stay = new StayWindow(LocalDate.ofEpochDay(checkIn), LocalDate.ofEpochDay(checkIn + nights));
+                System.out.println("[DateAllocator] " + roomType + " " + stay.getCheckIn() + ".." + stay.getCheckOut()
+                        + " (" + nights + " nights, today=" + LocalDate.ofEpochDay(today) + ") for "
+                        + Thread.currentThread().getName());
+                return stay;
+            }
+        }
+    }
+
+    private long initialCursor(String roomType, long earliest, long latest) {
+        String saved = persisted.getProperty(roomType);
+        if (saved != null) {
+            long day = Long.parseLong(saved);
+            if (day >= earliest) return day;   // past the horizon, allocate() wraps it
+        }
+        // Spread room types and runs over the horizon so fresh runs rarely start on the same day
+        Random random = new Random(seed ^ roomType.hashCode());
+        return earliest + random.nextInt((int) Math.max(1, (latest - earliest) / 2));
+    }
+
+    private void load() {
+        if (!Files.exists(stateFile)) return;
+        try (InputStream in = Files.newInputStream(stateFile)) {
+            persisted.load(in);
+        } catch (IOException e) {
+            System.out.println("[DateAllocator] Ignoring unreadable " + stateFile + ": " + e.getMessage());
+        }
+    }
+
+    // Runs at JVM exit; room types this run did not use keep their saved cursor
+    private void save() {
+        if (cursors.isEmpty()) return;
+        for (Map.Entry<String, AtomicLong> cursor : cursors.entrySet()) {
+            persisted.setProperty(cursor.getKey(), Long.toString(cursor.getValue().get()));
+        }
+        try {
+            Path tmp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                persisted.store(out, "Next free check-in (epoch day) per room type, written by BookingDateAllocator");
+            }
+            Files.move(tmp, stateFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.out.println("[DateAllocator] Could not save " + stateFile + ": " + e.getMessage());
+        }
+    }
+}
@@ -5,6 +5,10 @@ import java.util.*;
 
 /**
  * Utility methods for date generation used across test cases.
+ *
+ * Settings (system property or env var):
+ *   dates.today – ISO date (e.g. 2026-03-01) used as "today" for all generated dates, to rerun a
+ *                 test against the same date window it failed with (default: the real date)
  */
 public class DateUtils {
 
@@ -12,15 +16,61 @@ public class DateUtils {
 
     private static final int FUTURE_DATE_MIN_DAYS = 30;
     private static final int FUTURE_DATE_MAX_DAYS = 120;
+    private static final String PINNED_TODAY = FrameworkConfig.getString("dates.today", null);
+
+    // Set while a recorded/replayed scenario runs on this thread, so dates are reproducible
+    private static final ThreadLocal<Random>    scenarioRandom = new ThreadLocal<>();
+    private static final ThreadLocal<LocalDate> scenarioToday  = new ThreadLocal<>();
 
 
     /**
      * Returns a random future LocalDate between 30 and 120 days from today.
+     * Inside a scenario the same seed and "today" always give the same date.
+     * Tests that book a room should use {@link #allocateStay(String, int)} instead —
+     * two random dates for the same room can collide when tests run in parallel.
      */
     public static LocalDate getRandomFutureDate() {
+        Random random = scenarioRandom.get();
         int randomDays = FUTURE_DATE_MIN_DAYS
-                + new Random().nextInt(FUTURE_DATE_MAX_DAYS - FUTURE_DATE_MIN_DAYS + 1);
-        return LocalDate.now().plusDays(randomDays);
+                + (random != null ? random : new Random()).nextInt(FUTURE_DATE_MAX_DAYS - FUTURE_DATE_MIN_DAYS + 1);
+        return today().plusDays(randomDays);
+    }
+
+    /**
+     * Returns a stay for the given room type that no other test in this run (or a recent run)
+     * has been given. Inside a scenario it is derived from the scenario seed instead, so a
+     * recorded HAR is replayed with exactly the same dates.
+     */
+    public static StayWindow allocateStay(String roomType, int nights) {
+        if (scenarioRandom.get() != null) {
+            LocalDate checkIn = getRandomFutureDate();
+            return new StayWindow(checkIn, checkIn.plusDays(nights));
+        }
+        return BookingDateAllocator.shared().allocate(roomType, nights);
+    }
+
+    /**
+     * Today's date: the pinned date of the scenario running on this thread, else dates.today,
+     * else the real date.
+     */
+    public static LocalDate today() {
+        LocalDate pinned = scenarioToday.get();
+        if (pinned != null) return pinned;
+        return PINNED_TODAY != null ? LocalDate.parse(PINNED_TODAY) : LocalDate.now();
+    }
+
+    /**
+     * Makes date generation on this thread deterministic until {@link #endScenario()} —
+     * used by HAR record/replay so a replayed test requests exactly the recorded URLs.
+     */
+    public static void beginScenario(long seed, LocalDate today) {
+        scenarioRandom.set(new Random(seed));
+        scenarioToday.set(today);
+    }
+
+    public static void endScenario() {
+        scenarioRandom.remove();
+        scenarioToday.remove();
     }
 
 }
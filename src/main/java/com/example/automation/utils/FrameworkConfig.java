@@ -0,0 +1,34 @@
+package com.example.automation.utils;
+
+/**
+ * Reads framework settings from JVM system properties (-Dkey=value),
+ * falling back to an environment variable (pool.maxBrowsers → POOL_MAXBROWSERS)
+ * and finally to the supplied default.
+ */
+public class FrameworkConfig {
+
+    private FrameworkConfig() { /* utility class — no instances */ }
+
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            value = System.getenv(key.toUpperCase().replace('.', '_'));
+        }
+        return (value == null || value.trim().isEmpty()) ? defaultValue : value.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.automation.utils;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * A check-in / check-out pair handed out for one booking.
+ */
+public class StayWindow {
+
+    private final LocalDate checkIn;
+    private final LocalDate checkOut;
+
+    public StayWindow(LocalDate checkIn, LocalDate checkOut) {
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+    }
+
+    public LocalDate getCheckIn() {
+        return checkIn;
+    }
+
+    public LocalDate getCheckOut() {
+        return checkOut;
+    }
+
+    public int nights() {
+        return (int) ChronoUnit.DAYS.between(checkIn, checkOut);
+    }
+
+    public boolean overlaps(StayWindow other) {
+        return checkIn.isBefore(other.checkOut) && other.checkIn.isBefore(checkOut);
+    }
+
+    @Override
+    public String toString() {
+        return checkIn + " - " + checkOut;
+    }
+}
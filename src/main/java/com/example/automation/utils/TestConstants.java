@@ -27,6 +27,12 @@ public class TestConstants {
     // ---------- Invalid data ----------
     public static final String INVALID_PHONE_TOO_LONG = "56345678910102910291029102910";
 
+    // ---------- Field size limits (as reported by the size alerts) ----------
+    public static final int LASTNAME_MIN_LENGTH = 3;
+    public static final int LASTNAME_MAX_LENGTH = 18;
+    public static final int PHONE_MIN_LENGTH    = 11;
+    public static final int PHONE_MAX_LENGTH    = 21;
+
     // ---------- Expected UI text ----------
     public static final String HOME_PAGE_HEADER          = "Shady Meadows B&B";
     public static final String BOOKING_CONFIRMED_MESSAGE = "Booking Confirmed";
@@ -37,6 +43,11 @@ public class TestConstants {
     public static final String ROOM_DOUBLE = "Double";
     public static final String ROOM_SUITE  = "Suite";
 
+    // ---------- Room ids (as used in /reservation/{id} URLs) ----------
+    public static final int ROOM_SINGLE_ID = 1;
+    public static final int ROOM_DOUBLE_ID = 2;
+    public static final int ROOM_SUITE_ID  = 3;
+
     // ---------- Date format ----------
     public static final String DATE_FORMAT = "dd/MM/yyyy";
 
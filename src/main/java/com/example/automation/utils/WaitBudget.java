@@ -0,0 +1,181 @@
+package com.example.automation.utils;
+
+import com.microsoft.playwright.TimeoutError;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-test budget for the time page objects spend waiting.
+ *
+ * BaseTest starts a budget for every test; each wait in {@link BasePage} draws from it and
+ * gets at most what is left (and never more than wait.maxMs for a single wait). Once the
+ * budget is used up, the next wait fails at once with the slowest waits so far instead of
+ * sitting out another full timeout. Time is recorded per waited-for locator or script, so
+ * the report shows where a slow test spent it.
+ *
+ * Threads that never start a budget (the load generator's users) only get the per-wait cap.
+ *
+ * Settings (system property or env var):
+ *   wait.budgetMs – total waiting per test (default 45000)
+ *   wait.maxMs    – longest single wait (default 10000)
+ */
+public class WaitBudget {
+
+    private WaitBudget() { /* utility class — no instances */ }
+
+    private static final long BUDGET_MS   = FrameworkConfig.getLong("wait.budgetMs", 45_000);
+    private static final long MAX_WAIT_MS = FrameworkConfig.getLong("wait.maxMs", 10_000);
+
+    private static final ThreadLocal<State> current = new ThreadLocal<>();
+    private static final LongAdder exhausted = new LongAdder();
+    private static final LongAdder timedOut = new LongAdder();
+
+    private static class State {
+        final long budgetNanos;
+        long spentNanos;
+        final Map<String, long[]> waits = new LinkedHashMap<>();   // what → {calls, totalNanos, maxNanos, timeouts}
+
+        State(long budgetMs) {
+            this.budgetNanos = budgetMs * 1_000_000;
+        }
+    }
+
+    /** One waited-for locator (or script) within a test. */
+    public static class Row {
+        private final String what;
+        private final long[] stats;
+
+        Row(String what, long[] stats) {
+            this.what = what;
+            this.stats = stats.clone();
+        }
+
+        public String what() {
+            return what;
+        }
+
+        public long calls() {
+            return stats[0];
+        }
+
+        public double totalMillis() {
+            return stats[1] / 1_000_000.0;
+        }
+
+        public double maxMillis() {
+            return stats[2] / 1_000_000.0;
+        }
+
+        public long timeouts() {
+            return stats[3];
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s: %.0f ms in %d waits%s", what, totalMillis(), calls(),
+                    timeouts() > 0 ? ", " + timeouts() + " timed out" : "");
+        }
+    }
+
+    /** Starts the default budget for the test on this thread. */
+    public static void start() {
+        start(BUDGET_MS);
+    }
+
+    public static void start(long budgetMs) {
+        current.set(new State(budgetMs));
+    }
+
+    public static long maxWaitMillis() {
+        return MAX_WAIT_MS;
+    }
+
+    /** Milliseconds left for this test, or Long.MAX_VALUE when no budget was started. */
+    public static long remainingMillis() {
+        State state = current.get();
+        return state == null ? Long.MAX_VALUE : Math.max(0, (state.budgetNanos - state.spentNanos) / 1_000_000);
+    }
+
+    /**
+     * The timeout to use for a wait that would like requestedMs: capped at wait.maxMs and
+     * at what is left of the budget.
+     *
+     * @throws TimeoutError at once when the budget is used up
+     */
+    public static long timeoutFor(String what, long requestedMs) {
+        long remaining = remainingMillis();
+        if (remaining <= 0) {
+            exhausted.increment();
+            throw new TimeoutError(String.format("Wait budget of %d ms for this test is used up; not waiting for %s.%n%s",
+                    current.get().budgetNanos / 1_000_000, what, slowestWaits()));
+        }
+        return Math.max(1, Math.min(Math.min(requestedMs, MAX_WAIT_MS), remaining));
+    }
+
+    /** Charges a finished (or timed-out) wait to the budget and to its row. */
+    public static void record(String what, long nanos, boolean timedOutWait) {
+        if (timedOutWait) timedOut.increment();
+        State state = current.get();
+        if (state == null) return;
+        state.spentNanos += nanos;
+        long[] stats = state.waits.computeIfAbsent(what, w -> new long[4]);
+        stats[0]++;
+        stats[1] += nanos;
+        stats[2] = Math.max(stats[2], nanos);
+        if (timedOutWait) stats[3]++;
+    }
+
+    /** The test's slowest waits, longest first, for failure messages. */
+    public static String slowestWaits() {
+        List<Row> rows = rows();
+        if (rows.isEmpty()) return "No waits recorded in this test.";
+        rows.sort((a, b) -> Double.compare(b.totalMillis(), a.totalMillis()));
+        StringBuilder text = new StringBuilder(String.format("Waited %d ms so far; slowest:",
+                current.get().spentNanos / 1_000_000));
+        for (Row row : rows.subList(0, Math.min(5, rows.size()))) {
+            text.append(System.lineSeparator()).append("  ").append(row);
+        }
+        return text.toString();
+    }
+
+    private static List<Row> rows() {
+        State state = current.get();
+        if (state == null) return new ArrayList<>();
+        List<Row> rows = new ArrayList<>();
+        for (Map.Entry<String, long[]> e : state.waits.entrySet()) {
+            rows.add(new Row(e.getKey(), e.getValue()));
+        }
+        return rows;
+    }
+
+    /** Ends the budget on this thread and returns its waits in first-wait order. */
+    public static List<Row> finish() {
+        List<Row> rows = rows();
+        current.remove();
+        return rows.isEmpty() ? Collections.<Row>emptyList() : rows;
+    }
+
+    /** Small HTML table for the report. */
+    public static String toHtmlTable(List<Row> rows) {
+        StringBuilder html = new StringBuilder("<table class='table table-sm'><tr><th>Waited for</th>"
+                + "<th>Waits</th><th>Total ms</th><th>Max ms</th><th>Timeouts</th></tr>");
+        for (Row row : rows) {
+            html.append(String.format(Locale.ROOT, "<tr><td>%s</td><td>%d</td><td>%.0f</td><td>%.0f</td><td>%d</td></tr>",
+                    row.what().replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;"),
+                    row.calls(), row.totalMillis(), row.maxMillis(), row.timeouts()));
+        }
+        return html.append("</table>").toString();
+    }
+
+    /** Settings and run totals, for the report's system info. */
+    public static String summary() {
+        return String.format("%d ms per test, %d ms per wait; %d waits timed out, %d refused after the budget ran out",
+                BUDGET_MS, MAX_WAIT_MS, timedOut.sum(), exhausted.sum());
+    }
+}
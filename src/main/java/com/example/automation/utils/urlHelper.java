@@ -1,6 +1,38 @@
 package com.example.automation.utils;
 
+import java.time.LocalDate;
+
+/**
+ * Resolves the base URL of the app under test.
+ *
+ * Order: a URL set at runtime (e.g. by the stand-in server listener),
+ * then -Dapp.baseUrl, then the public site.
+ */
 public class urlHelper {
 
-    public static final String homePageUrl = "https://automationintesting.online/";
+    public static final String LIVE_BASE_URL = "https://automationintesting.online/";
+
+    private static volatile String runtimeBaseUrl;
+
+    public static String baseUrl() {
+        String url = runtimeBaseUrl != null ? runtimeBaseUrl : FrameworkConfig.getString("app.baseUrl", LIVE_BASE_URL);
+        return url.endsWith("/") ? url : url + "/";
+    }
+
+    public static String homePageUrl() {
+        return baseUrl();
+    }
+
+    /**
+     * Reservation page URL for a room and stay, e.g. .../reservation/2?checkin=2026-05-01&amp;checkout=2026-05-05
+     * — the same URL the home page's "Book now" link produces after a search.
+     */
+    public static String reservationUrl(int roomId, LocalDate checkIn, LocalDate checkOut) {
+        return baseUrl() + "reservation/" + roomId + "?checkin=" + checkIn + "&checkout=" + checkOut;
+    }
+
+    /** Points every test at another instance of the app, e.g. the embedded stand-in. */
+    public static void useBaseUrl(String url) {
+        runtimeBaseUrl = url;
+    }
 }
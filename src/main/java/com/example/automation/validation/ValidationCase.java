@@ -0,0 +1,73 @@
+package com.example.automation.validation;
+
+import com.example.automation.pages.GuestDetails;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One row of a {@link ValidationMatrix}: the form values to submit, the alerts that must be
+ * shown and, for rows checking an accepted boundary, the alerts that must not be.
+ *
+ * The expected alerts are a subset of what the app shows: any other alert is ignored, because
+ * the live app's alert set is not stable enough to compare exactly (DEF-02, suspected DEF-04) — the same
+ * reason TC02 uses containsAll. Order is ignored too, but counts are not, because the email and
+ * phone "must not be empty" alerts have the same text (DEF-03).
+ */
+public class ValidationCase {
+
+    private final String name;
+    private final GuestDetails guest;
+    private final List<String> expectedAlerts;
+    private final List<String> absentAlerts;
+
+    ValidationCase(String name, GuestDetails guest, List<String> expectedAlerts, List<String> absentAlerts) {
+        this.name = name;
+        this.guest = guest;
+        this.expectedAlerts = Collections.unmodifiableList(new ArrayList<>(expectedAlerts));
+        this.absentAlerts = Collections.unmodifiableList(new ArrayList<>(absentAlerts));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public GuestDetails getGuest() {
+        return guest;
+    }
+
+    public List<String> getExpectedAlerts() {
+        return expectedAlerts;
+    }
+
+    public List<String> getAbsentAlerts() {
+        return absentAlerts;
+    }
+
+    ValidationCase withAbsentAlerts(List<String> alerts) {
+        return new ValidationCase(name, guest, expectedAlerts, alerts);
+    }
+
+    /**
+     * Null when every expected alert was shown (as often as expected, in any order) and none
+     * of the absent ones was; otherwise a description of what was missing and what was not
+     * allowed.
+     */
+    public String compare(List<String> actualAlerts) {
+        List<String> missing = new ArrayList<>(expectedAlerts);
+        List<String> forbidden = new ArrayList<>();
+        for (String alert : actualAlerts) {
+            String text = alert.trim();
+            if (!missing.remove(text) && absentAlerts.contains(text)) forbidden.add(text);
+        }
+        if (missing.isEmpty() && forbidden.isEmpty()) return null;
+        return String.format("Alerts for '%s' (%s): missing %s, not allowed %s; got %s",
+                name, guest, missing, forbidden, actualAlerts);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.automation.validation;
+
+import com.example.automation.pages.GuestDetails;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.example.automation.utils.TestConstants.*;
+
+/**
+ * Declarative table of booking-form inputs and the alerts each should produce.
+ *
+ * Every row is submitted on its own fresh reservation page, so rows are independent and can
+ * run concurrently (see VerifyBookingFormValidationMatrixTest). An empty string submits the
+ * field blank.
+ *
+ * Each row lists the alerts that must be shown; other alerts are ignored (see ValidationCase).
+ * Every row keeps at least one field invalid, so no row ever creates a booking. Rows that check
+ * an accepted boundary (e.g. an 11-digit phone) leave the first name blank, expect that alert
+ * and name the boundary's size alert as one that must not appear ({@link #absent}).
+ */
+public class ValidationMatrix {
+
+    private final List<ValidationCase> cases = new ArrayList<>();
+
+    public ValidationMatrix row(String name, String firstName, String lastName, String email, String phone,
+                                String... expectedAlerts) {
+        cases.add(new ValidationCase(name, new GuestDetails(firstName, lastName, email, phone),
+                Arrays.asList(expectedAlerts), Collections.<String>emptyList()));
+        return this;
+    }
+
+    /** Alerts the last row must not show. */
+    public ValidationMatrix absent(String... alerts) {
+        int last = cases.size() - 1;
+        cases.set(last, cases.get(last).withAbsentAlerts(Arrays.asList(alerts)));
+        return this;
+    }
+
+    public List<ValidationCase> cases() {
+        return Collections.unmodifiableList(cases);
+    }
+
+    /**
+     * The booking form's rules as the app reports them. Only alerts TC02 has seen the live app
+     * show for the same inputs, or that the row's own invalid field must cause, are expected:
+     * the "3 and 18" / "3 and 30" alerts of a blank email (suspected DEF-04) were only observed with the
+     * phone blank too, so the "email blank" row does not expect them.
+     */
+    public static ValidationMatrix bookingForm() {
+        String first = GUEST_FIRST_NAME;
+        String last = GUEST_LAST_NAME;
+        String email = GUEST_EMAIL;
+        String phone = GUEST_PHONE;
+
+        return new ValidationMatrix()
+                // ---------- blank fields, filled one by one ----------
+                .row("all fields blank", "", "", "", "",
+                        ALERT_FIRSTNAME_BLANK, ALERT_LASTNAME_BLANK, ALERT_LASTNAME_SIZE, ALERT_SUBJECT_SIZE,
+                        ALERT_EMAIL_BLANK, ALERT_PHONE_BLANK, ALERT_PHONE_SIZE)
+                .row("only first name", first, "", "", "",
+                        ALERT_LASTNAME_BLANK, ALERT_LASTNAME_SIZE, ALERT_SUBJECT_SIZE,
+                        ALERT_EMAIL_BLANK, ALERT_PHONE_BLANK, ALERT_PHONE_SIZE)
+                .row("first and last name", first, last, "", "",
+                        ALERT_LASTNAME_SIZE, ALERT_SUBJECT_SIZE, ALERT_EMAIL_BLANK, ALERT_PHONE_BLANK, ALERT_PHONE_SIZE)
+                .row("phone blank", first, last, email, "",
+                        ALERT_PHONE_BLANK, ALERT_PHONE_SIZE)
+                .row("email blank", first, last, "", phone,
+                        ALERT_EMAIL_BLANK)
+                .row("first name blank", "", last, email, phone,
+                        ALERT_FIRSTNAME_BLANK)
+                .row("last name blank", first, "", email, phone,
+                        ALERT_LASTNAME_BLANK, ALERT_LASTNAME_SIZE)
+                // ---------- phone size ----------
+                .row("phone far too long", first, last, email, INVALID_PHONE_TOO_LONG,
+                        ALERT_PHONE_SIZE)
+                .row("phone one below minimum", first, last, email, digits(PHONE_MIN_LENGTH - 1),
+                        ALERT_PHONE_SIZE)
+                .row("phone one above maximum", first, last, email, digits(PHONE_MAX_LENGTH + 1),
+                        ALERT_PHONE_SIZE)
+                .row("phone at minimum accepted", "", last, email, digits(PHONE_MIN_LENGTH),
+                        ALERT_FIRSTNAME_BLANK).absent(ALERT_PHONE_SIZE)
+                .row("phone at maximum accepted", "", last, email, digits(PHONE_MAX_LENGTH),
+                        ALERT_FIRSTNAME_BLANK).absent(ALERT_PHONE_SIZE)
+                // ---------- last name size ----------
+                .row("last name one below minimum", first, letters(LASTNAME_MIN_LENGTH - 1), email, phone,
+                        ALERT_LASTNAME_SIZE)
+                .row("last name one above maximum", first, letters(LASTNAME_MAX_LENGTH + 1), email, phone,
+                        ALERT_LASTNAME_SIZE)
+                .row("last name at minimum accepted", "", letters(LASTNAME_MIN_LENGTH), email, phone,
+                        ALERT_FIRSTNAME_BLANK).absent(ALERT_LASTNAME_SIZE)
+                .row("last name at maximum accepted", "", letters(LASTNAME_MAX_LENGTH), email, phone,
+                        ALERT_FIRSTNAME_BLANK).absent(ALERT_LASTNAME_SIZE);
+    }
+
+    private static String digits(int length) {
+        StringBuilder value = new StringBuilder("0");
+        while (value.length() < length) value.append((char) ('1' + value.length() % 9));
+        return value.substring(0, length);
+    }
+
+    private static String letters(int length) {
+        StringBuilder value = new StringBuilder("D");
+        while (value.length() < length) value.append((char) ('a' + (value.length() - 1) % 26));
+        return value.substring(0, length);
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.automation.visual;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Compares two images tile by tile on a shared fork/join pool.
+ *
+ * The canvas is the larger of the two sizes and is cut into square tiles; each tile is one
+ * fork/join leaf. A leaf compares its pixels straight out of the two int[] arrays, writes
+ * its part of the diff image and its own count and bounding box into per-tile slots, so
+ * tiles never share state and the totals are summed once at the end.
+ *
+ * A pixel differs when any channel (alpha included) is more than channelTolerance apart, or
+ * when only one of the images covers it (a size change). Pixels inside an ignore region are
+ * never counted. In the diff image differing pixels are magenta, ignored ones blue-grey and
+ * matching ones a faded grey copy of the baseline.
+ */
+public class PixelDiff {
+
+    private PixelDiff() { /* utility class — no instances */ }
+
+    private static final int DIFFERENT = 0xFFFF00FF;
+    private static final int IGNORED   = 0xFF9FA8DA;
+
+    /** What one comparison found. */
+    public static class Result {
+        private final Pixels diffImage;
+        private final long differentPixels;
+        private final long comparedPixels;
+        private final Rectangle changedArea;
+        private final boolean sizeChanged;
+        private final long nanos;
+
+        Result(Pixels diffImage, long differentPixels, long comparedPixels, Rectangle changedArea,
+               boolean sizeChanged, long nanos) {
+            this.diffImage = diffImage;
+            this.differentPixels = differentPixels;
+            this.comparedPixels = comparedPixels;
+            this.changedArea = changedArea;
+            this.sizeChanged = sizeChanged;
+            this.nanos = nanos;
+        }
+
+        public Pixels diffImage() {
+            return diffImage;
+        }
+
+        public long differentPixels() {
+            return differentPixels;
+        }
+
+        /** Pixels outside the ignore regions. */
+        public long comparedPixels() {
+            return comparedPixels;
+        }
+
+        /** Percentage of the compared pixels that differ. */
+        public double differentPercent() {
+            return comparedPixels == 0 ? 0 : 100.0 * differentPixels / comparedPixels;
+        }
+
+        /** Bounding box of the differing pixels, or null when none differ. */
+        public Rectangle changedArea() {
+            return changedArea;
+        }
+
+        public boolean sizeChanged() {
+            return sizeChanged;
+        }
+
+        public double millis() {
+            return nanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            String area = changedArea == null ? "" : String.format(Locale.ROOT, " in %dx%d at (%d,%d)",
+                    changedArea.width, changedArea.height, changedArea.x, changedArea.y);
+            return String.format(Locale.ROOT, "%d of %d pixels differ (%.3f%%)%s%s", differentPixels, comparedPixels,
+                    differentPercent(), area, sizeChanged ? ", size changed" : "");
+        }
+    }
+
+    public static Result compare(Pixels baseline, Pixels actual, int channelTolerance, List<Rectangle> ignoreRegions,
+                                 int tileSize, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        Canvas canvas = new Canvas(baseline, actual, channelTolerance,
+                ignoreRegions == null ? Collections.<Rectangle>emptyList() : ignoreRegions, Math.max(8, tileSize));
+        pool.invoke(new Tiles(canvas, 0, canvas.tileCount));
+
+        long different = 0;
+        long compared = 0;
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = -1, maxY = -1;
+        for (int t = 0; t < canvas.tileCount; t++) {
+            different += canvas.tileDifferent[t];
+            compared += canvas.tileCompared[t];
+            if (canvas.tileDifferent[t] > 0) {
+                minX = Math.min(minX, canvas.tileMinX[t]);
+                minY = Math.min(minY, canvas.tileMinY[t]);
+                maxX = Math.max(maxX, canvas.tileMaxX[t]);
+                maxY = Math.max(maxY, canvas.tileMaxY[t]);
+            }
+        }
+        Rectangle changed = maxX < 0 ? null : new Rectangle(minX, minY, maxX - minX + 1, maxY - minY + 1);
+        boolean sizeChanged = baseline.width() != actual.width() || baseline.height() != actual.height();
+        return new Result(new Pixels(canvas.width, canvas.height, canvas.diff), different, compared, changed,
+                sizeChanged, System.nanoTime() - start);
+    }
+
+    // ---------- shared, read-only input plus one output slot per tile ----------
+
+    private static class Canvas {
+        final int[] base, act, diff;
+        final int baseW, baseH, actW, actH, width, height;
+        final int tolerance, tileSize, tilesX, tileCount;
+        final List<Rectangle> ignore;
+        final int[] tileDifferent, tileCompared, tileMinX, tileMinY, tileMaxX, tileMaxY;
+
+        Canvas(Pixels baseline, Pixels actual, int tolerance, List<Rectangle> ignore, int tileSize) {
+            this.base = baseline.argb();
+            this.act = actual.argb();
+            this.baseW = baseline.width();
+            this.baseH = baseline.height();
+            this.actW = actual.width();
+            this.actH = actual.height();
+            this.width = Math.max(baseW, actW);
+            this.height = Math.max(baseH, actH);
+            this.diff = new int[width * height];
+            this.tolerance = tolerance;
+            this.ignore = ignore;
+            this.tileSize = tileSize;
+            this.tilesX = (width + tileSize - 1) / tileSize;
+            this.tileCount = tilesX * ((height + tileSize - 1) / tileSize);
+            this.tileDifferent = new int[tileCount];
+            this.tileCompared = new int[tileCount];
+            this.tileMinX = new int[tileCount];
+            this.tileMinY = new int[tileCount];
+            this.tileMaxX = new int[tileCount];
+            this.tileMaxY = new int[tileCount];
+        }
+    }
+
+    private static class Tiles extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Canvas canvas;
+        private final int from;
+        private final int to;
+
+        Tiles(Canvas canvas, int from, int to) {
+            this.canvas = canvas;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                compareTile(canvas, from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Tiles(canvas, from, mid), new Tiles(canvas, mid, to));
+        }
+    }
+
+    private static void compareTile(Canvas c, int tile) {
+        int x0 = (tile % c.tilesX) * c.tileSize;
+        int y0 = (tile / c.tilesX) * c.tileSize;
+        int x1 = Math.min(x0 + c.tileSize, c.width);
+        int y1 = Math.min(y0 + c.tileSize, c.height);
+        Rectangle[] ignored = ignoredWithin(c.ignore, x0, y0, x1, y1);
+
+        int different = 0, compared = 0;
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = -1, maxY = -1;
+        for (int y = y0; y < y1; y++) {
+            int row = y * c.width;
+            for (int x = x0; x < x1; x++) {
+                boolean inBase = x < c.baseW && y < c.baseH;
+                boolean inAct = x < c.actW && y < c.actH;
+                int b = inBase ? c.base[y * c.baseW + x] : 0;
+                if (ignored.length > 0 && contains(ignored, x, y)) {
+                    c.diff[row + x] = IGNORED;
+                    continue;
+                }
+                compared++;
+                if (inBase && inAct && matches(b, c.act[y * c.actW + x], c.tolerance)) {
+                    c.diff[row + x] = faded(b);
+                    continue;
+                }
+                c.diff[row + x] = DIFFERENT;
+                different++;
+                if (x < minX) minX = x;
+                if (x > maxX) maxX = x;
+                if (y < minY) minY = y;
+                maxY = y;
+            }
+        }
+        c.tileDifferent[tile] = different;
+        c.tileCompared[tile] = compared;
+        c.tileMinX[tile] = minX;
+        c.tileMinY[tile] = minY;
+        c.tileMaxX[tile] = maxX;
+        c.tileMaxY[tile] = maxY;
+    }
+
+    private static boolean matches(int b, int a, int tolerance) {
+        if (a == b) return true;
+        return Math.abs((b >>> 24) - (a >>> 24)) <= tolerance
+                && Math.abs(((b >> 16) & 0xFF) - ((a >> 16) & 0xFF)) <= tolerance
+                && Math.abs(((b >> 8) & 0xFF) - ((a >> 8) & 0xFF)) <= tolerance
+                && Math.abs((b & 0xFF) - (a & 0xFF)) <= tolerance;
+    }
+
+    // Luma of the baseline pixel, pushed three quarters of the way to white
+    private static int faded(int argb) {
+        int luma = (((argb >> 16) & 0xFF) * 77 + ((argb >> 8) & 0xFF) * 150 + (argb & 0xFF) * 29) >> 8;
+        int grey = 255 - (255 - luma) / 4;
+        return 0xFF000000 | grey << 16 | grey << 8 | grey;
+    }
+
+    // The ignore regions clipped to one tile, so most tiles check none at all
+    private static Rectangle[] ignoredWithin(List<Rectangle> regions, int x0, int y0, int x1, int y1) {
+        if (regions.isEmpty()) return new Rectangle[0];
+        Rectangle tile = new Rectangle(x0, y0, x1 - x0, y1 - y0);
+        List<Rectangle> within = new ArrayList<>();
+        for (Rectangle region : regions) {
+            Rectangle clipped = region.intersection(tile);
+            if (!clipped.isEmpty()) within.add(clipped);
+        }
+        return within.toArray(new Rectangle[0]);
+    }
+
+    private static boolean contains(Rectangle[] regions, int x, int y) {
+        for (Rectangle r : regions) {
+            if (x >= r.x && y >= r.y && x < r.x + r.width && y < r.y + r.height) return true;
+        }
+        return false;
+    }
+}
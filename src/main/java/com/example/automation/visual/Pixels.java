@@ -0,0 +1,63 @@
+package com.example.automation.visual;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A decoded image as one int per pixel (ARGB, row by row), which is what {@link PixelDiff}
+ * works on — no per-pixel objects, and ImageIO is only touched to decode and encode.
+ */
+public class Pixels {
+
+    private final int width;
+    private final int height;
+    private final int[] argb;
+
+    public Pixels(int width, int height, int[] argb) {
+        if (argb.length != width * height) {
+            throw new IllegalArgumentException("Expected " + width * height + " pixels, got " + argb.length);
+        }
+        this.width = width;
+        this.height = height;
+        this.argb = argb;
+    }
+
+    /** Decodes PNG (or any format ImageIO reads), e.g. the bytes of an element screenshot. */
+    public static Pixels decode(byte[] image) throws IOException {
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(image));
+        if (decoded == null) throw new IOException("Not a readable image (" + image.length + " bytes)");
+        int w = decoded.getWidth();
+        int h = decoded.getHeight();
+        return new Pixels(w, h, decoded.getRGB(0, 0, w, h, null, 0, w));
+    }
+
+    public static Pixels read(Path file) throws IOException {
+        return decode(Files.readAllBytes(file));
+    }
+
+    public byte[] encodePng() throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, width, height, argb, 0, width);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    /** The backing array, not a copy. */
+    int[] argb() {
+        return argb;
+    }
+}
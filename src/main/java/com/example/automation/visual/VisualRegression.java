@@ -0,0 +1,252 @@
+package com.example.automation.visual;
+
+import com.example.automation.utils.FrameworkConfig;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.ViewportSize;
+
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Visual checkpoints: element screenshots compared with stored baselines.
+ *
+ * Baselines live in visual.baselineDir/<variant>/<checkpoint>.png, where the variant is the
+ * browser channel (or engine, for the bundled builds) and viewport, e.g. chrome-1366x768 or
+ * chromium-1366x768, because rendering differs between them. What a checkpoint without a
+ * baseline does depends on visual.missingBaseline: "record" saves the screenshot as its
+ * baseline and reports it as new (commit the file to make it the reference), "skip" leaves the
+ * checkpoint unchecked with a report warning and lets the test go on, and "fail" fails the
+ * test. Skip and fail keep the screenshot under target/visual only. On CI (the CI env var is
+ * set) the default is "skip": a run never compares against baselines it has just written, and
+ * the test is not failed for baselines nobody has recorded yet. With visual.mode=update every
+ * checkpoint overwrites its baseline instead of comparing.
+ *
+ * Decoded baselines are cached for the run, and the comparison itself runs tile by tile on
+ * one fork/join pool shared by all test threads (see {@link PixelDiff}). The actual image and
+ * the diff image are only written, under target/visual, when a checkpoint differs or is new.
+ *
+ * Settings (system property or env var):
+ *   visual.mode             – compare | update | off                        (default compare)
+ *   visual.baselineDir      – where baselines are kept          (default src/test/resources/visual)
+ *   visual.channelTolerance – per-channel difference still counted as equal, 0–255 (default 16)
+ *   visual.maxDiffPercent   – share of differing pixels a checkpoint tolerates   (default 0.1)
+ *   visual.failOnDiff       – fail the test when a checkpoint differs            (default true)
+ *   visual.missingBaseline  – record | skip | fail          (default skip on CI, otherwise record)
+ *   visual.tileSize         – tile edge in pixels                                 (default 64)
+ *   visual.parallelism      – fork/join threads            (default: available processors)
+ */
+public class VisualRegression {
+
+    private VisualRegression() { /* utility class — no instances */ }
+
+    public enum Mode { COMPARE, UPDATE, OFF }
+
+    public enum Status { MATCHED, DIFFERENT, NEW_BASELINE, MISSING_BASELINE, UPDATED, SKIPPED }
+
+    public enum MissingBaseline { RECORD, SKIP, FAIL }
+
+    private static final Mode    MODE              = Mode.valueOf(FrameworkConfig.getString("visual.mode", "compare").trim().toUpperCase());
+    private static final Path    BASELINE_DIR      = Paths.get(FrameworkConfig.getString("visual.baselineDir", "src/test/resources/visual"));
+    private static final Path    OUTPUT_DIR        = Paths.get("target/visual");
+    private static final int     CHANNEL_TOLERANCE = FrameworkConfig.getInt("visual.channelTolerance", 16);
+    private static final double  MAX_DIFF_PERCENT  = Double.parseDouble(FrameworkConfig.getString("visual.maxDiffPercent", "0.1"));
+    private static final boolean FAIL_ON_DIFF      = FrameworkConfig.getBoolean("visual.failOnDiff", true);
+    private static final int     TILE_SIZE         = FrameworkConfig.getInt("visual.tileSize", 64);
+    private static final MissingBaseline MISSING_BASELINE = MissingBaseline.valueOf(FrameworkConfig.getString(
+            "visual.missingBaseline", onCi() ? "skip" : "record").trim().toUpperCase());
+
+    private static final ForkJoinPool pool = new ForkJoinPool(
+            FrameworkConfig.getInt("visual.parallelism", Runtime.getRuntime().availableProcessors()));
+    private static final Map<Path, Pixels> baselines = new ConcurrentHashMap<>();
+    private static final AtomicLong outputSequence = new AtomicLong();
+
+    private static final LongAdder matched = new LongAdder();
+    private static final LongAdder different = new LongAdder();
+    private static final LongAdder created = new LongAdder();
+    private static final LongAdder missing = new LongAdder();
+    private static final LongAdder compareNanos = new LongAdder();
+
+    /** The outcome of one checkpoint. */
+    public static class Outcome {
+        private final String checkpoint;
+        private final Status status;
+        private final PixelDiff.Result diff;
+        private final Path baselineFile;
+        private final Path actualFile;
+        private final Path diffFile;
+
+        Outcome(String checkpoint, Status status, PixelDiff.Result diff, Path baselineFile, Path actualFile, Path diffFile) {
+            this.checkpoint = checkpoint;
+            this.status = status;
+            this.diff = diff;
+            this.baselineFile = baselineFile;
+            this.actualFile = actualFile;
+            this.diffFile = diffFile;
+        }
+
+        public String checkpoint() {
+            return checkpoint;
+        }
+
+        public Status status() {
+            return status;
+        }
+
+        /** Null unless the screenshot was compared with a baseline. */
+        public PixelDiff.Result diff() {
+            return diff;
+        }
+
+        public Path baselineFile() {
+            return baselineFile;
+        }
+
+        /** Written for DIFFERENT, NEW_BASELINE and MISSING_BASELINE, otherwise null. */
+        public Path actualFile() {
+            return actualFile;
+        }
+
+        /** Written for DIFFERENT, otherwise null. */
+        public Path diffFile() {
+            return diffFile;
+        }
+
+        /**
+         * True when the checkpoint differs and visual.failOnDiff is on, or has no baseline
+         * and visual.missingBaseline=fail.
+         */
+        public boolean shouldFail() {
+            return (status == Status.DIFFERENT && FAIL_ON_DIFF)
+                    || (status == Status.MISSING_BASELINE && MISSING_BASELINE == MissingBaseline.FAIL);
+        }
+
+        @Override
+        public String toString() {
+            switch (status) {
+                case MATCHED:
+                case DIFFERENT:
+                    return String.format(Locale.ROOT, "'%s' %s: %s (limit %.3f%%, compared in %.0f ms)", checkpoint,
+                            status == Status.MATCHED ? "matches" : "DIFFERS", diff, MAX_DIFF_PERCENT, diff.millis());
+                case NEW_BASELINE:
+                    return "'" + checkpoint + "' has no baseline yet; recorded " + baselineFile;
+                case MISSING_BASELINE:
+                    return "'" + checkpoint + "' " + (MISSING_BASELINE == MissingBaseline.SKIP ? "NOT CHECKED, " : "")
+                            + "no baseline " + baselineFile + " (visual.missingBaseline="
+                            + MISSING_BASELINE.name().toLowerCase() + "); screenshot saved as " + actualFile;
+                case UPDATED:
+                    return "'" + checkpoint + "' baseline updated: " + baselineFile;
+                default:
+                    return "'" + checkpoint + "' skipped (visual.mode=off)";
+            }
+        }
+    }
+
+    public static boolean isEnabled() {
+        return MODE != Mode.OFF;
+    }
+
+    /**
+     * Baseline folder for a page: the browser channel, or the engine when the bundled build
+     * runs (channel null), plus the viewport, e.g. "chrome-1366x768" or "chromium-1366x768".
+     */
+    public static String variantOf(Page page, String channel) {
+        Browser browser = page.context().browser();
+        ViewportSize viewport = page.viewportSize();
+        String name = channel != null ? channel : browser != null ? browser.browserType().name() : "browser";
+        return name + "-"
+                + (viewport != null ? viewport.width + "x" + viewport.height : "maximized");
+    }
+
+    /**
+     * Compares a PNG screenshot with the checkpoint's baseline.
+     *
+     * @param ignoreRegions areas, in screenshot pixels, that are never counted as different
+     */
+    public static Outcome check(String variant, String checkpoint, byte[] png, List<Rectangle> ignoreRegions)
+            throws IOException {
+        if (MODE == Mode.OFF) return new Outcome(checkpoint, Status.SKIPPED, null, null, null, null);
+
+        Path baselineFile = BASELINE_DIR.resolve(variant).resolve(checkpoint + ".png");
+        if (MODE == Mode.COMPARE && MISSING_BASELINE != MissingBaseline.RECORD && !Files.exists(baselineFile)) {
+            missing.increment();
+            Path actualFile = output(variant, checkpoint, "actual");
+            Files.write(actualFile, png);
+            System.out.println("[Visual] Missing baseline " + baselineFile);
+            return new Outcome(checkpoint, Status.MISSING_BASELINE, null, baselineFile, actualFile, null);
+        }
+        if (MODE == Mode.UPDATE || !Files.exists(baselineFile)) {
+            writeAtomically(baselineFile, png);
+            baselines.remove(baselineFile);
+            if (MODE == Mode.UPDATE) {
+                return new Outcome(checkpoint, Status.UPDATED, null, baselineFile, null, null);
+            }
+            created.increment();
+            Path actualFile = output(variant, checkpoint, "actual");
+            Files.write(actualFile, png);
+            System.out.println("[Visual] New baseline " + baselineFile);
+            return new Outcome(checkpoint, Status.NEW_BASELINE, null, baselineFile, actualFile, null);
+        }
+
+        Pixels actual = Pixels.decode(png);
+        Pixels baseline = baselines.get(baselineFile);
+        if (baseline == null) {
+            baseline = Pixels.read(baselineFile);
+            baselines.put(baselineFile, baseline);
+        }
+        PixelDiff.Result diff = PixelDiff.compare(baseline, actual, CHANNEL_TOLERANCE, ignoreRegions, TILE_SIZE, pool);
+        compareNanos.add((long) (diff.millis() * 1_000_000));
+
+        if (!diff.sizeChanged() && diff.differentPercent() <= MAX_DIFF_PERCENT) {
+            matched.increment();
+            return new Outcome(checkpoint, Status.MATCHED, diff, baselineFile, null, null);
+        }
+        different.increment();
+        Path actualFile = output(variant, checkpoint, "actual");
+        Files.write(actualFile, png);
+        Path diffFile = output(variant, checkpoint, "diff");
+        Files.write(diffFile, diff.diffImage().encodePng());
+        return new Outcome(checkpoint, Status.DIFFERENT, diff, baselineFile, actualFile, diffFile);
+    }
+
+    // Numbered, because parallel tests (or data-provider rows) can hit the same checkpoint
+    private static Path output(String variant, String checkpoint, String kind) throws IOException {
+        Path dir = OUTPUT_DIR.resolve(variant);
+        Files.createDirectories(dir);
+        return dir.resolve(checkpoint + "-" + outputSequence.incrementAndGet() + "-" + kind + ".png");
+    }
+
+    private static void writeAtomically(Path file, byte[] bytes) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        Files.write(tmp, bytes);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Most CI services set CI (usually to "true"); an explicit "false" counts as unset
+    private static boolean onCi() {
+        String ci = FrameworkConfig.getString("ci", "").trim();
+        return !ci.isEmpty() && !"false".equalsIgnoreCase(ci);
+    }
+
+    /** Settings and run totals, for the report's system info. */
+    public static String summary() {
+        if (MODE == Mode.OFF) return "off";
+        long compared = matched.sum() + different.sum();
+        return String.format(Locale.ROOT, "%s mode; %d matched, %d differed, %d new baselines, %d missing; "
+                        + "%.1f ms per comparison (tolerance %d per channel, %.3f%% of pixels)",
+                MODE.name().toLowerCase(), matched.sum(), different.sum(), created.sum(), missing.sum(),
+                compared == 0 ? 0 : compareNanos.sum() / 1_000_000.0 / compared, CHANNEL_TOLERANCE, MAX_DIFF_PERCENT);
+    }
+}
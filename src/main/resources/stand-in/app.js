@@ -0,0 +1,235 @@
+/*
+ * Stand-in behaviour for the Shady Meadows fixture pages.
+ * Mirrors the DOM structure the page objects rely on (room cards, rbc calendar,
+ * booking form, alerts, confirmation card) and talks to the stand-in /api/ endpoints.
+ */
+var StandIn = (function () {
+    var CLEANING_FEE = 25;
+    var SERVICE_FEE = 15;
+    var MONTHS = ['January', 'February', 'March', 'April', 'May', 'June', 'July',
+        'August', 'September', 'October', 'November', 'December'];
+
+    function $(selector, root) { return (root || document).querySelector(selector); }
+
+    function escapeHtml(text) {
+        return String(text).replace(/[&<>"']/g, function (c) {
+            return {'&': '&amp;', '<': '&lt;', '>': '&gt;', '"': '&quot;', "'": '&#39;'}[c];
+        });
+    }
+
+    function getJson(url) {
+        return fetch(url).then(function (r) {
+            if (!r.ok) throw new Error('HTTP ' + r.status + ' for ' + url);
+            return r.json();
+        });
+    }
+
+    // dd/MM/yyyy → yyyy-MM-dd, or null
+    function toIso(ddMMyyyy) {
+        var m = /^(\d{2})\/(\d{2})\/(\d{4})$/.exec((ddMMyyyy || '').trim());
+        return m ? m[3] + '-' + m[2] + '-' + m[1] : null;
+    }
+
+    function parseIso(iso) {
+        var p = iso.split('-');
+        return new Date(Number(p[0]), Number(p[1]) - 1, Number(p[2]));
+    }
+
+    function iso(date) {
+        var mm = ('0' + (date.getMonth() + 1)).slice(-2);
+        var dd = ('0' + date.getDate()).slice(-2);
+        return date.getFullYear() + '-' + mm + '-' + dd;
+    }
+
+    // ---------------------------------------------------------------------
+    // Home page
+    // ---------------------------------------------------------------------
+    function renderRooms(rooms, checkin, checkout) {
+        var query = (checkin && checkout) ? '?checkin=' + checkin + '&checkout=' + checkout : '';
+        $('#room-list').innerHTML = rooms.map(function (room) {
+            return '<div class="col-md-6 col-lg-4">' +
+                '<div class="room-card card">' +
+                '<img class="card-img-top" src="' + escapeHtml(room.image) + '" alt="' + escapeHtml(room.type) + ' room">' +
+                '<div class="card-body">' +
+                '<h5 class="card-title">' + escapeHtml(room.type) + '</h5>' +
+                '<p class="card-text">' + escapeHtml(room.description) + '</p>' +
+                '</div>' +
+                '<div class="card-footer">' +
+                '<div class="fw-bold fs-5">£' + room.roomPrice + ' <small>per night</small></div>' +
+                '<a class="btn btn-primary" href="/reservation/' + room.roomid + query + '">Book now</a>' +
+                '</div></div></div>';
+        }).join('');
+    }
+
+    function initHome() {
+        var inputs = document.querySelectorAll('#booking input');
+        getJson('/api/room').then(function (data) { renderRooms(data.rooms); });
+
+        $('#check-availability').addEventListener('click', function () {
+            var checkin = toIso(inputs[0].value);
+            var checkout = toIso(inputs[1].value);
+            var url = (checkin && checkout) ? '/api/room?checkin=' + checkin + '&checkout=' + checkout : '/api/room';
+            $('#room-list').innerHTML = '';
+            getJson(url).then(function (data) { renderRooms(data.rooms, checkin, checkout); });
+        });
+    }
+
+    // ---------------------------------------------------------------------
+    // Reservation page
+    // ---------------------------------------------------------------------
+    var state = {room: null, checkin: null, checkout: null, month: null, unavailable: []};
+
+    function renderCalendar() {
+        var month = state.month;
+        $('.rbc-toolbar-label').textContent = MONTHS[month.getMonth()] + ' ' + month.getFullYear();
+
+        var start = new Date(month.getFullYear(), month.getMonth(), 1 - month.getDay());
+        var selectedFrom = state.checkin ? parseIso(state.checkin) : null;
+        var selectedTo = state.checkout ? parseIso(state.checkout) : null;
+        var html = '';
+
+        for (var week = 0; week < 6; week++) {
+            var cells = '';
+            var events = '';
+            for (var day = 0; day < 7; day++) {
+                var date = new Date(start.getFullYear(), start.getMonth(), start.getDate() + week * 7 + day);
+                var off = date.getMonth() !== month.getMonth() ? ' rbc-off-range' : '';
+                cells += '<div class="rbc-date-cell' + off + '" data-date="' + iso(date) + '">' +
+                    '<button type="button" class="rbc-button-link">' + ('0' + date.getDate()).slice(-2) + '</button></div>';
+
+                if (selectedFrom && date >= selectedFrom && date < selectedTo) {
+                    events += segment('Selected', '', day);
+                }
+                state.unavailable.forEach(function (range) {
+                    if (date >= parseIso(range.start) && date < parseIso(range.end)) {
+                        events += segment('Unavailable', ' unavailable', day);
+                    }
+                });
+            }
+            html += '<div class="rbc-month-row"><div class="rbc-row-content"><div class="rbc-row">' + cells + '</div>' +
+                '<div class="rbc-row">' + events + '</div></div></div>';
+        }
+        $('.rbc-month-view').innerHTML = html;
+    }
+
+    function segment(title, cssClass, dayIndex) {
+        return '<div class="rbc-row-segment" style="left:' + (dayIndex * 100 / 7) + '%;width:' + (100 / 7) + '%">' +
+            '<div class="rbc-event' + cssClass + '"><div class="rbc-event-content" title="' + title + '">' +
+            title + '</div></div></div>';
+    }
+
+    function renderPrice() {
+        var nights = 0;
+        if (state.checkin && state.checkout) {
+            nights = Math.round((parseIso(state.checkout) - parseIso(state.checkin)) / 86400000);
+        }
+        var price = state.room.roomPrice;
+        $('#nights-line').textContent = '£' + price + ' x ' + nights + ' nights';
+        $('#nights-cost').textContent = '£' + (price * nights);
+        $('#cleaning-fee').textContent = '£' + CLEANING_FEE;
+        $('#service-fee').textContent = '£' + SERVICE_FEE;
+        $('#total').textContent = '£' + (price * nights + CLEANING_FEE + SERVICE_FEE);
+    }
+
+    function showForm() {
+        $('#reservation-area').innerHTML =
+            '<form class="booking-form" onsubmit="return false;">' +
+            '<input class="form-control room-firstname" placeholder="Firstname" aria-label="Firstname" name="firstname">' +
+            '<input class="form-control room-lastname" placeholder="Lastname" aria-label="Lastname" name="lastname">' +
+            '<input class="form-control room-email" placeholder="Email" aria-label="Email" name="email">' +
+            '<input class="form-control room-phone" placeholder="Phone" aria-label="Phone" name="phone">' +
+            '<button type="button" class="btn btn-primary w-100 mb-3" id="submit-booking">Reserve Now</button>' +
+            '<button type="button" class="btn btn-secondary w-100 mb-3" id="cancel-booking">Cancel</button>' +
+            '<div id="booking-alerts"></div>' +
+            '</form>';
+        $('#submit-booking').addEventListener('click', submitBooking);
+        $('#cancel-booking').addEventListener('click', function () { window.location.reload(); });
+    }
+
+    function shuffle(items) {
+        // The live app shows alerts in a non-deterministic order (DEF-02)
+        for (var i = items.length - 1; i > 0; i--) {
+            var j = Math.floor(Math.random() * (i + 1));
+            var t = items[i]; items[i] = items[j]; items[j] = t;
+        }
+        return items;
+    }
+
+    function showAlerts(messages) {
+        $('#booking-alerts').innerHTML = '<div class="alert alert-danger" role="alert"><ul>' +
+            shuffle(messages.slice()).map(function (m) { return '<li>' + escapeHtml(m) + '</li>'; }).join('') +
+            '</ul></div>';
+    }
+
+    function submitBooking() {
+        var form = $('.booking-form');
+        var body = {
+            roomid: state.room.roomid,
+            firstname: form.firstname.value,
+            lastname: form.lastname.value,
+            email: form.email.value,
+            phone: form.phone.value,
+            depositpaid: false,
+            bookingdates: {checkin: state.checkin, checkout: state.checkout}
+        };
+        fetch('/api/booking', {
+            method: 'POST',
+            headers: {'Content-Type': 'application/json'},
+            body: JSON.stringify(body)
+        }).then(function (r) {
+            return r.json().then(function (json) { return {status: r.status, json: json}; });
+        }).then(function (res) {
+            if (res.status === 201) {
+                showConfirmation();
+            } else {
+                showAlerts(res.json.errors || ['Booking failed (HTTP ' + res.status + ')']);
+            }
+        }).catch(function (e) {
+            showAlerts([e.message]);
+        });
+    }
+
+    function showConfirmation() {
+        $('#booking-card-body').innerHTML =
+            '<h2 class="card-title fs-4 fw-bold mb-3">Booking Confirmed</h2>' +
+            '<p>Your booking has been confirmed for the following dates:</p>' +
+            '<p class="pt-2">' + state.checkin + ' - ' + state.checkout + '</p>' +
+            '<a class="btn btn-primary w-100 mb-3" href="/">Return home</a>';
+    }
+
+    function initReservation() {
+        var roomId = window.location.pathname.split('/')[2];
+        var params = new URLSearchParams(window.location.search);
+        state.checkin = params.get('checkin');
+        state.checkout = params.get('checkout');
+        var today = new Date();
+        state.month = new Date(today.getFullYear(), today.getMonth(), 1);
+
+        document.querySelectorAll('.rbc-toolbar button').forEach(function (button) {
+            button.addEventListener('click', function () {
+                var nav = button.getAttribute('data-nav');
+                var m = state.month;
+                if (nav === 'today') state.month = new Date(today.getFullYear(), today.getMonth(), 1);
+                if (nav === 'back') state.month = new Date(m.getFullYear(), m.getMonth() - 1, 1);
+                if (nav === 'next') state.month = new Date(m.getFullYear(), m.getMonth() + 1, 1);
+                renderCalendar();
+            });
+        });
+        $('#doReservation').addEventListener('click', showForm);
+        renderCalendar();
+
+        Promise.all([getJson('/api/room/' + roomId), getJson('/api/report/room/' + roomId)])
+            .then(function (results) {
+                state.room = results[0];
+                state.unavailable = results[1].report;
+                $('#room-description').textContent = state.room.description;
+                $('#room-image').src = state.room.image;
+                renderPrice();
+                renderCalendar();
+                // Title goes in last: page objects treat it as "reservation page loaded"
+                $('#room-header').innerHTML = '<h1 class="fw-bold mb-2">' + escapeHtml(state.room.type) + ' Room</h1>';
+            });
+    }
+
+    return {initHome: initHome, initReservation: initReservation};
+})();
@@ -0,0 +1,66 @@
+package com.example.automation.listeners;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cross-browser matrix mode. Clones every &lt;test&gt; once per engine and runs the clones side by side:
+ *
+ *   mvn test -Dbrowsers=chromium,firefox,webkit
+ *
+ * Each clone carries its own "browser" parameter, so BaseTest resolves a different
+ * LaunchProfile per clone and the pool gives each worker its own browser of that engine.
+ * Unless -Dparallel is given, the suite switches to parallel="tests" with at least one
+ * thread per clone.
+ *
+ * Without -Dbrowsers, a plain -Dbrowser=firefox replaces the suite-level "browser" parameter.
+ *
+ * Must be registered in the suite's &lt;listeners&gt; block (alter-suite listeners run before the suite is built).
+ */
+public class BrowserMatrixListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String browsers = System.getProperty("browsers");
+        String browser  = System.getProperty("browser");
+
+        for (XmlSuite suite : suites) {
+            if (browsers != null && !browsers.trim().isEmpty()) {
+                expand(suite, browsers.split(","));
+            } else if (browser != null && !browser.trim().isEmpty()) {
+                suite.getParameters().put("browser", browser.trim());
+            }
+        }
+    }
+
+    private void expand(XmlSuite suite, String[] engines) {
+        List<XmlTest> originals = new ArrayList<>(suite.getTests());
+        List<XmlTest> copies = new ArrayList<>();
+
+        for (XmlTest original : originals) {
+            for (String engine : engines) {
+                String name = engine.trim();
+                if (name.isEmpty()) continue;
+
+                XmlTest copy = (XmlTest) original.clone();
+                copy.setName(original.getName() + " [" + name + "]");
+                copy.addParameter("browser", name);
+                copies.add(copy);
+            }
+        }
+        // XmlTest.clone() may register the copy with the suite itself — rebuild the list explicitly
+        suite.getTests().clear();
+        suite.getTests().addAll(copies);
+
+        if (System.getProperty("parallel") == null) {
+            suite.setParallel(XmlSuite.ParallelMode.TESTS);
+        }
+        suite.setThreadCount(Math.max(suite.getThreadCount(), suite.getTests().size()));
+        System.out.println("[BrowserMatrix] " + suite.getName() + ": " + suite.getTests().size()
+                + " tests across " + engines.length + " browsers, parallel=" + suite.getParallel());
+    }
+}
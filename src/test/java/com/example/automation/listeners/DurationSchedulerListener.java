@@ -0,0 +1,103 @@
+package com.example.automation.listeners;
+
+import com.example.automation.schedule.DurationHistory;
+import com.example.automation.schedule.ShardPlanner;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Orders test methods by how long they took in earlier runs, and picks this node's shard.
+ *
+ * Within a JVM the longest methods are started first, so a long booking journey no longer
+ * starts last and sets the wall-clock time on its own. With -Dshard=i/K only the methods
+ * that {@link ShardPlanner} assigns to shard i are run; every node computes the same plan
+ * from the same history file.
+ *
+ * Durations of the methods that ran (passed or failed, all invocations summed) are blended
+ * into the history file when the suite finishes (see {@link DurationHistory}).
+ *
+ * Must be registered in the suite's &lt;listeners&gt; block so TestNG uses it as the method interceptor.
+ */
+public class DurationSchedulerListener implements IMethodInterceptor, ITestListener, ISuiteListener {
+
+    private static final DurationHistory history = DurationHistory.load(DurationHistory.defaultFile());
+    private static final ShardPlanner.ShardSpec shard = ShardPlanner.ShardSpec.fromConfig();
+    private static final Map<String, LongAdder> thisRun = new ConcurrentHashMap<>();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        // Invocations of the same method (factories, data providers) stay together
+        Map<String, List<IMethodInstance>> byKey = new LinkedHashMap<>();
+        for (IMethodInstance instance : methods) {
+            byKey.computeIfAbsent(key(instance.getMethod()), k -> new ArrayList<>()).add(instance);
+        }
+
+        List<String> keys = new ArrayList<>(byKey.keySet());
+        if (shard != null) {
+            List<ShardPlanner.Shard> plan = ShardPlanner.plan(keys, history, shard.count());
+            ShardPlanner.Shard mine = plan.get(shard.index() - 1);
+            keys = new ArrayList<>(mine.keys());
+            System.out.println(String.format("[Schedule] %s: shard %s runs %d of %d methods (~%.1f s estimated)",
+                    context.getName(), shard, keys.size(), byKey.size(), mine.estimatedMillis() / 1000.0));
+        }
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods.size());
+        for (String key : ShardPlanner.longestFirst(keys, history)) {
+            ordered.addAll(byKey.get(key));
+        }
+        System.out.println("[Schedule] " + context.getName() + ": " + (history.isEmpty()
+                ? "no duration history yet, keeping a stable order"
+                : "longest first from " + history.file()));
+        return ordered;
+    }
+
+    private static String key(ITestNGMethod method) {
+        return DurationHistory.key(method.getRealClass().getName(), method.getMethodName());
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    private static void record(ITestResult result) {
+        thisRun.computeIfAbsent(key(result.getMethod()), k -> new LongAdder())
+                .add(Math.max(0, result.getEndMillis() - result.getStartMillis()));
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (thisRun.isEmpty()) return;
+        synchronized (history) {
+            for (Map.Entry<String, LongAdder> e : thisRun.entrySet()) {
+                history.record(e.getKey(), e.getValue().sum());
+            }
+            thisRun.clear();
+            try {
+                history.save();
+                System.out.println("[Schedule] Durations saved to " + history.file().toAbsolutePath());
+            } catch (IOException e) {
+                System.out.println("[Schedule] Could not save " + history.file() + ": " + e.getMessage());
+            }
+        }
+    }
+}
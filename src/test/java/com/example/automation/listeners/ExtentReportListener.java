@@ -2,62 +2,134 @@ package com.example.automation.listeners;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
-import com.aventstack.extentreports.reporter.ExtentHtmlReporter;
-import com.aventstack.extentreports.reporter.configuration.Theme;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.example.automation.browser.BrowserPool;
+import com.example.automation.browser.FailureScreenshots;
+import com.example.automation.browser.FailureTracing;
+import com.example.automation.browser.HarSession;
+import com.example.automation.browser.LaunchProfile;
+import com.example.automation.browser.NetworkProfile;
+import com.example.automation.browser.NetworkStats;
+import com.example.automation.browser.PreconditionCache;
+import com.example.automation.metrics.PagePerformance;
+import com.example.automation.metrics.PageTimings;
+import com.example.automation.metrics.StepMetrics;
+import com.example.automation.report.EventLogRenderer;
+import com.example.automation.report.StreamingReport;
+import com.example.automation.utils.FrameworkConfig;
+import com.example.automation.utils.WaitBudget;
+import com.example.automation.utils.urlHelper;
+import com.example.automation.visual.VisualRegression;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * TestNG listener that builds an ExtentReports HTML report under
  * target/extent-reports/ExtentReport_<timestamp>.html
  *
- * Screenshots saved by BaseTest are embedded automatically when a test fails.
+ * When a test fails, the page bound by BaseTest is captured in memory right here
+ * (before teardown closes it) and embedded in the report as base64 — no file lookup.
+ *
+ * -Dreport.mode=streaming keeps nothing per test in memory: events go to
+ * ExtentReport_<timestamp>.events.jsonl from a background writer. A JUnit XML file is brought
+ * up to date from the new events every report.checkpointSeconds (default 60) and when each
+ * &lt;test&gt; finishes; the HTML is rendered from the log once, when the suite finishes.
+ * Screenshots are then linked from target/screenshots.
  */
-public class ExtentReportListener implements ITestListener {
+public class ExtentReportListener implements ITestListener, ISuiteListener {
 
-    private static final String REPORT_DIR     = "target/extent-reports/";
+    private static final String REPORT_DIR = "target/extent-reports/";
     private static final String SCREENSHOT_DIR = "screenshots/";   // relative to target/
+    private static final long SCREENSHOT_DRAIN_SECONDS = 30;
+    private static final boolean STREAMING =
+            "streaming".equalsIgnoreCase(FrameworkConfig.getString("report.mode", "extent").trim());
 
-    private static ExtentReports extent;
-    // Thread-local so parallel tests each get their own ExtentTest node
+    // Guards report creation, node creation and flush — TestNG calls onStart/onFinish
+    // once per <test>, and those can overlap when tests run in parallel
+    private static final Object LOCK = new Object();
+    private static volatile ExtentReports extent;
+    private static volatile StreamingReport stream;
+    // Thread-local so parallel tests each get their own ExtentTest node (or streaming id)
     private static final ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
+    private static final ThreadLocal<String> streamId = new ThreadLocal<>();
+    // Screenshots are encoded on the writer thread and embedded when the report is flushed
+    private static final Queue<Map.Entry<ExtentTest, FailureScreenshots.Screenshot>> pendingScreenshots =
+            new ConcurrentLinkedQueue<>();
 
     // -------------------------------------------------------------------------
     // Suite-level: create the report once when the suite starts
     // -------------------------------------------------------------------------
     @Override
     public void onStart(ITestContext context) {
-        if (extent == null) {
+        synchronized (LOCK) {
+            if (extent != null || stream != null) return;
+
             String timestamp = LocalDateTime.now()
                     .format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
             String reportPath = REPORT_DIR + "ExtentReport_" + timestamp + ".html";
 
             new File(REPORT_DIR).mkdirs();
 
-            ExtentHtmlReporter html = new ExtentHtmlReporter(reportPath);
-            html.config().setDocumentTitle("Playwright Automation Report");
-            html.config().setReportName("Shady Meadows B&B – Test Execution Report");
-            html.config().setTheme(Theme.DARK);
-            html.config().setTimeStampFormat("dd MMM yyyy HH:mm:ss");
+            Map<String, String> systemInfo = new LinkedHashMap<>();
+            systemInfo.put("Application", urlHelper.baseUrl());
+            systemInfo.put("Browser", LaunchProfile.resolve(
+                    context.getSuite().getXmlSuite().getParameters()).describe());
+            systemInfo.put("Framework", "Playwright Java + TestNG");
+            systemInfo.put("Author", "QA Automation");
+            systemInfo.put("Parallel", context.getSuite().getXmlSuite().getParallel()
+                    + " × " + context.getSuite().getXmlSuite().getThreadCount() + " threads");
+            systemInfo.put("Network profile", NetworkProfile.fromConfig().name());
+            systemInfo.put("HAR mode", HarSession.configuredMode().name().toLowerCase());
 
-            extent = new ExtentReports();
-            extent.attachReporter(html);
-            extent.setSystemInfo("Application", "https://automationintesting.online/");
-            extent.setSystemInfo("Browser", "Chrome (headed)");
-            extent.setSystemInfo("Framework", "Playwright Java + TestNG");
-            extent.setSystemInfo("Author", "QA Automation");
+            if (STREAMING) {
+                openStream(timestamp, systemInfo);
+                return;
+            }
+
+            ExtentReports report = new ExtentReports();
+            report.attachReporter(EventLogRenderer.newHtmlReporter(reportPath));
+            for (Map.Entry<String, String> info : systemInfo.entrySet()) {
+                report.setSystemInfo(info.getKey(), info.getValue());
+            }
+            extent = report;
 
             System.out.println("[ExtentReport] Report will be saved to: "
                     + Paths.get(reportPath).toAbsolutePath());
         }
     }
 
+    private void openStream(String timestamp, Map<String, String> systemInfo) {
+        try {
+            StreamingReport report = StreamingReport.open(
+                    Paths.get(REPORT_DIR, "ExtentReport_" + timestamp + ".events.jsonl"),
+                    FrameworkConfig.getLong("report.checkpointSeconds", 60));
+            for (Map.Entry<String, String> info : systemInfo.entrySet()) {
+                report.info(info.getKey(), info.getValue());
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(report::close, "report-event-log-close"));
+            stream = report;
+            System.out.println("[ExtentReport] Streaming events to: " + report.eventLog().toAbsolutePath());
+            System.out.println("[ExtentReport] Report will be saved to: " + report.html().toAbsolutePath());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not open the report event log: " + e.getMessage(), e);
+        }
+    }
+
     // -------------------------------------------------------------------------
     // Test-level hooks
     // -------------------------------------------------------------------------
@@ -67,30 +139,125 @@ public class ExtentReportListener implements ITestListener {
         String testName    = (description == null || description.isEmpty())
                 ? result.getName()
                 : description;
+        // Data-driven invocations (e.g. validation matrix rows) are told apart by their first parameter
+        if (result.getParameters().length > 0) {
+            testName += " [" + result.getParameters()[0] + "]";
+        }
+        // Distinguishes the same test run against different engines in matrix mode
+        String device = LaunchProfile.resolve(
+                result.getTestContext().getCurrentXmlTest().getAllParameters()).describe();
 
-        ExtentTest test = extent.createTest(testName);
+        if (stream != null) {
+            streamId.set(stream.testStarted(testName, result.getTestClass().getRealClass().getName(),
+                    result.getName(), result.getMethod().getGroups(), device));
+            info("Test started: <b>" + result.getName() + "</b>");
+            return;
+        }
+
+        ExtentTest test;
+        synchronized (LOCK) {
+            test = extent.createTest(testName);
+            test.assignCategory(result.getMethod().getGroups());
+            test.assignDevice(device);
+        }
         extentTest.set(test);
-        test.assignCategory(result.getMethod().getGroups());
         test.info("Test started: <b>" + result.getName() + "</b>");
     }
 
+    /**
+     * The report node of the test running on this thread, or null when the listener is not
+     * active or the report is streamed. Prefer {@link #info(String)} for plain log lines.
+     */
+    public static ExtentTest currentTest() {
+        return extentTest.get();
+    }
+
+    /**
+     * Adds an info line to the test running on this thread, in either report mode.
+     * Lets BaseTest add teardown details (network, timings, ...) to the right test.
+     */
+    public static void info(String message) {
+        String id = streamId.get();
+        if (stream != null && id != null) {
+            stream.log(id, "info", message);
+        } else if (extentTest.get() != null) {
+            extentTest.get().info(message);
+        }
+    }
+
+    /** Like {@link #info(String)}, as a warning (e.g. a performance budget that was exceeded). */
+    public static void warning(String message) {
+        String id = streamId.get();
+        if (stream != null && id != null) {
+            stream.log(id, "warning", message);
+        } else if (extentTest.get() != null) {
+            extentTest.get().warning(message);
+        }
+    }
+
+    /**
+     * Adds an image file (e.g. a visual diff under target/) to the test running on this thread,
+     * in either report mode. The report links it relative to its own folder.
+     */
+    public static void image(String title, Path file) {
+        String link = Paths.get(REPORT_DIR).toAbsolutePath().relativize(file.toAbsolutePath()).toString().replace('\\', '/');
+        String id = streamId.get();
+        if (stream != null && id != null) {
+            stream.media(id, title, link);
+        } else if (extentTest.get() != null) {
+            try {
+                extentTest.get().info(title, MediaEntityBuilder.createScreenCaptureFromPath(link).build());
+            } catch (IOException e) {
+                extentTest.get().warning("[Could not attach " + title + "] " + e.getMessage());
+            }
+        }
+    }
+
     @Override
     public void onTestSuccess(ITestResult result) {
+        if (stream != null) {
+            stream.log(streamId.get(), "pass", "Test <b>PASSED</b>");
+            stream.testFinished(streamId.get(), "pass", null);
+            return;
+        }
         extentTest.get().pass("Test <b>PASSED</b>");
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
+        FailureScreenshots.Screenshot screenshot = FailureScreenshots.capture(
+                result.getTestClass().getRealClass().getSimpleName() + "." + result.getName());
+        if (screenshot != null) {
+            result.setAttribute(FailureScreenshots.RESULT_ATTRIBUTE, screenshot);
+        }
+
+        if (stream != null) {
+            String id = streamId.get();
+            stream.log(id, "fail", "Test <b>FAILED</b>");
+            if (screenshot != null) {
+                stream.media(id, "Failure Screenshot", "../" + SCREENSHOT_DIR + screenshot.fileName());
+            }
+            stream.testFinished(id, "fail", result.getThrowable());
+            return;
+        }
+
         ExtentTest test = extentTest.get();
         test.fail("Test <b>FAILED</b>");
         test.fail(result.getThrowable());   // logs the full stack trace
-
-        // Attach screenshot saved by BaseTest
-        attachScreenshot(test, result.getName());
+        if (screenshot != null) {
+            pendingScreenshots.add(new AbstractMap.SimpleEntry<>(test, screenshot));
+            test.info(String.format("Screenshot: <b>%s</b> (captured in %.0f ms)",
+                    screenshot.fileName(), screenshot.captureMillis()));
+        }
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
+        if (stream != null) {
+            stream.log(streamId.get(), "skip", "Test <b>SKIPPED</b>");
+            stream.testFinished(streamId.get(), "skip", result.getThrowable());
+            return;
+        }
         extentTest.get().skip("Test <b>SKIPPED</b>");
         if (result.getThrowable() != null) {
             extentTest.get().skip(result.getThrowable());
@@ -102,38 +269,78 @@ public class ExtentReportListener implements ITestListener {
     // -------------------------------------------------------------------------
     @Override
     public void onFinish(ITestContext context) {
-        if (extent != null) {
+        synchronized (LOCK) {
+            writePageTimings();
+            writePerformance();
+            if (stream != null) {
+                for (Map.Entry<String, String> info : finishInfo().entrySet()) {
+                    stream.info(info.getKey(), info.getValue());
+                }
+                FailureScreenshots.awaitPendingWrites(SCREENSHOT_DRAIN_SECONDS);
+                stream.checkpoint();
+                return;
+            }
+            if (extent == null) return;
+            for (Map.Entry<String, String> info : finishInfo().entrySet()) {
+                extent.setSystemInfo(info.getKey(), info.getValue());
+            }
+            attachPendingScreenshots();
             extent.flush();
             System.out.println("[ExtentReport] Report flushed successfully.");
         }
     }
 
-    // -------------------------------------------------------------------------
-    // Helper – find the most-recently saved screenshot and embed it
-    // -------------------------------------------------------------------------
-    private void attachScreenshot(ExtentTest test, String testName) {
+    @Override
+    public void onFinish(ISuite suite) {
+        synchronized (LOCK) {
+            if (stream == null) return;
+            stream.finish();
+            System.out.println("[ExtentReport] Report rendered from " + stream.eventLog().getFileName());
+        }
+    }
+
+    private static void writePageTimings() {
         try {
-            File screenshotDir = new File("target/" + SCREENSHOT_DIR);
-            if (!screenshotDir.exists()) return;
+            PageTimings.writeRunFiles(PageTimings.defaultRunDir());
+        } catch (IOException e) {
+            System.err.println("[PageTimings] Could not write run files: " + e.getMessage());
+        }
+    }
 
-            File[] matches = screenshotDir.listFiles(
-                    (dir, name) -> name.endsWith("_" + testName + ".png"));
+    private static void writePerformance() {
+        try {
+            PagePerformance.writeRunFiles(PagePerformance.defaultRunDir(), PagePerformance.historyFile());
+        } catch (IOException e) {
+            System.err.println("[Perf] Could not write run files: " + e.getMessage());
+        }
+    }
 
-            if (matches == null || matches.length == 0) return;
+    private static Map<String, String> finishInfo() {
+        Map<String, String> info = new LinkedHashMap<>();
+        info.put("Browser pool", BrowserPool.stats().summary());
+        info.put("Network savings", NetworkStats.suiteSummary());
+        info.put("Tracing", FailureTracing.summary());
+        info.put("Precondition snapshots", PreconditionCache.summary());
+        info.put("Performance budgets", PagePerformance.summary());
+        info.put("Wait budget", WaitBudget.summary());
+        info.put("Visual checkpoints", VisualRegression.summary());
+        for (Map.Entry<String, Double> step : StepMetrics.averages().entrySet()) {
+            info.put("Avg " + step.getKey(), String.format("%.0f ms", step.getValue()));
+        }
+        return info;
+    }
 
-            // Pick the most recent file if there are multiple
-            File latest = matches[0];
-            for (File f : matches) {
-                if (f.lastModified() > latest.lastModified()) latest = f;
+    // -------------------------------------------------------------------------
+    // Helper – embed the screenshots captured since the last flush
+    // -------------------------------------------------------------------------
+    private void attachPendingScreenshots() {
+        FailureScreenshots.awaitPendingWrites(SCREENSHOT_DRAIN_SECONDS);
+        for (Map.Entry<ExtentTest, FailureScreenshots.Screenshot> entry; (entry = pendingScreenshots.poll()) != null; ) {
+            try {
+                entry.getKey().addScreenCaptureFromBase64String(entry.getValue().dataUri(), "Failure Screenshot");
+            } catch (Exception e) {
+                entry.getKey().warning("[Could not attach screenshot] " + e.getMessage());
             }
-
-            // Relative path so the HTML report works from any machine
-            String relativePath = "../" + SCREENSHOT_DIR + latest.getName();
-            test.addScreenCaptureFromPath(relativePath, "Failure Screenshot");
-            test.info("Screenshot: <b>" + latest.getName() + "</b>");
-
-        } catch (Exception e) {
-            test.warning("[Could not attach screenshot] " + e.getMessage());
         }
     }
 }
@@ -0,0 +1,70 @@
+package com.example.automation.listeners;
+
+import com.example.automation.browser.BrowserPool;
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lets the parallel mode and thread count of testNg.xml be overridden from the command line:
+ *
+ *   mvn test -Dparallel=classes -Dthreads=8
+ *   mvn test -DdataProviderThreads=8      // rows of parallel data providers (validation matrix)
+ *
+ * parallel accepts none | methods | classes | tests | instances.
+ * Each worker thread gets its own pooled browser, so the thread count is also
+ * the number of browsers that run side by side. When the suite starts, the browser pool is
+ * sized to match: (threads + data-provider threads) x distinct browsers of the suite's tests
+ * (more than one in -Dbrowsers matrix mode), unless pool.maxBrowsers is set.
+ *
+ * Must be registered in the suite's &lt;listeners&gt; block — TestNG applies alter-suite
+ * listeners before the suite is built, which is too early for listeners added any other way.
+ */
+public class ParallelConfigListener implements IAlterSuiteListener, ISuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String parallel = System.getProperty("parallel");
+        String threads  = System.getProperty("threads");
+        String dataProviderThreads = System.getProperty("dataProviderThreads");
+
+        for (XmlSuite suite : suites) {
+            if (parallel != null && !parallel.trim().isEmpty()) {
+                XmlSuite.ParallelMode mode = XmlSuite.ParallelMode.getValidParallel(parallel.trim());
+                if (mode == null) {
+                    throw new IllegalArgumentException("Unknown parallel mode '" + parallel
+                            + "'. Use none, methods, classes, tests or instances.");
+                }
+                suite.setParallel(mode);
+            }
+            if (threads != null && !threads.trim().isEmpty()) {
+                suite.setThreadCount(Integer.parseInt(threads.trim()));
+            }
+            if (dataProviderThreads != null && !dataProviderThreads.trim().isEmpty()) {
+                suite.setDataProviderThreadCount(Integer.parseInt(dataProviderThreads.trim()));
+            }
+            System.out.println("[Parallel] " + suite.getName() + ": parallel=" + suite.getParallel()
+                    + ", threads=" + suite.getThreadCount()
+                    + ", data-provider threads=" + suite.getDataProviderThreadCount());
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        XmlSuite xml = suite.getXmlSuite();
+        // Data-provider rows run on their own pool, next to the method threads
+        int workers = xml.getParallel() == XmlSuite.ParallelMode.NONE ? 1 : xml.getThreadCount();
+        workers += xml.getDataProviderThreadCount();
+        Set<String> browsers = new HashSet<>();
+        for (XmlTest test : xml.getTests()) {
+            browsers.add(String.valueOf(test.getAllParameters().get("browser")));
+        }
+        BrowserPool.sizeFor(workers, browsers.size());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.automation.listeners;
+
+import com.example.automation.standin.StandInServer;
+import com.example.automation.utils.FrameworkConfig;
+import com.example.automation.utils.urlHelper;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+
+/**
+ * Starts the embedded Shady Meadows stand-in for the suite when -Dapp.target=stand-in,
+ * and points urlHelper at it. With the default app.target=live nothing is started and
+ * the tests run against urlHelper's live (or -Dapp.baseUrl) address.
+ *
+ *   mvn test -Dapp.target=stand-in [-Dstand-in.port=8080] [-Dstand-in.latencyMs=200] [-Dstand-in.errorRate=0.05]
+ */
+public class StandInServerListener implements ISuiteListener {
+
+    private static StandInServer server;
+
+    @Override
+    public synchronized void onStart(ISuite suite) {
+        if (server != null || !isEnabled()) return;
+        try {
+            server = new StandInServer(FrameworkConfig.getInt("stand-in.port", 0)).start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the stand-in server: " + e.getMessage(), e);
+        }
+        urlHelper.useBaseUrl(server.baseUrl());
+    }
+
+    @Override
+    public synchronized void onFinish(ISuite suite) {
+        if (server != null) {
+            server.stop();
+            server = null;
+            urlHelper.useBaseUrl(null);
+        }
+    }
+
+    /** The running stand-in, or null when the suite targets the live app. */
+    public static StandInServer server() {
+        return server;
+    }
+
+    public static boolean isEnabled() {
+        return "stand-in".equalsIgnoreCase(FrameworkConfig.getString("app.target", "live"));
+    }
+}
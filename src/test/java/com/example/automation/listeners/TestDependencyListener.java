@@ -0,0 +1,69 @@
+package com.example.automation.listeners;
+
+import com.example.automation.selection.DependencyMap;
+import com.example.automation.selection.DependencyRecorder;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the page-object methods each test method called (see DependencyRecorder) and adds
+ * them to the dependency map when the suite finishes, for TestSelector.
+ *
+ * A test's calls are collected on its own thread, so everything recorded since the previous
+ * test on that thread — its @BeforeMethod included — belongs to it. Data-provider invocations
+ * of one method are merged.
+ */
+public class TestDependencyListener implements ITestListener, ISuiteListener {
+
+    private static final DependencyMap dependencies = DependencyMap.load(DependencyMap.defaultFile());
+    private static final Map<String, Set<String>> thisRun = new ConcurrentHashMap<>();
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        DependencyRecorder.drain();   // a skipped test ran nothing worth keeping; don't leak it into the next one
+    }
+
+    private static void record(ITestResult result) {
+        Set<String> called = DependencyRecorder.drain();
+        String key = DependencyMap.member(result.getMethod().getRealClass().getName(), result.getMethod().getMethodName());
+        Set<String> members = thisRun.computeIfAbsent(key, k -> new TreeSet<>());
+        synchronized (members) {
+            members.addAll(called);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (thisRun.isEmpty() || !DependencyRecorder.isEnabled()) return;
+        synchronized (dependencies) {
+            for (Map.Entry<String, Set<String>> e : thisRun.entrySet()) {
+                dependencies.record(e.getKey(), e.getValue());
+            }
+            thisRun.clear();
+            try {
+                dependencies.save();
+                System.out.println("[Selection] Test dependencies saved to " + dependencies.file().toAbsolutePath());
+            } catch (IOException e) {
+                System.out.println("[Selection] Could not save " + dependencies.file() + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.automation.selection;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Unit tests for ChangeSet.parseDiff on `git diff -U0` output.
+ */
+public class ChangeSetTest {
+
+    private static final String PAGE = "src/main/java/com/example/automation/pages/HomePage.java";
+
+    @Test
+    public void hunksBecomeRangesInTheNewVersion() {
+        ChangeSet changes = ChangeSet.parseDiff("origin/main", String.join("\n",
+                "diff --git a/" + PAGE + " b/" + PAGE,
+                "index 1111111..2222222 100644",
+                "--- a/" + PAGE,
+                "+++ b/" + PAGE,
+                "@@ -8 +8 @@ public class HomePage {",
+                "-        old();",
+                "+        current();",
+                "@@ -20,2 +20,3 @@ public class HomePage {",
+                "-a",
+                "-b",
+                "+a",
+                "+b",
+                "+c"));
+
+        Assert.assertEquals(changes.base(), "origin/main");
+        Assert.assertEquals(changes.files().size(), 1);
+        ChangeSet.FileChange change = changes.files().get(0);
+        Assert.assertEquals(change.path(), PAGE);
+        Assert.assertFalse(change.isDeleted());
+        Assert.assertFalse(change.isWholeFile());
+        assertRanges(change.ranges(), new int[]{8, 1}, new int[]{20, 3});
+    }
+
+    @Test
+    public void pureDeletionIsAZeroLengthRange() {
+        ChangeSet changes = ChangeSet.parseDiff("HEAD", String.join("\n",
+                "diff --git a/" + PAGE + " b/" + PAGE,
+                "--- a/" + PAGE,
+                "+++ b/" + PAGE,
+                "@@ -12,2 +11,0 @@ public class HomePage {",
+                "-gone();",
+                "-alsoGone();"));
+
+        assertRanges(changes.files().get(0).ranges(), new int[]{11, 0});
+    }
+
+    @Test
+    public void addedAndDeletedFiles() {
+        ChangeSet changes = ChangeSet.parseDiff("HEAD", String.join("\n",
+                "diff --git a/src/New.java b/src/New.java",
+                "new file mode 100644",
+                "--- /dev/null",
+                "+++ b/src/New.java",
+                "@@ -0,0 +1,2 @@",
+                "+class New {",
+                "+}",
+                "diff --git a/src/Old.java b/src/Old.java",
+                "deleted file mode 100644",
+                "--- a/src/Old.java",
+                "+++ /dev/null",
+                "@@ -1,2 +0,0 @@",
+                "-class Old {",
+                "-}"));
+
+        List<ChangeSet.FileChange> files = changes.files();
+        Assert.assertEquals(files.size(), 2);
+        ChangeSet.FileChange added = files.get(0);
+        Assert.assertEquals(added.path(), "src/New.java");
+        Assert.assertFalse(added.isDeleted());
+        assertRanges(added.ranges(), new int[]{1, 2});
+        ChangeSet.FileChange deleted = files.get(1);
+        Assert.assertEquals(deleted.path(), "src/Old.java");
+        Assert.assertTrue(deleted.isDeleted());
+    }
+
+    @Test
+    public void binaryFileCountsAsWholeFile() {
+        ChangeSet changes = ChangeSet.parseDiff("HEAD", String.join("\n",
+                "diff --git a/src/test/resources/visual/a.png b/src/test/resources/visual/a.png",
+                "index 1111111..2222222 100644",
+                "Binary files a/src/test/resources/visual/a.png and b/src/test/resources/visual/a.png differ"));
+
+        ChangeSet.FileChange change = changes.files().get(0);
+        Assert.assertEquals(change.path(), "src/test/resources/visual/a.png");
+        Assert.assertTrue(change.isWholeFile());
+    }
+
+    @Test
+    public void emptyDiffHasNoFiles() {
+        Assert.assertTrue(ChangeSet.parseDiff("HEAD", "").isEmpty());
+    }
+
+    private static void assertRanges(List<int[]> actual, int[]... expected) {
+        Assert.assertEquals(actual.size(), expected.length, "number of ranges");
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(actual.get(i), expected[i], "range " + i);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.automation.selection;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for JavaMembers: member kinds, names and line spans, and lines that are not code.
+ */
+public class JavaMembersTest {
+
+    private static final String SOURCE = String.join("\n",
+            "package com.example;",                                           // 1
+            "",                                                               // 2
+            "public class Sample {",                                          // 3
+            "",                                                               // 4
+            "    public static final String NAME = \"{not a brace}\";",       // 5
+            "    private int count;",                                         // 6
+            "",                                                               // 7
+            "    /** Doc comment { with braces } is not part of the member. */", // 8
+            "    @Test(groups = {\"Regression\", \"Booking\"},",              // 9
+            "            description = \"a (nested) call\")",                 // 10
+            "    public void books() {",                                      // 11
+            "        // } a brace in a comment",                              // 12
+            "        if (count > 0) { count--; }",                            // 13
+            "    }",                                                          // 14
+            "",                                                               // 15
+            "    private String helper(char c) {",                            // 16
+            "        return c == '}' ? \"}\" : \"{\";",                       // 17
+            "    }",                                                          // 18
+            "",                                                               // 19
+            "    static class Inner {",                                       // 20
+            "        void run() { }",                                         // 21
+            "    }",                                                          // 22
+            "",                                                               // 23
+            "    Sample() {",                                                 // 24
+            "    }",                                                          // 25
+            "}");                                                             // 26
+
+    private final JavaMembers members = JavaMembers.parse(SOURCE);
+
+    @Test
+    public void findsEveryMember() {
+        Assert.assertEquals(members.members().size(), 6, members.members().toString());
+        assertMember(members.memberAt(5), "NAME", JavaMembers.Kind.FIELD, true, false, 5, 5);
+        assertMember(members.memberAt(6), "count", JavaMembers.Kind.FIELD, false, false, 6, 6);
+        assertMember(members.memberAt(11), "books", JavaMembers.Kind.METHOD, true, true, 9, 14);
+        assertMember(members.memberAt(17), "helper", JavaMembers.Kind.METHOD, false, false, 16, 18);
+        assertMember(members.memberAt(21), "Inner", JavaMembers.Kind.OTHER, false, false, 20, 22);
+        assertMember(members.memberAt(24), "Sample", JavaMembers.Kind.METHOD, false, false, 24, 25);
+    }
+
+    @Test
+    public void annotationLinesBelongToTheirMethod() {
+        Assert.assertEquals(members.memberAt(9).name(), "books");
+        Assert.assertEquals(members.memberAt(10).name(), "books");
+    }
+
+    @Test
+    public void linesOutsideMembers() {
+        Assert.assertNull(members.memberAt(3), "class declaration");
+        Assert.assertNull(members.memberAt(8), "doc comment above a member");
+        Assert.assertNull(members.memberAt(26), "closing brace of the class");
+    }
+
+    @Test
+    public void blankAndCommentLinesAreNotCode() {
+        Assert.assertTrue(members.isCodeLine(5));
+        Assert.assertTrue(members.isCodeLine(13));
+        Assert.assertFalse(members.isCodeLine(2), "blank");
+        Assert.assertFalse(members.isCodeLine(8), "doc comment");
+        Assert.assertFalse(members.isCodeLine(12), "line comment");
+        Assert.assertFalse(members.isCodeLine(0));
+        Assert.assertFalse(members.isCodeLine(100));
+    }
+
+    @Test
+    public void testMethodsAreTheAnnotatedOnes() {
+        Assert.assertEquals(members.testMethods().size(), 1);
+        Assert.assertEquals(members.testMethods().get(0).name(), "books");
+    }
+
+    private static void assertMember(JavaMembers.Member member, String name, JavaMembers.Kind kind,
+                                     boolean isPublic, boolean isTest, int firstLine, int lastLine) {
+        Assert.assertNotNull(member, name);
+        Assert.assertEquals(member.name(), name);
+        Assert.assertEquals(member.kind(), kind, name);
+        Assert.assertEquals(member.isPublic(), isPublic, name + " public");
+        Assert.assertEquals(member.isTest(), isTest, name + " @Test");
+        Assert.assertEquals(member.firstLine(), firstLine, name + " first line");
+        Assert.assertEquals(member.lastLine(), lastLine, name + " last line");
+    }
+}
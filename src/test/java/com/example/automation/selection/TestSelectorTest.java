@@ -0,0 +1,195 @@
+package com.example.automation.selection;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for TestSelector.select on a small source tree written to a temp directory:
+ * two page objects, a precondition and a test class, with a recorded dependency map.
+ */
+public class TestSelectorTest {
+
+    private static final String HOME_PAGE = "src/main/java/com/example/automation/pages/HomePage.java";
+    private static final String RESERVATION_PAGE = "src/main/java/com/example/automation/pages/ReservationPage.java";
+    private static final String PRECONDITION = "src/test/java/com/example/automation/tests/preconditions/HomePageOpened.java";
+    private static final String TEST_CLASS = "src/test/java/com/example/automation/tests/BookingTest.java";
+
+    private static final String BOOKS = "com.example.automation.tests.BookingTest#books";
+    private static final String SEARCHES = "com.example.automation.tests.BookingTest#searches";
+
+    private Path root;
+    private DependencyMap dependencies;
+
+    @BeforeClass
+    public void writeSources() throws IOException {
+        root = Files.createTempDirectory("selection");
+        write(HOME_PAGE,
+                "package com.example.automation.pages;",      // 1
+                "",                                           // 2
+                "public class HomePage {",                    // 3
+                "",                                           // 4
+                "    private final String header = \"h1\";",  // 5
+                "",                                           // 6
+                "    public void navigate(String url) {",     // 7
+                "        System.out.println(url);",           // 8
+                "    }",                                      // 9
+                "",                                           // 10
+                "    public void search() {",                 // 11
+                "        System.out.println(header);",        // 12
+                "    }",                                      // 13
+                "}");
+        write(RESERVATION_PAGE,
+                "package com.example.automation.pages;",      // 1
+                "",                                           // 2
+                "public class ReservationPage {",             // 3
+                "",                                           // 4
+                "    public void book() {",                   // 5
+                "        System.out.println(\"book\");",      // 6
+                "    }",                                      // 7
+                "}");
+        write(PRECONDITION,
+                "package com.example.automation.tests.preconditions;",
+                "",
+                "import com.example.automation.pages.HomePage;",
+                "",
+                "public class HomePageOpened implements Precondition {",
+                "",
+                "    public void establish(Page page) {",
+                "        new HomePage(page).navigate(\"/\");",
+                "    }",
+                "}");
+        write(TEST_CLASS,
+                "package com.example.automation.tests;",                 // 1
+                "",                                                      // 2
+                "import com.example.automation.tests.preconditions.HomePageOpened;", // 3
+                "",                                                      // 4
+                "public class BookingTest {",                            // 5
+                "",                                                      // 6
+                "    @Test",                                             // 7
+                "    @UsePrecondition(HomePageOpened.class)",            // 8
+                "    public void books() {",                             // 9
+                "        new ReservationPage().book();",                 // 10
+                "    }",                                                 // 11
+                "",                                                      // 12
+                "    @Test",                                             // 13
+                "    public void searches() {",                          // 14
+                "        new HomePage().search();",                      // 15
+                "    }",                                                 // 16
+                "}");
+
+        // The precondition's navigate call runs outside the proxies, so books never records HomePage
+        dependencies = DependencyMap.load(root.resolve("missing.properties"));
+        dependencies.record(BOOKS, set("com.example.automation.pages.ReservationPage#book"));
+        dependencies.record(SEARCHES, set("com.example.automation.pages.HomePage#search"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteSources() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void changedPageMethodSelectsItsCallers() throws IOException {
+        TestSelector.Selection selection = select(RESERVATION_PAGE, 6, 1);
+
+        Assert.assertFalse(selection.isFullSuite());
+        Assert.assertEquals(selection.tests(), set(BOOKS));
+    }
+
+    @Test
+    public void preconditionUsersCountAsUsersOfTheWholePageClass() throws IOException {
+        // search is not what the precondition calls, but navigate may call it: precondition calls aren't recorded
+        TestSelector.Selection selection = select(HOME_PAGE, 12, 1);
+
+        Assert.assertEquals(selection.tests(), set(BOOKS, SEARCHES), selection.reasons().toString());
+    }
+
+    @Test
+    public void pageMethodUsedByAPreconditionSelectsItsTests() throws IOException {
+        TestSelector.Selection selection = select(HOME_PAGE, 8, 1);
+
+        Assert.assertFalse(selection.isFullSuite());
+        Assert.assertEquals(selection.tests(), set(BOOKS), selection.reasons().toString());
+    }
+
+    @Test
+    public void classLevelPageChangeSelectsEveryUser() throws IOException {
+        TestSelector.Selection selection = select(HOME_PAGE, 5, 1);
+
+        Assert.assertEquals(selection.tests(), set(BOOKS, SEARCHES), selection.reasons().toString());
+    }
+
+    @Test
+    public void changedTestMethodSelectsOnlyItself() throws IOException {
+        TestSelector.Selection selection = select(TEST_CLASS, 15, 1);
+
+        Assert.assertEquals(selection.tests(), set(SEARCHES));
+    }
+
+    @Test
+    public void changedPreconditionSelectsItsTests() throws IOException {
+        TestSelector.Selection selection = select(PRECONDITION, 8, 1);
+
+        Assert.assertEquals(selection.tests(), set(BOOKS));
+    }
+
+    @Test
+    public void baseTestChangeRunsTheFullSuite() throws IOException {
+        TestSelector.Selection selection = select("src/test/java/com/example/automation/tests/BaseTest.java", 1, 1);
+
+        Assert.assertTrue(selection.isFullSuite());
+    }
+
+    @Test
+    public void documentationSelectsNothing() throws IOException {
+        TestSelector.Selection selection = select("README.md", 1, 1);
+
+        Assert.assertFalse(selection.isFullSuite());
+        Assert.assertTrue(selection.tests().isEmpty());
+    }
+
+    @Test
+    public void pageChangeWithoutDependencyMapRunsTheFullSuite() throws IOException {
+        DependencyMap empty = DependencyMap.load(root.resolve("missing.properties"));
+        TestSelector.Selection selection = TestSelector.select(root, diff(HOME_PAGE, 12, 1), empty);
+
+        Assert.assertTrue(selection.isFullSuite());
+    }
+
+    // ---------- helpers ----------
+
+    private TestSelector.Selection select(String path, int line, int count) throws IOException {
+        return TestSelector.select(root, diff(path, line, count), dependencies);
+    }
+
+    private static ChangeSet diff(String path, int line, int count) {
+        return ChangeSet.parseDiff("HEAD", String.join("\n",
+                "diff --git a/" + path + " b/" + path,
+                "--- a/" + path,
+                "+++ b/" + path,
+                "@@ -" + line + "," + count + " +" + line + "," + count + " @@"));
+    }
+
+    private void write(String path, String... lines) throws IOException {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TreeSet<String> set(String... values) {
+        return new TreeSet<>(Arrays.asList(values));
+    }
+}
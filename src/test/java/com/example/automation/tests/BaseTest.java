@@ -1,78 +1,358 @@
 package com.example.automation.tests;
 
+import com.example.automation.api.BookingApiClient;
+import com.example.automation.api.BookingRegistry;
+import com.example.automation.api.PriceOracle;
+import com.example.automation.browser.BrowserActivity;
+import com.example.automation.browser.BrowserPool;
+import com.example.automation.browser.FailureScreenshots;
+import com.example.automation.browser.FailureTracing;
+import com.example.automation.browser.HarSession;
+import com.example.automation.browser.LaunchProfile;
+import com.example.automation.browser.NetworkProfile;
+import com.example.automation.browser.NetworkStats;
+import com.example.automation.browser.PooledBrowser;
+import com.example.automation.browser.Precondition;
+import com.example.automation.browser.PreconditionCache;
+import com.example.automation.browser.UseNetworkProfile;
+import com.example.automation.browser.UsePrecondition;
+import com.example.automation.listeners.ExtentReportListener;
+import com.example.automation.metrics.PagePerformance;
+import com.example.automation.metrics.PageTimings;
+import com.example.automation.metrics.PerfBudgets;
+import com.example.automation.metrics.StepMetrics;
+import com.example.automation.utils.BasePage;
+import com.example.automation.utils.FrameworkConfig;
+import com.example.automation.utils.TestConstants;
+import com.example.automation.utils.WaitBudget;
+import com.example.automation.utils.urlHelper;
+import com.example.automation.visual.VisualRegression;
 import com.microsoft.playwright.*;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.internal.TestResult;
 
-import java.nio.file.Files;
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Base class for all test classes.
- * Owns the full Playwright → Browser → BrowserContext → Page lifecycle.
- * Screenshots are captured automatically on test failure.
+ * Borrows a pooled Playwright + Browser for the current worker thread and gives
+ * every test its own fresh BrowserContext and Page.
+ * Which browser is launched comes from the LaunchProfile resolved for the current
+ * &lt;test&gt; (its "browser" parameter plus -Dheadless / -Dviewport / -DslowMo).
+ * Every context gets the network profile from -Dnetwork.profile unless the test or its
+ * class is annotated with @UseNetworkProfile.
+ * With -Dhar.mode=record|replay|refresh the context records to / replays from a per-test HAR.
+ * A test annotated with @UsePrecondition starts from that precondition's snapshot (storageState
+ * plus landing URL, see PreconditionCache); the setup itself runs once and is shared.
+ * Console messages, page errors and network events go into a BrowserActivity ring buffer that
+ * is only written to the report when the test fails; slow requests are listed on every test.
+ * Each test gets a WaitBudget (wait.budgetMs) that all page-object waits draw from.
+ * With -Dtrace.mode=on-failure the context is traced and the trace kept only if the test fails.
+ * Page steps measured by PagePerformance (timings, Web Vitals, budget warnings) are added to the report.
+ * Visual checkpoints (checkVisual) compare element screenshots with baselines and put diffs in the report.
+ * The page is bound to FailureScreenshots, so a failure is captured in memory by
+ * ExtentReportListener (see screenshot.* settings) before teardown closes it.
+ * api() gives a typed client for the app's API; bookings it creates (or that tests register
+ * via BookingRegistry) are deleted after the suite unless -Dapi.cleanup=false.
+ *
+ * All Playwright objects and page objects are held per thread, so the same test
+ * instance can safely run its methods in parallel (parallel="methods" / "classes").
+ * Tests read them through getPage() / pageObject(...) rather than instance fields.
  *
  * Every test class should extend this and call super if overriding setUp/tearDown.
  */
 public class BaseTest {
 
-    protected Playwright    playwright;
-    protected Browser       browser;
-    protected BrowserContext context;
-    protected Page          page;
+    // Playwright Java is not thread-safe — each worker thread owns its own objects
+    private static final ThreadLocal<Playwright>     playwright  = new ThreadLocal<>();
+    private static final ThreadLocal<Browser>        browser     = new ThreadLocal<>();
+    private static final ThreadLocal<LaunchProfile>  launch      = new ThreadLocal<>();
+    private static final ThreadLocal<BrowserContext> context     = new ThreadLocal<>();
+    private static final ThreadLocal<Page>           page        = new ThreadLocal<>();
+    private static final ThreadLocal<NetworkStats>   network     = new ThreadLocal<>();
+    private static final ThreadLocal<HarSession>     har         = new ThreadLocal<>();
+    private static final ThreadLocal<FailureTracing> tracing     = new ThreadLocal<>();
+    private static final ThreadLocal<BrowserActivity> activity   = new ThreadLocal<>();
+    private static final ThreadLocal<BookingApiClient> api       = new ThreadLocal<>();
+    private static final ThreadLocal<Map<Class<?>, BasePage>> pageObjects =
+            ThreadLocal.withInitial(HashMap::new);
 
     @BeforeMethod(alwaysRun = true)
-    public void setUp() {
-        playwright = Playwright.create();
-
-        // Launch real Chrome (not Chromium) in maximized, non-incognito mode
-        browser = playwright.chromium().launch(
-                new BrowserType.LaunchOptions()
-                        .setHeadless(false)
-                        .setChannel("chrome")
-                        .setArgs(Arrays.asList(
-                                "--start-maximized",
-                                "--disable-gpu",
-                                "--no-sandbox",
-                                "--disable-dev-shm-usage"
-                        )));
+    public void setUp(ITestContext testContext, Method testMethod, ITestResult testResult) {
+        // Browser is launched once per worker thread and launch profile, then reused
+        LaunchProfile profile = LaunchProfile.resolve(testContext.getCurrentXmlTest().getAllParameters());
+        PooledBrowser pooled = BrowserPool.acquire(profile.key(), profile::launch);
+        playwright.set(pooled.playwright());
+        browser.set(pooled.browser());
+        launch.set(profile);
+
+        // A declared precondition is set up once on its own context; the test starts from its snapshot
+        Precondition precondition = preconditionFor(testMethod);
+        PreconditionCache.Snapshot snapshot = null;
+        if (precondition != null && usePreconditionSnapshots()) {
+            snapshot = PreconditionCache.snapshot(precondition, () -> {
+                BrowserContext setupContext = pooled.newContext(profile.toContextOptions());
+                networkProfileFor(testMethod).install(setupContext);
+                return setupContext;
+            });
+        }
 
         // Create a fresh context and page for each test — no shared state between tests
-        context = browser.newContext(
-                new Browser.NewContextOptions()
-                        .setViewportSize(null));
+        Browser.NewContextOptions options = profile.toContextOptions();
+        if (snapshot != null) PreconditionCache.applyTo(options, snapshot);
+        BrowserContext newContext = pooled.newContext(options);
+        context.set(newContext);
+        network.set(networkProfileFor(testMethod).install(newContext));
+        activity.set(BrowserActivity.attach(newContext));
+        har.set(HarSession.start(newContext, pooled.playwright(), urlHelper.homePageUrl(),
+                testMethod.getDeclaringClass(), testMethod.getName(), invocationIndex(testResult)));
+        tracing.set(FailureTracing.start(newContext,
+                testMethod.getDeclaringClass().getSimpleName() + "." + testMethod.getName()));
+        page.set(newContext.newPage());
+        FailureScreenshots.bind(page.get());
+
+        // Page-object waits draw from the test's wait budget; Playwright's implicit action waits
+        // are capped at the same per-wait limit instead of the 30 s default
+        WaitBudget.start();
+        page.get().setDefaultTimeout(WaitBudget.maxWaitMillis());
+        page.get().setDefaultNavigationTimeout(TestConstants.DEFAULT_TIMEOUT * 1000);
 
-        page = context.newPage();
+        if (snapshot != null) {
+            PreconditionCache.restore(page.get(), precondition, snapshot);
+        } else if (precondition != null) {
+            precondition.establish(page.get());
+        }
     }
 
     @AfterMethod(alwaysRun = true)
     public void tearDown(ITestResult result) {
-        // Capture a full-page screenshot on failure before closing everything
-        if (result.getStatus() == ITestResult.FAILURE && page != null) {
+        // Normally the listener has captured the failure already; this covers runs without it
+        if (result.getStatus() == ITestResult.FAILURE
+                && result.getAttribute(FailureScreenshots.RESULT_ATTRIBUTE) == null) {
+            FailureScreenshots.capture(result.getTestClass().getRealClass().getSimpleName() + "." + result.getName());
+        }
+        FailureScreenshots.unbind();
+
+        // Console / page errors / network events are only written out for failed tests
+        BrowserActivity events = activity.get();
+        if (events != null) {
+            String slow = events.slowRequestSummary();
+            if (slow != null) ExtentReportListener.info("Slow requests: <pre>" + escapeHtml(slow) + "</pre>");
+            if (result.getStatus() == ITestResult.FAILURE && events.eventCount() > 0) {
+                ExtentReportListener.info("<details><summary>Browser activity (" + events.eventCount()
+                        + " events)</summary><pre>" + escapeHtml(events.dump()) + "</pre></details>");
+            }
+        }
+
+        NetworkStats stats = network.get();
+        if (stats != null && stats.blocked() > 0) {
+            ExtentReportListener.info("Network profile: " + stats.summary());
+        }
+        for (StepMetrics.Timing timing : StepMetrics.drain()) {
+            ExtentReportListener.info("Step timing: " + timing);
+        }
+        List<PageTimings.Row> pageSteps = PageTimings.drain();
+        if (!pageSteps.isEmpty()) {
+            ExtentReportListener.info("Page step timings:" + PageTimings.toHtmlTable(pageSteps));
+        }
+        List<WaitBudget.Row> waits = WaitBudget.finish();
+        if (!waits.isEmpty()) {
+            ExtentReportListener.info("Waits:" + WaitBudget.toHtmlTable(waits));
+        }
+        for (PagePerformance.Sample sample : PagePerformance.drain()) {
+            ExtentReportListener.info("Performance: " + sample);
+            for (PerfBudgets.Violation violation : sample.violations()) {
+                ExtentReportListener.warning("Performance budget: " + violation);
+            }
+        }
+
+        // Traces must be written before the context closes; passing tests' chunks are just dropped
+        if (tracing.get() != null) {
+            boolean keep = result.getStatus() == ITestResult.FAILURE || result.wasRetried();
+            Path trace = tracing.get().finish(keep);
+            if (trace != null) {
+                String link = Paths.get("target/extent-reports").toAbsolutePath()
+                        .relativize(trace.toAbsolutePath()).toString().replace('\\', '/');
+                ExtentReportListener.info("Trace: <a href='" + link + "'>"
+                        + trace.getFileName() + "</a> (open with <code>npx playwright show-trace</code>)");
+            }
+        }
+
+        // Only the context is closed here — the browser stays in the pool for the next test.
+        // If the browser crashed mid-test this throws; the pool relaunches it on the next acquire.
+        // Closing the context is also what writes a recorded HAR to disk.
+        boolean closed = false;
+        try {
+            if (context.get() != null) context.get().close();
+            closed = true;
+        } catch (Exception ignored) {}
+        if (har.get() != null) har.get().finish(closed);
+        if (api.get() != null) api.get().close();
+        playwright.remove();
+        browser.remove();
+        launch.remove();
+        context.remove();
+        page.remove();
+        network.remove();
+        har.remove();
+        tracing.remove();
+        activity.remove();
+        api.remove();
+        pageObjects.get().clear();
+    }
+
+    protected Playwright getPlaywright() {
+        return playwright.get();
+    }
+
+    protected Browser getBrowser() {
+        return browser.get();
+    }
+
+    protected BrowserContext getContext() {
+        return context.get();
+    }
+
+    protected Page getPage() {
+        return page.get();
+    }
+
+    /**
+     * API client on this thread's Playwright, created on first use within the current test.
+     */
+    protected BookingApiClient api() {
+        if (api.get() == null) api.set(new BookingApiClient(getPlaywright()));
+        return api.get();
+    }
+
+    /**
+     * Expected totals from the server's room prices. HAR replay runs are offline,
+     * so there the prices come from TestConstants instead.
+     */
+    protected PriceOracle priceOracle() {
+        return HarSession.configuredMode() == HarSession.Mode.REPLAY ? PriceOracle.fromConstants() : api().prices();
+    }
+
+    /**
+     * Compares an element screenshot from a page object with the checkpoint's baseline for
+     * this browser and viewport (see VisualRegression) and reports the outcome, with the diff
+     * image when it differs. Fails the test on a difference unless -Dvisual.failOnDiff=false; a
+     * missing baseline is recorded, reported as unchecked or fails the test, per -Dvisual.missingBaseline.
+     *
+     * @param ignoreRegions areas, in screenshot pixels, never counted as different
+     */
+    protected void checkVisual(String checkpoint, byte[] png, Rectangle... ignoreRegions) {
+        if (!VisualRegression.isEnabled()) return;
+        VisualRegression.Outcome outcome;
+        try {
+            String variant = VisualRegression.variantOf(getPage(), launch.get().channel());
+            outcome = VisualRegression.check(variant, checkpoint, png, Arrays.asList(ignoreRegions));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Visual checkpoint '" + checkpoint + "' could not be compared", e);
+        }
+        switch (outcome.status()) {
+            case DIFFERENT:
+                ExtentReportListener.warning("Visual checkpoint " + escapeHtml(outcome.toString()));
+                ExtentReportListener.image("Diff: " + checkpoint, outcome.diffFile());
+                ExtentReportListener.image("Actual: " + checkpoint, outcome.actualFile());
+                break;
+            case NEW_BASELINE:
+                ExtentReportListener.warning("Visual checkpoint " + escapeHtml(outcome.toString()));
+                ExtentReportListener.image("New baseline: " + checkpoint, outcome.actualFile());
+                break;
+            case MISSING_BASELINE:
+                ExtentReportListener.warning("Visual checkpoint " + escapeHtml(outcome.toString()));
+                ExtentReportListener.image("Actual: " + checkpoint, outcome.actualFile());
+                break;
+            default:
+                ExtentReportListener.info("Visual checkpoint " + escapeHtml(outcome.toString()));
+        }
+        if (outcome.shouldFail()) {
+            throw new AssertionError("Visual checkpoint " + outcome
+                    + (outcome.diffFile() != null ? "; diff image: " + outcome.diffFile() : ""));
+        }
+    }
+
+    /**
+     * Returns the page object of the given type bound to this thread's Page,
+     * creating it on first use within the current test.
+     */
+    protected <T extends BasePage> T pageObject(Class<T> type) {
+        BasePage existing = pageObjects.get().get(type);
+        if (existing == null) {
             try {
-                java.nio.file.Path dir = Paths.get("target/screenshots");
-                if (!Files.exists(dir)) Files.createDirectories(dir);
-                String timestamp = LocalDateTime.now()
-                        .format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-                java.nio.file.Path dest = dir.resolve(timestamp + "_" + result.getName() + ".png");
-                page.screenshot(new Page.ScreenshotOptions().setPath(dest).setFullPage(true));
-                System.out.println("[Screenshot saved] " + dest.toAbsolutePath());
-            } catch (Exception e) {
-                System.err.println("[Screenshot failed] " + e.getMessage());
+                // Timed subclass, so every public page method is measured (see PageTimings)
+                existing = PageTimings.instrument(type).getConstructor(Page.class).newInstance(getPage());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Page object " + type.getSimpleName()
+                        + " needs a public (Page) constructor", e);
             }
+            pageObjects.get().put(type, existing);
         }
+        return type.cast(existing);
+    }
 
-        // playwright.close() disposes browser + context + pages in the right order.
-        // Never call browser.close() separately — it causes a double-close crash.
-        try { if (playwright != null) playwright.close(); } catch (Exception ignored) {}
-        playwright = null;
-        browser    = null;
-        context    = null;
-        page       = null;
+    private NetworkProfile networkProfileFor(Method testMethod) {
+        UseNetworkProfile override = testMethod.getAnnotation(UseNetworkProfile.class);
+        if (override == null) override = testMethod.getDeclaringClass().getAnnotation(UseNetworkProfile.class);
+        return override != null ? NetworkProfile.named(override.value()) : NetworkProfile.fromConfig();
     }
-}
 
+    private static String escapeHtml(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private Precondition preconditionFor(Method testMethod) {
+        UsePrecondition declared = testMethod.getAnnotation(UsePrecondition.class);
+        if (declared == null) declared = testMethod.getDeclaringClass().getAnnotation(UsePrecondition.class);
+        return declared != null ? PreconditionCache.instantiate(declared.value()) : null;
+    }
+
+    // TestNG 7.4 exposes the data-provider row only on its TestResult implementation
+    private static int invocationIndex(ITestResult testResult) {
+        if (!testResult.getMethod().isDataDriven() || !(testResult instanceof TestResult)) return -1;
+        return ((TestResult) testResult).getParameterIndex();
+    }
+
+    // Replays are served from each test's own HAR, so the setup has to run inside the test's context
+    private static boolean usePreconditionSnapshots() {
+        HarSession.Mode mode = HarSession.configuredMode();
+        return PreconditionCache.isEnabled() && mode != HarSession.Mode.REPLAY && mode != HarSession.Mode.REFRESH;
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void deleteCreatedBookings() {
+        if (BookingRegistry.isEmpty() || !FrameworkConfig.getBoolean("api.cleanup", true)) return;
+        // A replayed run made no real bookings; whatever matches on the live app belongs to someone else
+        if (HarSession.isReplaying()) {
+            System.out.println("[Cleanup] Skipped: HAR replay run, no bookings were made");
+            return;
+        }
+        // Runs before the suite listeners finish, so a stand-in server is still up
+        try (Playwright cleanupDriver = Playwright.create();
+             BookingApiClient client = new BookingApiClient(cleanupDriver)) {
+            BookingRegistry.cleanUp(client);
+        } catch (RuntimeException e) {
+            System.err.println("[Cleanup] Skipped: " + e.getMessage());
+        }
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void shutDownBrowserPool() {
+        // playwright.close() on every pooled driver — never browser.close() separately
+        BrowserPool.shutdown();
+    }
+}
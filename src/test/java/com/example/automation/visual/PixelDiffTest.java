@@ -0,0 +1,129 @@
+package com.example.automation.visual;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Unit tests for PixelDiff: tolerance, ignore regions, size changes and the changed area
+ * across tile boundaries. No browser involved.
+ */
+public class PixelDiffTest {
+
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final int BLACK = 0xFF000000;
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @AfterClass(alwaysRun = true)
+    public void shutDownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void identicalImagesMatch() {
+        PixelDiff.Result result = compare(filled(100, 70, WHITE), filled(100, 70, WHITE), 0);
+
+        Assert.assertEquals(result.differentPixels(), 0);
+        Assert.assertEquals(result.comparedPixels(), 100 * 70);
+        Assert.assertNull(result.changedArea());
+        Assert.assertFalse(result.sizeChanged());
+    }
+
+    @Test
+    public void differencesWithinToleranceAreEqual() {
+        Pixels actual = filled(20, 20, 0xFFF0F0F0);
+
+        Assert.assertEquals(compare(filled(20, 20, WHITE), actual, 15).differentPixels(), 0);
+        Assert.assertEquals(compare(filled(20, 20, WHITE), actual, 14).differentPixels(), 20 * 20);
+    }
+
+    @Test
+    public void alphaChannelCounts() {
+        PixelDiff.Result result = compare(filled(10, 10, WHITE), filled(10, 10, 0x00FFFFFF), 16);
+
+        Assert.assertEquals(result.differentPixels(), 100);
+    }
+
+    @Test
+    public void changedAreaSpansTiles() {
+        Pixels actual = filled(100, 100, WHITE);
+        // 20x10 block over the 8-pixel tile edges at x=8, 16, 24 and y=32
+        paint(actual, new Rectangle(5, 30, 20, 10), BLACK);
+
+        PixelDiff.Result result = compare(filled(100, 100, WHITE), actual, 16);
+
+        Assert.assertEquals(result.differentPixels(), 200);
+        Assert.assertEquals(result.changedArea(), new Rectangle(5, 30, 20, 10));
+        Assert.assertEquals(result.differentPercent(), 2.0, 1e-9);
+    }
+
+    @Test
+    public void ignoredRegionsAreNotCompared() {
+        Pixels actual = filled(40, 40, WHITE);
+        paint(actual, new Rectangle(0, 0, 10, 10), BLACK);
+        paint(actual, new Rectangle(30, 30, 5, 5), BLACK);
+
+        PixelDiff.Result result = PixelDiff.compare(filled(40, 40, WHITE), actual, 0,
+                Collections.singletonList(new Rectangle(0, 0, 10, 10)), 8, pool);
+
+        Assert.assertEquals(result.comparedPixels(), 40 * 40 - 100);
+        Assert.assertEquals(result.differentPixels(), 25);
+        Assert.assertEquals(result.changedArea(), new Rectangle(30, 30, 5, 5));
+    }
+
+    @Test
+    public void sizeChangeCountsUncoveredPixels() {
+        PixelDiff.Result result = compare(filled(30, 20, WHITE), filled(30, 25, WHITE), 0);
+
+        Assert.assertTrue(result.sizeChanged());
+        Assert.assertEquals(result.comparedPixels(), 30 * 25);
+        Assert.assertEquals(result.differentPixels(), 30 * 5);
+        Assert.assertEquals(result.changedArea(), new Rectangle(0, 20, 30, 5));
+        Assert.assertEquals(result.diffImage().width(), 30);
+        Assert.assertEquals(result.diffImage().height(), 25);
+    }
+
+    @Test
+    public void resultDoesNotDependOnTileSize() {
+        Pixels baseline = filled(130, 90, WHITE);
+        Pixels actual = filled(130, 90, WHITE);
+        paint(actual, new Rectangle(60, 10, 50, 70), BLACK);
+        Rectangle ignore = new Rectangle(100, 0, 30, 90);
+
+        PixelDiff.Result small = PixelDiff.compare(baseline, actual, 16, Arrays.asList(ignore), 8, pool);
+        PixelDiff.Result large = PixelDiff.compare(baseline, actual, 16, Arrays.asList(ignore), 512, pool);
+
+        Assert.assertEquals(small.differentPixels(), 40 * 70);
+        Assert.assertEquals(large.differentPixels(), small.differentPixels());
+        Assert.assertEquals(large.comparedPixels(), small.comparedPixels());
+        Assert.assertEquals(large.changedArea(), small.changedArea());
+        Assert.assertEquals(large.diffImage().argb(), small.diffImage().argb());
+    }
+
+    // ---------- helpers ----------
+
+    private PixelDiff.Result compare(Pixels baseline, Pixels actual, int tolerance) {
+        return PixelDiff.compare(baseline, actual, tolerance, null, 8, pool);
+    }
+
+    private static Pixels filled(int width, int height, int argb) {
+        int[] pixels = new int[width * height];
+        Arrays.fill(pixels, argb);
+        return new Pixels(width, height, pixels);
+    }
+
+    private static void paint(Pixels image, Rectangle area, int argb) {
+        int[] pixels = image.argb();
+        for (int y = area.y; y < area.y + area.height; y++) {
+            for (int x = area.x; x < area.x + area.width; x++) {
+                pixels[y * image.width() + x] = argb;
+            }
+        }
+    }
+}